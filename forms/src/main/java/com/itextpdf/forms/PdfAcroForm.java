@@ -59,8 +59,12 @@ import com.itextpdf.kernel.pdf.tagutils.TagReference;
 import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -125,6 +129,19 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
     protected PdfDocument document;
 
     private PdfDictionary defaultResources;
+    /**
+     * Lazily built index of all form fields by their fully qualified names. Entries are validated on lookup,
+     * since the field tree can also be changed through {@link PdfFormField} methods.
+     */
+    private Map<String, PdfFormField> fullyQualifiedNameIndex;
+    /**
+     * The indexed subtrees of {@link #fullyQualifiedNameIndex} by their root fields.
+     */
+    private Map<PdfFormField, IndexedSubtree> indexedSubtrees;
+    /**
+     * Indicates whether {@link #fullyQualifiedNameIndex} keeps the order of {@link #getAllFormFields()}.
+     */
+    private boolean isIndexInFieldsOrder;
     private Set<PdfFormField> fieldsForFlattening = new LinkedHashSet<>();
     private XfaForm xfaForm;
 
@@ -268,6 +285,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             fieldsArray.setModified();
             fields.put(field.getFieldName().toUnicodeString(), field);
         }
+        fullyQualifiedNameIndex = null;
         PdfDictionary fieldDict = field.getPdfObject();
         processKids(fields.get(field.getFieldName().toUnicodeString()), page);
 
@@ -335,17 +353,10 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         if (fields.isEmpty()) {
             fields = populateFormFieldsMap();
         }
-        final Map<String, PdfFormField> allFields = new LinkedHashMap<>(fields);
-        for (Entry<String, PdfFormField> field : fields.entrySet()) {
-            final List<PdfFormField> kids = field.getValue().getAllChildFormFields();
-            for (PdfFormField kid : kids) {
-                final PdfString kidFieldName = kid.getFieldName();
-                if (kidFieldName != null) {
-                    allFields.put(kidFieldName.toUnicodeString(), kid);
-                }
-            }
+        if (!isIndexUpToDate()) {
+            buildIndex();
         }
-        return allFields;
+        return new LinkedHashMap<>(fullyQualifiedNameIndex);
     }
 
     /**
@@ -657,6 +668,10 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         if (fields.get(fieldName) != null) {
             return fields.get(fieldName);
         }
+        return getIndexedField(fieldName);
+    }
+
+    private PdfFormField findFieldInTree(String fieldName) {
         final String[] splitFieldsArray = StringSplitUtil.splitKeepTrailingWhiteSpace(fieldName, '.');
         if (splitFieldsArray.length == 0) {
             return null;
@@ -715,19 +730,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
      * flattened.
      */
     public void flattenFields() {
-        if (document.isAppendMode()) {
-            throw new PdfException(FormsExceptionMessageConstant.FIELD_FLATTENING_IS_NOT_SUPPORTED_IN_APPEND_MODE);
-        }
-        Set<PdfFormField> fields;
-        if (fieldsForFlattening.isEmpty()) {
-            this.fields.clear();
-            fields = getAllFormFieldsWithoutNames();
-        } else {
-            fields = new LinkedHashSet<>();
-            for (PdfFormField field : fieldsForFlattening) {
-                fields.addAll(prepareFieldsForFlattening(field));
-            }
-        }
+        final Set<PdfFormField> fields = prepareFieldsToFlatten();
 
         // In case of appearance resources and page resources are the same object, it would not be possible to add
         // the xObject to the page resources. So in that case we would copy page resources and use the copy for
@@ -741,95 +744,226 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         }
 
         Set<PdfPage> wrappedPages = new LinkedHashSet<>();
-        PdfPage page;
         for (PdfFormField formField : fields) {
             for (PdfFormAnnotation fieldAnnot: formField.getChildFormAnnotations()) {
-                final PdfDictionary fieldObject = fieldAnnot.getPdfObject();
-                page = getFieldPage(fieldObject);
-                if (page == null) {
+                final int pageNumber = getFieldPageNumber(fieldAnnot.getPdfObject());
+                if (pageNumber == 0) {
                     continue;
                 }
+                flattenFieldAnnotation(fieldAnnot, document.getPage(pageNumber), pageNumber, wrappedPages,
+                        initialPageResourceClones);
+            }
+        }
 
-                final PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
-                TagTreePointer tagPointer = null;
-                if (annotation != null && document.isTagged()) {
-                    tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
-                }
+        finishFlattening();
+    }
 
-                PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
-                PdfObject asNormal = null;
-                if (appDic != null) {
-                    asNormal = appDic.getAsStream(PdfName.N);
-                    if (asNormal == null) {
-                        asNormal = appDic.getAsDictionary(PdfName.N);
-                    }
+    /**
+     * Flattens interactive {@link PdfFormField form field}s in the page order and flushes every page right after
+     * its widgets are flattened. As in {@link #flattenFields()}, if no fields have been explicitly included via
+     * {@link #partialFormFlattening}, then all fields are flattened.
+     * <p>
+     * Unlike {@link #flattenFields()}, this method doesn't copy resources of all the pages beforehand and doesn't
+     * look for the page of every widget separately, so only one page is kept in memory at a time. This makes it
+     * suitable for documents with a large number of pages. Note, that all the pages which are not flushed yet
+     * are flushed by this method, so they can't be modified afterwards. Widgets on pages which were flushed before
+     * this call can't be flattened.
+     */
+    public void flattenFieldsPageByPage() {
+        final Set<PdfFormField> fields = prepareFieldsToFlatten();
+
+        // Widgets are processed in the same order as in flattenFields to keep the same order of appearances on a page
+        final Map<PdfDictionary, PdfFormAnnotation> widgets = new LinkedHashMap<>();
+        final Map<PdfDictionary, Integer> widgetOrder = new HashMap<>();
+        // Widgets might refer to their page without being listed in its annotations
+        final Map<PdfObject, List<PdfDictionary>> widgetsByPageRef = new HashMap<>();
+        for (PdfFormField formField : fields) {
+            for (PdfFormAnnotation fieldAnnot : formField.getChildFormAnnotations()) {
+                final PdfDictionary widget = fieldAnnot.getPdfObject();
+                if (widgets.containsKey(widget)) {
+                    continue;
                 }
-                if (generateAppearance) {
-                    if (appDic == null || asNormal == null) {
-                        fieldAnnot.regenerateField();
-                        appDic = fieldObject.getAsDictionary(PdfName.AP);
+                widgetOrder.put(widget, widgets.size());
+                widgets.put(widget, fieldAnnot);
+                final PdfObject pageRef = widget.get(PdfName.P, false);
+                if (pageRef != null) {
+                    List<PdfDictionary> pageWidgets = widgetsByPageRef.get(pageRef);
+                    if (pageWidgets == null) {
+                        pageWidgets = new ArrayList<>();
+                        widgetsByPageRef.put(pageRef, pageWidgets);
                     }
+                    pageWidgets.add(widget);
                 }
-                PdfObject normal = appDic != null ? appDic.get(PdfName.N) : null;
-                if (null != normal) {
-                    PdfFormXObject xObject = null;
-                    if (normal.isStream()) {
-                        xObject = new PdfFormXObject((PdfStream) normal);
-                    } else if (normal.isDictionary()) {
-                        PdfName as = fieldObject.getAsName(PdfName.AS);
-                        if (((PdfDictionary) normal).getAsStream(as) != null) {
-                            xObject = new PdfFormXObject(((PdfDictionary) normal).getAsStream(as));
-                            xObject.makeIndirect(document);
-                        }
-                    }
+            }
+        }
 
-                    if (xObject != null) {
-                        //subtype is required field for FormXObject, but can be omitted in normal appearance.
-                        xObject.put(PdfName.Subtype, PdfName.Form);
-                        Rectangle annotBBox = fieldObject.getAsRectangle(PdfName.Rect);
-                        if (page.isFlushed()) {
-                            throw new PdfException(
-                                    FormsExceptionMessageConstant.PAGE_ALREADY_FLUSHED_USE_ADD_FIELD_APPEARANCE_TO_PAGE_METHOD_BEFORE_PAGE_FLUSHING);
-                        }
-                        PdfCanvas canvas = new PdfCanvas(page, !wrappedPages.contains(page));
-                        wrappedPages.add(page);
-
-                        // Here we avoid circular reference which might occur when page resources and the appearance xObject's
-                        // resources are the same object
-                        PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
-                        PdfObject pageResources = page.getResources().getPdfObject();
-                        if (xObjectResources != null && xObjectResources == pageResources) {
-                            xObject.getPdfObject().put(PdfName.Resources,
-                                    initialPageResourceClones.get(document.getPageNumber(page)));
-                        }
-
-                        if (tagPointer != null) {
-                            tagPointer.setPageForTagging(page);
-                            TagReference tagRef = tagPointer.getTagReference();
-                            canvas.openTag(tagRef);
-                        }
-
-                        AffineTransform at = calcFieldAppTransformToAnnotRect(xObject, annotBBox);
-                        float[] m = new float[6];
-                        at.getMatrix(m);
-                        canvas.addXObjectWithTransformationMatrix(xObject, m[0], m[1], m[2], m[3], m[4], m[5]);
-
-                        if (tagPointer != null) {
-                            canvas.closeTag();
-                        }
-                    }
-                } else {
-                    LOGGER.warn(FormsLogMessageConstants.N_ENTRY_IS_REQUIRED_FOR_APPEARANCE_DICTIONARY);
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            final PdfPage page = document.getPage(i);
+            if (page.isFlushed()) {
+                continue;
+            }
+            final List<PdfFormAnnotation> pageWidgets = widgets.isEmpty() ? Collections.<PdfFormAnnotation>emptyList()
+                    : collectPageWidgets(page, widgets, widgetsByPageRef, widgetOrder);
+            if (!pageWidgets.isEmpty()) {
+                final PdfDictionary resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+                final Map<Integer, PdfObject> initialPageResourceClone = new HashMap<>();
+                initialPageResourceClone.put(i, resources == null ? null : resources.clone());
+                final Set<PdfPage> wrappedPages = new HashSet<>();
+                for (PdfFormAnnotation fieldAnnot : pageWidgets) {
+                    flattenFieldAnnotation(fieldAnnot, page, i, wrappedPages, initialPageResourceClone);
+                }
+            }
+            if (document.getWriter() != null) {
+                page.flush();
+            }
+        }
+
+        for (PdfDictionary widget : widgets.keySet()) {
+            final PdfObject pageRef = widget.get(PdfName.P, false);
+            if (pageRef != null && pageRef.isFlushed()) {
+                throw new PdfException(FormsExceptionMessageConstant
+                        .PAGE_ALREADY_FLUSHED_USE_ADD_FIELD_APPEARANCE_TO_PAGE_METHOD_BEFORE_PAGE_FLUSHING);
+            }
+        }
+
+        finishFlattening();
+    }
+
+    private Set<PdfFormField> prepareFieldsToFlatten() {
+        if (document.isAppendMode()) {
+            throw new PdfException(FormsExceptionMessageConstant.FIELD_FLATTENING_IS_NOT_SUPPORTED_IN_APPEND_MODE);
+        }
+        Set<PdfFormField> fields;
+        fullyQualifiedNameIndex = null;
+        if (fieldsForFlattening.isEmpty()) {
+            this.fields.clear();
+            fields = getAllFormFieldsWithoutNames();
+        } else {
+            fields = new LinkedHashSet<>();
+            for (PdfFormField field : fieldsForFlattening) {
+                fields.addAll(prepareFieldsForFlattening(field));
+            }
+        }
+        return fields;
+    }
+
+    private static List<PdfFormAnnotation> collectPageWidgets(PdfPage page,
+            Map<PdfDictionary, PdfFormAnnotation> widgets, Map<PdfObject, List<PdfDictionary>> widgetsByPageRef,
+            final Map<PdfDictionary, Integer> widgetOrder) {
+        final List<PdfFormAnnotation> pageWidgets = new ArrayList<>();
+        final PdfDictionary pageDict = page.getPdfObject();
+        final PdfArray annots = pageDict.getAsArray(PdfName.Annots);
+        if (annots != null) {
+            for (int j = 0; j < annots.size(); j++) {
+                final PdfFormAnnotation widget = widgets.remove(annots.getAsDictionary(j));
+                if (widget != null) {
+                    pageWidgets.add(widget);
+                }
+            }
+        }
+        final PdfObject pageRef = pageDict.getIndirectReference() == null
+                ? pageDict : (PdfObject) pageDict.getIndirectReference();
+        final List<PdfDictionary> referringWidgets = widgetsByPageRef.remove(pageRef);
+        if (referringWidgets != null) {
+            for (PdfDictionary widgetDict : referringWidgets) {
+                final PdfFormAnnotation widget = widgets.remove(widgetDict);
+                if (widget != null) {
+                    pageWidgets.add(widget);
+                }
+            }
+        }
+        Collections.sort(pageWidgets, new Comparator<PdfFormAnnotation>() {
+            @Override
+            public int compare(PdfFormAnnotation o1, PdfFormAnnotation o2) {
+                return Integer.compare(widgetOrder.get(o1.getPdfObject()), widgetOrder.get(o2.getPdfObject()));
+            }
+        });
+        return pageWidgets;
+    }
+
+    private void flattenFieldAnnotation(PdfFormAnnotation fieldAnnot, PdfPage page, int pageNumber,
+            Set<PdfPage> wrappedPages, Map<Integer, PdfObject> initialPageResourceClones) {
+        final PdfDictionary fieldObject = fieldAnnot.getPdfObject();
+        final PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
+        TagTreePointer tagPointer = null;
+        if (annotation != null && document.isTagged()) {
+            tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
+        }
+
+        PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
+        PdfObject asNormal = null;
+        if (appDic != null) {
+            asNormal = appDic.getAsStream(PdfName.N);
+            if (asNormal == null) {
+                asNormal = appDic.getAsDictionary(PdfName.N);
+            }
+        }
+        if (generateAppearance) {
+            if (appDic == null || asNormal == null) {
+                fieldAnnot.regenerateField();
+                appDic = fieldObject.getAsDictionary(PdfName.AP);
+            }
+        }
+        PdfObject normal = appDic != null ? appDic.get(PdfName.N) : null;
+        if (null != normal) {
+            PdfFormXObject xObject = null;
+            if (normal.isStream()) {
+                xObject = new PdfFormXObject((PdfStream) normal);
+            } else if (normal.isDictionary()) {
+                PdfName as = fieldObject.getAsName(PdfName.AS);
+                if (((PdfDictionary) normal).getAsStream(as) != null) {
+                    xObject = new PdfFormXObject(((PdfDictionary) normal).getAsStream(as));
+                    xObject.makeIndirect(document);
+                }
+            }
+
+            if (xObject != null) {
+                //subtype is required field for FormXObject, but can be omitted in normal appearance.
+                xObject.put(PdfName.Subtype, PdfName.Form);
+                Rectangle annotBBox = fieldObject.getAsRectangle(PdfName.Rect);
+                if (page.isFlushed()) {
+                    throw new PdfException(
+                            FormsExceptionMessageConstant.PAGE_ALREADY_FLUSHED_USE_ADD_FIELD_APPEARANCE_TO_PAGE_METHOD_BEFORE_PAGE_FLUSHING);
                 }
+                PdfCanvas canvas = new PdfCanvas(page, !wrappedPages.contains(page));
+                wrappedPages.add(page);
+
+                // Here we avoid circular reference which might occur when page resources and the appearance xObject's
+                // resources are the same object
+                PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
+                PdfObject pageResources = page.getResources().getPdfObject();
+                if (xObjectResources != null && xObjectResources == pageResources) {
+                    xObject.getPdfObject().put(PdfName.Resources,
+                            initialPageResourceClones.get(pageNumber));
+                }
+
+                if (tagPointer != null) {
+                    tagPointer.setPageForTagging(page);
+                    TagReference tagRef = tagPointer.getTagReference();
+                    canvas.openTag(tagRef);
+                }
+
+                AffineTransform at = calcFieldAppTransformToAnnotRect(xObject, annotBBox);
+                float[] m = new float[6];
+                at.getMatrix(m);
+                canvas.addXObjectWithTransformationMatrix(xObject, m[0], m[1], m[2], m[3], m[4], m[5]);
 
-                PdfArray fFields = getFields();
-                if (annotation != null) {
-                    page.removeAnnotation(annotation);
+                if (tagPointer != null) {
+                    canvas.closeTag();
                 }
-                removeFieldFromParentAndAcroForm(fFields, fieldObject);
             }
+        } else {
+            LOGGER.warn(FormsLogMessageConstants.N_ENTRY_IS_REQUIRED_FOR_APPEARANCE_DICTIONARY);
         }
 
+        PdfArray fFields = getFields();
+        if (annotation != null) {
+            page.removeAnnotation(annotation);
+        }
+        removeFieldFromParentAndAcroForm(fFields, fieldObject);
+    }
+
+    private void finishFlattening() {
         getPdfObject().remove(PdfName.NeedAppearances);
         if (fieldsForFlattening.size() == 0) {
             getFields().clear();
@@ -870,6 +1004,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             kids.remove(fieldObject);
             kids.setModified();
             parent.setModified();
+            fullyQualifiedNameIndex = null;
             return true;
         }
 
@@ -877,6 +1012,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         if (fieldsPdfArray.contains(fieldObject)) {
             fieldsPdfArray.remove(fieldObject);
             this.fields.remove(fieldName);
+            fullyQualifiedNameIndex = null;
             fieldsPdfArray.setModified();
             setModified();
             return true;
@@ -891,7 +1027,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
      * @param fieldName the name of the {@link PdfFormField form field} to be flattened
      */
     public void partialFormFlattening(String fieldName) {
-        PdfFormField field = getAllFormFields().get(fieldName);
+        final PdfFormField field = getIndexedField(fieldName);
         if (field != null) {
             fieldsForFlattening.add(field);
         }
@@ -916,6 +1052,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             fields.remove(oldName);
             fields.put(newName, field);
         }
+        fullyQualifiedNameIndex = null;
     }
 
     /**
@@ -958,6 +1095,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             addField(field);
         } else {
             parent.addKid(field);
+            fullyQualifiedNameIndex = null;
         }
     }
 
@@ -1000,6 +1138,124 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return false;
     }
 
+    private PdfFormField getIndexedField(String fieldName) {
+        if (fullyQualifiedNameIndex == null) {
+            if (fields.isEmpty()) {
+                fields = populateFormFieldsMap();
+            }
+            buildIndex();
+        }
+        PdfFormField field = fullyQualifiedNameIndex.get(fieldName);
+        if (field != null) {
+            final PdfFormField root = getRootField(field);
+            if (!field.isFlushed() && isIndexedSubtreeUpToDate(root)) {
+                return field;
+            }
+            reindexSubtree(root);
+            field = fullyQualifiedNameIndex.get(fieldName);
+            if (field != null && !field.isFlushed() && isIndexedSubtreeUpToDate(getRootField(field))) {
+                return field;
+            }
+        }
+        // The field may be added to the tree without the field API, so that no modification is registered
+        field = findFieldInTree(fieldName);
+        if (field != null) {
+            addToIndex(fieldName, field);
+            isIndexInFieldsOrder = false;
+        }
+        return field;
+    }
+
+    private boolean isIndexUpToDate() {
+        if (fullyQualifiedNameIndex == null || !isIndexInFieldsOrder || indexedSubtrees.size() != fields.size()) {
+            return false;
+        }
+        for (PdfFormField root : fields.values()) {
+            if (!isIndexedSubtreeUpToDate(root)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isIndexedSubtreeUpToDate(PdfFormField root) {
+        final IndexedSubtree subtree = indexedSubtrees.get(root);
+        return subtree != null && subtree.modificationCount == root.getTreeModificationCount()
+                && isRegisteredRootField(root);
+    }
+
+    private boolean isRegisteredRootField(PdfFormField root) {
+        final PdfString rootName = root.getFieldName();
+        return rootName != null && root == fields.get(rootName.toUnicodeString());
+    }
+
+    private void buildIndex() {
+        fullyQualifiedNameIndex = new LinkedHashMap<>(fields);
+        indexedSubtrees = new HashMap<>();
+        for (Entry<String, PdfFormField> field : fields.entrySet()) {
+            final IndexedSubtree subtree = new IndexedSubtree(field.getValue().getTreeModificationCount());
+            subtree.names.add(field.getKey());
+            indexedSubtrees.put(field.getValue(), subtree);
+        }
+        for (PdfFormField root : fields.values()) {
+            indexSubtreeKids(root, indexedSubtrees.get(root));
+        }
+        isIndexInFieldsOrder = true;
+    }
+
+    /**
+     * Replaces the index entries of the subtree with the specified root, leaving other entries intact.
+     */
+    private void reindexSubtree(PdfFormField root) {
+        final IndexedSubtree oldSubtree = indexedSubtrees.remove(root);
+        if (oldSubtree != null) {
+            for (String name : oldSubtree.names) {
+                final PdfFormField indexedField = fullyQualifiedNameIndex.get(name);
+                if (indexedField != null && getRootField(indexedField) == root) {
+                    fullyQualifiedNameIndex.remove(name);
+                }
+            }
+        }
+        if (isRegisteredRootField(root)) {
+            final IndexedSubtree subtree = new IndexedSubtree(root.getTreeModificationCount());
+            indexedSubtrees.put(root, subtree);
+            final String rootName = root.getFieldName().toUnicodeString();
+            fullyQualifiedNameIndex.put(rootName, root);
+            subtree.names.add(rootName);
+            indexSubtreeKids(root, subtree);
+        }
+        isIndexInFieldsOrder = false;
+    }
+
+    private void indexSubtreeKids(PdfFormField root, IndexedSubtree subtree) {
+        for (PdfFormField kid : root.getAllChildFormFields()) {
+            final PdfString kidFieldName = kid.getFieldName();
+            if (kidFieldName != null) {
+                final String kidName = kidFieldName.toUnicodeString();
+                fullyQualifiedNameIndex.put(kidName, kid);
+                subtree.names.add(kidName);
+            }
+        }
+    }
+
+    private void addToIndex(String fieldName, PdfFormField field) {
+        fullyQualifiedNameIndex.put(fieldName, field);
+        final IndexedSubtree subtree = indexedSubtrees.get(getRootField(field));
+        if (subtree != null) {
+            subtree.names.add(fieldName);
+        }
+    }
+
+    private static PdfFormField getRootField(PdfFormField field) {
+        PdfFormField current = field;
+        PdfFormField parent = current.getParentField();
+        while (parent != null && parent != current) {
+            current = parent;
+            parent = current.getParentField();
+        }
+        return current;
+    }
+
     private Map<String, PdfFormField> populateFormFieldsMap() {
         final PdfArray rawFields = getFields();
         Map<String, PdfFormField> fields = new LinkedHashMap<>();
@@ -1162,6 +1418,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             fields.clear();
             fields = null;
         }
+        fullyQualifiedNameIndex = null;
     }
 
     @Override
@@ -1181,20 +1438,25 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
     }
 
     private PdfPage getFieldPage(PdfDictionary annotDict) {
+        final int pageNumber = getFieldPageNumber(annotDict);
+        return pageNumber == 0 ? null : document.getPage(pageNumber);
+    }
+
+    private int getFieldPageNumber(PdfDictionary annotDict) {
         PdfDictionary pageDic = annotDict.getAsDictionary(PdfName.P);
         if (pageDic != null) {
-            return document.getPage(pageDic);
+            return document.getPageNumber(pageDic);
         }
         for (int i = 1; i <= document.getNumberOfPages(); i++) {
             PdfPage page = document.getPage(i);
             if (!page.isFlushed()) {
                 PdfAnnotation annotation = PdfAnnotation.makeAnnotation(annotDict);
                 if (annotation != null && page.containsAnnotation(annotation)) {
-                    return page;
+                    return i;
                 }
             }
         }
-        return null;
+        return 0;
     }
 
     private Set<PdfFormField> prepareFieldsForFlattening(PdfFormField field) {
@@ -1277,4 +1539,13 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         final boolean isFieldNameChanged = !fieldNameBeforeMergeCall.equals(field.getFieldName().toUnicodeString());
         return isFieldNameChanged;
     }
+
+    private static final class IndexedSubtree {
+        final int modificationCount;
+        final List<String> names = new ArrayList<>();
+
+        IndexedSubtree(int modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
 }
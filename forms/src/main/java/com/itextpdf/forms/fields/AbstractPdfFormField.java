@@ -102,6 +102,11 @@ public abstract class AbstractPdfFormField extends PdfObjectWrapper<PdfDictionar
      */
     private boolean enableFieldRegeneration = true;
 
+    /**
+     * The number of changes of the field hierarchy made through this field and its descendants.
+     */
+    private int treeModificationCount;
+
     /**
      * Creates a form field as a wrapper object around a {@link PdfDictionary}.
      * This {@link PdfDictionary} must be an indirect object.
@@ -134,7 +139,11 @@ public abstract class AbstractPdfFormField extends PdfObjectWrapper<PdfDictionar
         if (!parent.getPdfObject().equals(this.getParent()) && !parent.getPdfObject().equals(this.getPdfObject())) {
             put(PdfName.Parent, parent.getPdfObject());
         }
+        if (this.parent != null) {
+            this.parent.registerTreeModification();
+        }
         this.parent = parent;
+        registerTreeModification();
     }
 
     /**
@@ -159,6 +168,16 @@ public abstract class AbstractPdfFormField extends PdfObjectWrapper<PdfDictionar
         return this.parent;
     }
 
+    /**
+     * Gets the number of changes of the field hierarchy, such as adding, removing or renaming fields, made through
+     * this field and its descendants. The value only changes when the hierarchy is modified via the form field API.
+     *
+     * @return the number of changes of the hierarchy below and including this field.
+     */
+    public int getTreeModificationCount() {
+        return treeModificationCount;
+    }
+
     /**
      * Gets the current field name.
      *
@@ -187,6 +206,18 @@ public abstract class AbstractPdfFormField extends PdfObjectWrapper<PdfDictionar
         return null;
     }
 
+    /**
+     * Registers a change of the field hierarchy in this field and all its ancestors.
+     */
+    void registerTreeModification() {
+        AbstractPdfFormField field = this;
+        while (field != null) {
+            field.treeModificationCount++;
+            final PdfFormField parentField = field.getParentField();
+            field = parentField == field ? null : parentField;
+        }
+    }
+
     /**
      * Gets default appearance string containing a sequence of valid page-content graphics or text state operators that
      * define such properties as the field's text size and color.
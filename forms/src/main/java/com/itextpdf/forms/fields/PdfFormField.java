@@ -427,6 +427,7 @@ public class PdfFormField extends AbstractPdfFormField {
      */
     public void removeChild(AbstractPdfFormField fieldName) {
         childFields.remove(fieldName);
+        registerTreeModification();
         PdfArray kids = getPdfObject().getAsArray(PdfName.Kids);
         if (kids != null) {
             kids.remove(fieldName.getPdfObject());
@@ -441,6 +442,7 @@ public class PdfFormField extends AbstractPdfFormField {
      */
     public void removeChildren() {
         childFields.clear();
+        registerTreeModification();
         getPdfObject().remove(PdfName.Kids);
     }
 
@@ -589,6 +591,7 @@ public class PdfFormField extends AbstractPdfFormField {
      */
     public PdfFormField setFieldName(String name) {
         put(PdfName.T, new PdfString(name));
+        registerTreeModification();
         PdfFormField parent = getParentField();
         if (parent != null) {
             parent.mergeKidsIfKidWithSuchNameExists(this, true);
@@ -1300,6 +1303,7 @@ public class PdfFormField extends AbstractPdfFormField {
 
         // Update childFields and /Kids.
         this.childFields.clear();
+        registerTreeModification();
         for (AbstractPdfFormField kid : kids) {
             kid.setParent(this);
             kidsValues.add(kid.getPdfObject());
@@ -96,6 +96,22 @@ public class FormFieldFlatteningTest extends ExtendedITextTest {
         flattenFieldsAndCompare(srcFilename, filename);
     }
 
+    @Test
+    public void formFlatteningPageByPageTest01() throws IOException, InterruptedException {
+        String outFile = destinationFolder + "formFlatteningPageByPageTest01.pdf";
+        PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "formFlatteningSource.pdf"),
+                new PdfWriter(outFile));
+        PdfFormCreator.getAcroForm(document, false).flattenFieldsPageByPage();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            Assert.assertTrue(document.getPage(i).isFlushed());
+        }
+        Assert.assertNull(PdfFormCreator.getAcroForm(document, false));
+        document.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFile,
+                sourceFolder + "cmp_formFlatteningTest01.pdf", destinationFolder, "diff_"));
+    }
+
     @Test
     public void formFlatteningChoiceFieldTest01() throws IOException, InterruptedException {
         String srcFilename = "formFlatteningSourceChoiceField.pdf";
@@ -57,6 +57,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.util.List;
+import java.util.Map;
 
 @Category(UnitTest.class)
 public class PdfAcroFormTest extends ExtendedITextTest {
@@ -160,6 +161,84 @@ public class PdfAcroFormTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void getFieldAddedToTreeAfterLookupTest() {
+        try (PdfDocument outputDoc = createDocument()) {
+            PdfAcroForm acroForm = PdfFormCreator.getAcroForm(outputDoc, true);
+            PdfFormField root = new TextFormFieldBuilder(outputDoc, "root")
+                    .setWidgetRectangle(new Rectangle(100, 600, 200, 20)).createText();
+            acroForm.addField(root);
+            Assert.assertNull(acroForm.getField("root.child"));
+
+            PdfFormField child = new TextFormFieldBuilder(outputDoc, "child")
+                    .setWidgetRectangle(new Rectangle(100, 300, 200, 20)).createText();
+            acroForm.getField("root").addKid(child);
+            Assert.assertEquals(child, acroForm.getField("root.child"));
+            Assert.assertEquals(child, acroForm.getField("root.child"));
+        }
+    }
+
+    @Test
+    public void getAllFormFieldsReturnsCopyTest() {
+        try (PdfDocument outputDoc = createDocument()) {
+            PdfAcroForm acroForm = PdfFormCreator.getAcroForm(outputDoc, true);
+            PdfFormField root = new TextFormFieldBuilder(outputDoc, "root")
+                    .setWidgetRectangle(new Rectangle(100, 600, 200, 20)).createText();
+            acroForm.addField(root);
+            Map<String, PdfFormField> fields = acroForm.getAllFormFields();
+            fields.remove("root");
+            Assert.assertTrue(fields.isEmpty());
+            Assert.assertEquals(root, acroForm.getField("root"));
+            Assert.assertEquals(root, acroForm.getAllFormFields().get("root"));
+        }
+    }
+
+    @Test
+    public void getAllFormFieldsAfterKidIsAddedThroughFieldTest() {
+        try (PdfDocument outputDoc = createDocument()) {
+            PdfAcroForm acroForm = PdfFormCreator.getAcroForm(outputDoc, true);
+            PdfFormField root = new TextFormFieldBuilder(outputDoc, "root")
+                    .setWidgetRectangle(new Rectangle(100, 600, 200, 20)).createText();
+            PdfFormField other = new TextFormFieldBuilder(outputDoc, "other")
+                    .setWidgetRectangle(new Rectangle(100, 500, 200, 20)).createText();
+            acroForm.addField(root);
+            acroForm.addField(other);
+            Assert.assertEquals(2, acroForm.getAllFormFields().size());
+            Assert.assertEquals(other, acroForm.getField("other"));
+
+            PdfFormField child = new TextFormFieldBuilder(outputDoc, "child")
+                    .setWidgetRectangle(new Rectangle(100, 300, 200, 20)).createText();
+            root.addKid(child);
+            Assert.assertEquals(child, acroForm.getField("root.child"));
+            Assert.assertEquals(other, acroForm.getField("other"));
+            Map<String, PdfFormField> fields = acroForm.getAllFormFields();
+            Assert.assertEquals(3, fields.size());
+            Assert.assertEquals(child, fields.get("root.child"));
+        }
+    }
+
+    @Test
+    public void getFieldRemovedFromTreeAfterLookupTest() {
+        try (PdfDocument outputDoc = createDocument()) {
+            PdfAcroForm acroForm = PdfFormCreator.getAcroForm(outputDoc, true);
+            PdfFormField root = new TextFormFieldBuilder(outputDoc, "root")
+                    .setWidgetRectangle(new Rectangle(100, 600, 200, 20)).createText();
+            PdfFormField child = new TextFormFieldBuilder(outputDoc, "child")
+                    .setWidgetRectangle(new Rectangle(100, 300, 200, 20)).createText();
+            root.addKid(child);
+            acroForm.addField(root);
+            Assert.assertEquals(child, acroForm.getField("root.child"));
+
+            acroForm.getField("root").removeChild(child);
+            Assert.assertNull(acroForm.getField("root.child"));
+
+            acroForm.getField("root").addKid(child);
+            child.setFieldName("renamed");
+            Assert.assertNull(acroForm.getField("root.child"));
+            Assert.assertEquals(child, acroForm.getField("root.renamed"));
+        }
+    }
+
     @Test
     public void changeFieldNameTest() {
         try(PdfDocument outputDoc = createDocument()) {
@@ -681,6 +681,37 @@ public class TIFFDirectory {
 
     // Utilities
 
+    /**
+     * Returns the offset of the first image directory stored in a given TIFF file,
+     * represented by a <code>RandomAccessFileOrArray</code>.
+     *
+     * @param stream       RandomAccessFileOrArray
+     * @return             The offset of the first image directory, or 0 if there is none
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    public static long getFirstIFDOffset(RandomAccessFileOrArray stream)
+            throws java.io.IOException {
+
+        // Save stream pointer
+        long pointer = stream.getPosition();
+
+        stream.seek(0L);
+        int endian = stream.readUnsignedShort();
+        if (!isValidEndianTag(endian)) {
+            throw new IOException(IoExceptionMessageConstant.BAD_ENDIANNESS_TAG_0X4949_OR_0X4D4D);
+        }
+        boolean isBigEndian = endian == 0x4d4d;
+        int magic = readUnsignedShort(stream, isBigEndian);
+        if (magic != 42) {
+            throw new IOException(IoExceptionMessageConstant.BAD_MAGIC_NUMBER_SHOULD_BE_42);
+        }
+        long offset = readUnsignedInt(stream, isBigEndian);
+
+        // Reset stream pointer
+        stream.seek(pointer);
+        return offset;
+    }
+
     /**
      * Returns the number of image directories (subimages) stored in a
      * given TIFF file, represented by a <code>SeekableStream</code>.
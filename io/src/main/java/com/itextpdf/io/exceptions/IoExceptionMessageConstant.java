@@ -145,6 +145,7 @@ public final class IoExceptionMessageConstant {
     public static final String PLANAR_IMAGES_ARE_NOT_SUPPORTED = "Planar images are not supported.";
     public static final String PNG_IMAGE_EXCEPTION = "PNG image exception.";
     public static final String PREMATURE_EOF_WHILE_READING_JPEG = "Premature EOF while reading JPEG.";
+    public static final String RANGE_FETCHED_PARTIALLY = "Only {0} of {1} requested bytes were fetched at position {2}.";
     public static final String READ_BASE_128_FAILED = "Reading woff2 base 128 number exception";
     public static final String READ_COLLECTION_HEADER_FAILED = "Reading collection woff2 header exception";
     public static final String READ_HEADER_FAILED = "Reading woff2 header exception";
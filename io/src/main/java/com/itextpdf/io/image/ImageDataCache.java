@@ -0,0 +1,353 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A process-wide cache of parsed images, which is used by the {@link ImageDataFactory} methods with
+ * the {@code cached} parameter. The images are identified by the SHA-256 digest of their bytes, so that
+ * the same image read from different sources is parsed only once. The digest is only calculated if
+ * some cached image has the same length and the same first and last bytes, or if the image is put to the cache.
+ * <p>
+ * The cache is bounded by the total size of the image data it holds, the least recently used images are
+ * evicted first. When an image is put to the cache, its uncompressed pixel data and the data of its mask
+ * are compressed with Flate, so that the documents it is added to don't compress them again.
+ * <p>
+ * The cached {@link ImageData} instances are never passed out, every caller gets its own copy of the image,
+ * which can be modified. The copies share the image data bytes with the cache, so the bytes returned by
+ * {@link ImageData#getData()} shall not be modified. Every document still creates its own image XObjects for them.
+ */
+public final class ImageDataCache {
+
+    /**
+     * The default maximum total size of the cached image data, in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    // the number of bytes at the start and at the end of an image, which are hashed before the digest is calculated
+    private static final int EDGE_LENGTH = 64;
+
+    private static final Object lock = new Object();
+
+    private static final Map<ImageDataKey, Entry> images = new HashMap<>();
+
+    // the number of cached images by the edge hashes of their keys
+    private static final Map<Integer, Integer> edgeHashes = new HashMap<>();
+
+    // most recently used first
+    private static Entry head;
+    private static Entry tail;
+
+    private static long size;
+
+    private static long maxSize = DEFAULT_MAX_SIZE;
+
+    private ImageDataCache() {
+    }
+
+    /**
+     * Sets the maximum total size of the cached image data. The least recently used images are evicted
+     * if the cache is larger than the new size.
+     *
+     * @param maxSize the maximum size in bytes, 0 disables caching
+     */
+    public static void setMaxSize(long maxSize) {
+        synchronized (lock) {
+            ImageDataCache.maxSize = Math.max(0, maxSize);
+            evict();
+        }
+    }
+
+    /**
+     * Gets the maximum total size of the cached image data.
+     *
+     * @return the maximum size in bytes
+     */
+    public static long getMaxSize() {
+        synchronized (lock) {
+            return maxSize;
+        }
+    }
+
+    /**
+     * Gets the total size of the image data currently held by the cache.
+     *
+     * @return the size in bytes
+     */
+    public static long getSize() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Gets the number of images currently held by the cache.
+     *
+     * @return the number of images
+     */
+    public static int getCount() {
+        synchronized (lock) {
+            return images.size();
+        }
+    }
+
+    /**
+     * Removes all the images from the cache.
+     * <p>
+     * Be aware that in multithreading environment this affects the images created in the meantime by
+     * {@link ImageDataFactory} with caching enabled, which are then parsed again.
+     */
+    public static void clear() {
+        synchronized (lock) {
+            images.clear();
+            edgeHashes.clear();
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    static ImageDataKey createKey(byte[] bytes, boolean recoverImage) {
+        return new ImageDataKey(bytes, recoverImage);
+    }
+
+    static ImageData getImage(ImageDataKey key) {
+        synchronized (lock) {
+            if (!edgeHashes.containsKey(key.edgeHash)) {
+                return null;
+            }
+        }
+        // the digest is calculated outside of the lock
+        key.calculateDigest();
+        ImageData image;
+        synchronized (lock) {
+            Entry entry = images.get(key);
+            if (entry == null) {
+                return null;
+            }
+            moveToHead(entry);
+            image = entry.image;
+        }
+        return image.copy();
+    }
+
+    /**
+     * Puts the image to the cache, unless some other thread has already put an image with the same key.
+     *
+     * @return a copy of the image held by the cache or the passed image if it is larger than the cache
+     */
+    static ImageData saveImage(ImageDataKey key, ImageData image) {
+        if (getMaxSize() == 0) {
+            return image;
+        }
+        // the image data is compressed and the digest is calculated outside of the lock
+        long imageSize = compressPixelData(image);
+        if (imageSize > getMaxSize()) {
+            return image;
+        }
+        key.calculateDigest();
+        ImageData cachedImage = image;
+        synchronized (lock) {
+            Entry entry = images.get(key);
+            if (entry != null) {
+                moveToHead(entry);
+                cachedImage = entry.image;
+            } else if (imageSize <= maxSize) {
+                entry = new Entry(key, image, imageSize);
+                images.put(key, entry);
+                Integer count = edgeHashes.get(key.edgeHash);
+                edgeHashes.put(key.edgeHash, count == null ? 1 : count + 1);
+                addToHead(entry);
+                size += imageSize;
+                evict();
+            } else {
+                return image;
+            }
+        }
+        return cachedImage.copy();
+    }
+
+    /**
+     * Compresses uncompressed pixel data of the image and its mask with Flate.
+     *
+     * @return the total size of the image data
+     */
+    private static long compressPixelData(ImageData image) {
+        long imageSize = 0;
+        for (ImageData current = image; current != null; current = current.getImageMask()) {
+            if (current.data == null) {
+                continue;
+            }
+            if (current instanceof RawImageData && ((RawImageData) current).getTypeCcitt() == 0
+                    && current.getFilter() == null && !current.isDeflated() && current.getDecodeParms() == null) {
+                ByteArrayOutputStream stream = new ByteArrayOutputStream(current.data.length / 2 + 16);
+                DeflaterOutputStream zip = new DeflaterOutputStream(stream);
+                try {
+                    zip.write(current.data);
+                    zip.close();
+                } catch (java.io.IOException e) {
+                    throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+                }
+                current.data = stream.toByteArray();
+                current.setDeflated(true);
+                current.setFilter("FlateDecode");
+            }
+            imageSize += current.data.length;
+        }
+        return imageSize;
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+    }
+
+    private static void evict() {
+        while (size > maxSize && tail != null) {
+            Entry evicted = tail;
+            unlink(evicted);
+            images.remove(evicted.key);
+            int count = edgeHashes.get(evicted.key.edgeHash);
+            if (count == 1) {
+                edgeHashes.remove(evicted.key.edgeHash);
+            } else {
+                edgeHashes.put(evicted.key.edgeHash, count - 1);
+            }
+            size -= evicted.size;
+        }
+    }
+
+    private static void moveToHead(Entry entry) {
+        if (entry != head) {
+            unlink(entry);
+            addToHead(entry);
+        }
+    }
+
+    private static void addToHead(Entry entry) {
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        head = entry;
+        if (tail == null) {
+            tail = entry;
+        }
+    }
+
+    private static void unlink(Entry entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            head = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        } else {
+            tail = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private static final class Entry {
+        final ImageDataKey key;
+        final ImageData image;
+        final long size;
+        Entry previous;
+        Entry next;
+
+        Entry(ImageDataKey key, ImageData image, long size) {
+            this.key = key;
+            this.image = image;
+            this.size = size;
+        }
+    }
+
+    static final class ImageDataKey {
+        private final int length;
+        private final boolean recoverImage;
+        private final int edgeHash;
+        // the image bytes are only kept until the digest is calculated
+        private byte[] bytes;
+        private byte[] digest;
+        private int hash;
+
+        ImageDataKey(byte[] bytes, boolean recoverImage) {
+            this.bytes = bytes;
+            this.length = bytes.length;
+            this.recoverImage = recoverImage;
+            this.edgeHash = calculateEdgeHash(bytes, recoverImage);
+        }
+
+        void calculateDigest() {
+            if (digest == null) {
+                digest = digest(bytes);
+                bytes = null;
+                hash = Arrays.hashCode(digest) * 31 + edgeHash;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ImageDataKey that = (ImageDataKey) o;
+            return length == that.length && recoverImage == that.recoverImage && Arrays.equals(digest, that.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static int calculateEdgeHash(byte[] bytes, boolean recoverImage) {
+            int hash = bytes.length * 31 + (recoverImage ? 1 : 0);
+            int edgeLength = Math.min(EDGE_LENGTH, bytes.length);
+            for (int i = 0; i < edgeLength; i++) {
+                hash = hash * 31 + bytes[i];
+            }
+            for (int i = bytes.length - edgeLength; i < bytes.length; i++) {
+                hash = hash * 31 + bytes[i];
+            }
+            return hash;
+        }
+    }
+}
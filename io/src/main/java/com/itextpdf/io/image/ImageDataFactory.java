@@ -26,6 +26,10 @@ import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.codec.CCITTG4Encoder;
 import com.itextpdf.io.codec.TIFFFaxDecoder;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 
 import java.net.MalformedURLException;
@@ -58,6 +62,27 @@ public final class ImageDataFactory {
         return create(bytes, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the image bytes.
+     * If {@code cached} is {@code true}, the image is taken from or put to the {@link ImageDataCache},
+     * in that case the returned instance shares its image data bytes with the cache and they shall not be modified.
+     * @param bytes byte representation of the image.
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to use the {@link ImageDataCache}
+     * @return The created or cached ImageData object.
+     */
+    public static ImageData create(byte[] bytes, boolean recoverImage, boolean cached) {
+        if (!cached) {
+            return create(bytes, recoverImage);
+        }
+        ImageDataCache.ImageDataKey key = ImageDataCache.createKey(bytes, recoverImage);
+        ImageData image = ImageDataCache.getImage(key);
+        if (image == null) {
+            image = ImageDataCache.saveImage(key, createImageInstance(bytes, recoverImage));
+        }
+        return image;
+    }
+
     /**
      * Create an ImageData instance representing the image from the file located at the specified url.
      * @param url location of the image
@@ -77,6 +102,35 @@ public final class ImageDataFactory {
         return create(url, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the file located at the specified url.
+     * If {@code cached} is {@code true}, the image bytes are read and the image is taken from or put to
+     * the {@link ImageDataCache}, see {@link #create(byte[], boolean, boolean)}.
+     * @param url location of the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to use the {@link ImageDataCache}
+     * @return The created or cached ImageData object.
+     */
+    public static ImageData create(URL url, boolean recoverImage, boolean cached) {
+        if (!cached) {
+            return create(url, recoverImage);
+        }
+        byte[] bytes;
+        try {
+            RandomAccessFileOrArray raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(url));
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            try {
+                StreamUtil.transferBytes(raf, stream);
+            } finally {
+                raf.close();
+            }
+            bytes = stream.toByteArray();
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        return create(bytes, recoverImage, true);
+    }
+
     /**
      * Create an ImageData instance representing the image from the specified file.
      * @param filename filename of the file containing the image
@@ -98,6 +152,21 @@ public final class ImageDataFactory {
         return create(filename, false);
     }
 
+    /**
+     * Create an ImageData instance representing the image from the specified file.
+     * If {@code cached} is {@code true}, the image is taken from or put to the {@link ImageDataCache},
+     * see {@link #create(byte[], boolean, boolean)}.
+     * @param filename filename of the file containing the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @param cached whether to use the {@link ImageDataCache}
+     * @return The created or cached ImageData object.
+     * @throws MalformedURLException if an error occurred generating the URL.
+     */
+    public static ImageData create(String filename, boolean recoverImage, boolean cached)
+            throws MalformedURLException {
+        return create(UrlUtil.toURL(filename), recoverImage, cached);
+    }
+
     /**
      * Create an ImageData instance from the passed parameters.
      *
@@ -386,6 +455,20 @@ public final class ImageDataFactory {
         return image;
     }
 
+    /**
+     * Creates an iterator over all the pages of a TIFF image, which reads the pages one by one
+     * directly from the passed source, without loading the whole TIFF file into memory.
+     *
+     * @param source the source containing a TIFF image, it is not closed by the iterator
+     * @param recoverFromImageError whether to recover from a image error
+     * @param direct whether to pass CCITT data of single strip pages through without recompressing it
+     * @return the {@link TiffPageIterator} over the pages of the TIFF image
+     */
+    public static TiffPageIterator createTiffPages(RandomAccessFileOrArray source, boolean recoverFromImageError,
+            boolean direct) {
+        return new TiffPageIterator(source, recoverFromImageError, direct);
+    }
+
     public static ImageData createRawImage(byte[] bytes) {
         return new RawImageData(bytes, ImageType.RAW);
     }
@@ -481,6 +481,9 @@ class PngImageHelper {
         int bytesPerRow = (png.inputBands * passWidth * png.bitDepth + 7) / 8;
         byte[] curr = new byte[bytesPerRow];
         byte[] prior = new byte[bytesPerRow];
+        // the passes with full rows can be split into the color and alpha planes directly
+        boolean splitPlanes = xStep == 1 && png.palShades
+                && (png.bitDepth == 8 || png.bitDepth == 16 && png.image.getColorType() != 3);
 
         // Decode the (sub)image row-by-row
         int srcY, dstY;
@@ -516,7 +519,11 @@ class PngImageHelper {
                     throw new IOException(IoExceptionMessageConstant.UNKNOWN_PNG_FILTER);
             }
 
-            processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            if (splitPlanes) {
+                splitPlanes(curr, dstY, png);
+            } else {
+                processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            }
 
             // Swap curr and prior
             byte[] tmp = prior;
@@ -621,6 +628,47 @@ class PngImageHelper {
         }
     }
 
+    /**
+     * Copies a full row of an image with 8 or 16 bits per component, which has either the alpha channel or
+     * a palette with partially transparent entries, to the image data and the soft mask. The same result is
+     * produced by {@link #processPixels(byte[], int, int, int, int, PngParameters)}, but without unpacking
+     * the row into separate samples.
+     */
+    private static void splitPlanes(byte[] curr, int y, PngParameters png) {
+        int rowStart = y * png.width;
+        if (png.image.getColorType() == 3) {
+            for (int x = 0; x < png.width; ++x) {
+                int idx = curr[x] & 0xff;
+                if (png.imageData != null) {
+                    png.imageData[rowStart + x] = curr[x];
+                }
+                png.smask[rowStart + x] = idx < png.trans.length ? png.trans[idx] : (byte) 255;
+            }
+            return;
+        }
+        byte[] imageData = png.imageData;
+        byte[] smask = png.smask;
+        // only the most significant byte of 16 bit samples is kept
+        int sampleSize = png.bitDepth / 8;
+        int src = 0;
+        if (png.inputBands == 4) {
+            int colorPos = rowStart * 3;
+            for (int x = 0; x < png.width; ++x) {
+                imageData[colorPos++] = curr[src];
+                imageData[colorPos++] = curr[src + sampleSize];
+                imageData[colorPos++] = curr[src + 2 * sampleSize];
+                smask[rowStart + x] = curr[src + 3 * sampleSize];
+                src += 4 * sampleSize;
+            }
+        } else {
+            for (int x = 0; x < png.width; ++x) {
+                imageData[rowStart + x] = curr[src];
+                smask[rowStart + x] = curr[src + sampleSize];
+                src += 2 * sampleSize;
+            }
+        }
+    }
+
     private static int getPixel(byte[] image, int x, int y, int bitDepth, int bytesPerRow) {
         if (bitDepth == 8) {
             int pos = bytesPerRow * y + x;
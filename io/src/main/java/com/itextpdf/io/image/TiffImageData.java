@@ -51,6 +51,16 @@ public class TiffImageData extends RawImageData {
         this.direct = direct;
     }
 
+    /**
+     * Creates a TIFF page which data is read from a separate source, see {@link TiffPageIterator}.
+     */
+    TiffImageData(boolean recoverFromImageError, int page, boolean direct) {
+        super((byte[]) null, ImageType.TIFF);
+        this.recoverFromImageError = recoverFromImageError;
+        this.page = page;
+        this.direct = direct;
+    }
+
     private static ImageData getImage(URL url, boolean recoverFromImageError, int page, boolean direct) {
         return new TiffImageData(url, recoverFromImageError, page, direct);
     }
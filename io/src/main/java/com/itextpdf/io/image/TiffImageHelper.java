@@ -80,14 +80,38 @@ class TiffImageHelper {
         }
     }
 
+    /**
+     * Processes a page of a TIFF image whose directory has already been read, taking the strips
+     * directly from the passed source instead of the data of the image.
+     * @param image image to process.
+     * @param dir the directory of the page.
+     * @param s the source containing the whole TIFF file.
+     */
+    static void processImage(TiffImageData image, TIFFDirectory dir, RandomAccessFileOrArray s) {
+        TiffParameters tiff = new TiffParameters(image);
+        processTiffImage(dir, s, tiff);
+        if (!tiff.jpegProcessing) {
+            RawImageHelper.updateImageAttributes(tiff.image, tiff.additional);
+        }
+    }
+
     private static void processTiffImage(RandomAccessFileOrArray s, TiffParameters tiff) {
-        boolean recoverFromImageError = tiff.image.isRecoverFromImageError();
         int page = tiff.image.getPage();
-        boolean direct = tiff.image.isDirect();
         if (page < 1)
             throw new IOException(IoExceptionMessageConstant.PAGE_NUMBER_MUST_BE_GT_EQ_1);
+        TIFFDirectory dir;
+        try {
+            dir = new TIFFDirectory(s, page - 1);
+        } catch (Exception e) {
+            throw new IOException(IoExceptionMessageConstant.CANNOT_READ_TIFF_IMAGE);
+        }
+        processTiffImage(dir, s, tiff);
+    }
+
+    private static void processTiffImage(TIFFDirectory dir, RandomAccessFileOrArray s, TiffParameters tiff) {
+        boolean recoverFromImageError = tiff.image.isRecoverFromImageError();
+        boolean direct = tiff.image.isDirect();
         try {
-            TIFFDirectory dir = new TIFFDirectory(s, page - 1);
             if (dir.isTagPresent(TIFFConstants.TIFFTAG_TILEWIDTH))
                 throw new IOException(IoExceptionMessageConstant.TILES_ARE_NOT_SUPPORTED);
             int compression = TIFFConstants.COMPRESSION_NONE;
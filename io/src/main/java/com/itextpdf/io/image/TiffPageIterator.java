@@ -0,0 +1,110 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.codec.TIFFDirectory;
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iterates over the pages of a multi-page TIFF image, reading them one by one from a random access source.
+ *
+ * <p>
+ * The chain of image file directories is walked only once, and the strips of every page are read
+ * directly from the source when the page is requested. So unlike
+ * {@link ImageDataFactory#createTiff(byte[], boolean, int, boolean)} the whole TIFF file never has to be
+ * loaded into memory, and a page can be released as soon as it has been written, before the next one is read.
+ *
+ * <p>
+ * The source is not closed by the iterator, it should be closed by the caller once all the pages are read.
+ */
+public final class TiffPageIterator implements Iterator<ImageData> {
+
+    private final RandomAccessFileOrArray source;
+    private final boolean recoverFromImageError;
+    private final boolean direct;
+    private final Set<Long> visitedOffsets = new HashSet<>();
+    private long nextOffset;
+    private int page;
+
+    TiffPageIterator(RandomAccessFileOrArray source, boolean recoverFromImageError, boolean direct) {
+        this.source = source;
+        this.recoverFromImageError = recoverFromImageError;
+        this.direct = direct;
+        try {
+            this.nextOffset = TIFFDirectory.getFirstIFDOffset(source);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.TIFF_IMAGE_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Checks whether the TIFF image has one more page.
+     *
+     * @return {@code true} if there is one more page, {@code false} otherwise
+     */
+    @Override
+    public boolean hasNext() {
+        // a directory pointing back to an already read one would make the chain endless
+        return nextOffset > 0 && nextOffset < source.length() && !visitedOffsets.contains(nextOffset);
+    }
+
+    /**
+     * Reads the next page of the TIFF image.
+     *
+     * @return the {@link ImageData} of the next page
+     */
+    @Override
+    public ImageData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        visitedOffsets.add(nextOffset);
+        TIFFDirectory dir;
+        try {
+            source.seek(0);
+            dir = new TIFFDirectory(source, nextOffset, 0);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.TIFF_IMAGE_EXCEPTION, e);
+        }
+        nextOffset = dir.getNextIFDOffset();
+        TiffImageData image = new TiffImageData(recoverFromImageError, ++page, direct);
+        TiffImageHelper.processImage(image, dir, source);
+        return image;
+    }
+
+    /**
+     * Gets the number of the page which was returned by the last call of {@link #next()}.
+     *
+     * @return the 1-based number of the last read page, or 0 if no page was read yet
+     */
+    public int getPageNumber() {
+        return page;
+    }
+}
@@ -121,6 +121,10 @@ public final class ByteUtils {
                 logger.error(IoLogMessageConstant.ATTEMPT_PROCESS_NAN);
                 d = 0;
             }
+            ByteBuffer buf = buffer == null ? new ByteBuffer(24) : buffer;
+            if (prependHighPrecision(d, buf)) {
+                return buffer == null ? buf.toByteArray(buf.capacity() - buf.size(), buf.size()) : null;
+            }
             byte[] result = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
             if (buffer != null) {
                 buffer.prepend(result);
@@ -246,6 +250,75 @@ public final class ByteUtils {
         return buffer == null ? buf.getInternalBuffer() : null;
     }
 
+    static byte[] getIsoBytes(long n, ByteBuffer buffer) {
+        boolean negative = false;
+        if (n < 0) {
+            if (n == Long.MIN_VALUE) {
+                buffer.prepend(getIsoBytes(String.valueOf(n)));
+                return null;
+            }
+            negative = true;
+            n = -n;
+        }
+        int intLen = longSize(n);
+        for (int i = 0; i < intLen; i++) {
+            buffer.prepend(bytes[(int) (n % 10)]);
+            n /= 10;
+        }
+        if (negative)
+            buffer.prepend((byte) '-');
+        return null;
+    }
+
+    /**
+     * Writes the number in the same way as the "0.######" decimal format does, i.e. with at most six
+     * fraction digits rounded half-even, but with integer arithmetic instead of a formatter instance.
+     * The value is rounded on its exact binary representation, which the scaled double represents
+     * faithfully unless it is too close to a rounding tie; such values, as well as the values which are
+     * too big to be scaled without loss, are left to the decimal format.
+     *
+     * @param d      the number to write, at least 0.000001 in absolute value
+     * @param buffer the buffer to prepend the number to
+     *
+     * @return {@code true} if the number is written, {@code false} if it should be formatted otherwise
+     */
+    private static boolean prependHighPrecision(double d, ByteBuffer buffer) {
+        boolean negative = d < 0;
+        if (negative) {
+            d = -d;
+        }
+        if (!(d < 1000000000)) {
+            return false;
+        }
+        double scaled = d * 1000000;
+        double floor = Math.floor(scaled);
+        double tie = scaled - floor - 0.5;
+        if (Math.abs(tie) <= Math.ulp(scaled)) {
+            return false;
+        }
+        long v = tie > 0 ? (long) floor + 1 : (long) floor;
+        int fracLen = 6;
+        while (fracLen > 0 && v % 10 == 0) {
+            v /= 10;
+            fracLen--;
+        }
+        for (int i = 0; i < fracLen; i++) {
+            buffer.prepend(bytes[(int) (v % 10)]);
+            v /= 10;
+        }
+        if (fracLen > 0) {
+            buffer.prepend((byte) '.');
+        }
+        do {
+            buffer.prepend(bytes[(int) (v % 10)]);
+            v /= 10;
+        } while (v > 0);
+        if (negative) {
+            buffer.prepend((byte) '-');
+        }
+        return true;
+    }
+
     private static int longSize(long l) {
         long m = 10;
         for (int i = 1; i < 19; i++) {
@@ -0,0 +1,81 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * A reference {@link IRangeFetcher} implementation which fetches ranges of a local file.
+ * Note: this class is not thread safe.
+ */
+public class FileRangeFetcher implements IRangeFetcher {
+    private final RandomAccessFile raf;
+
+    /**
+     * Creates a fetcher reading the ranges of the specified file.
+     *
+     * @param file the file to fetch ranges from
+     * @throws IOException if the file cannot be opened
+     */
+    public FileRangeFetcher(File file) throws IOException {
+        this.raf = new RandomAccessFile(file, "r");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException {
+        return raf.length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fetch(long position, byte[] bytes, int off, int len) throws IOException {
+        if (position >= raf.length()) {
+            return -1;
+        }
+        raf.seek(position);
+        int total = 0;
+        while (total < len) {
+            int read = raf.read(bytes, off + total, len - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        raf.close();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import java.io.IOException;
+
+/**
+ * Fetches byte ranges of a remote or otherwise expensive to access resource, e.g. an object in a cloud storage
+ * read with HTTP range requests. It is used by {@link RangeRequestRandomAccessSource} which takes care of caching
+ * the fetched data, so implementations are not expected to cache anything themselves.
+ */
+public interface IRangeFetcher {
+    /**
+     * Gets the total length of the resource.
+     *
+     * @return the length of the resource in bytes
+     * @throws IOException in case of any I/O error
+     */
+    long length() throws IOException;
+
+    /**
+     * Fetches the range of the resource starting at the specified position. Implementations should read all the
+     * requested bytes, unless the end of the resource is reached.
+     *
+     * @param position the position in the resource to fetch from
+     * @param bytes    output buffer
+     * @param off      offset into the output buffer where results will be placed
+     * @param len      the number of bytes to fetch
+     * @return the number of bytes actually fetched, or -1 if the position is at the end of the resource
+     * @throws IOException in case of any I/O error
+     */
+    int fetch(long position, byte[] bytes, int off, int len) throws IOException;
+
+    /**
+     * Closes the fetcher and releases any underlying resources or connections.
+     *
+     * @throws IOException in case of any I/O error
+     */
+    void close() throws IOException;
+}
@@ -79,6 +79,22 @@ public class PdfTokenizer implements Closeable {
             false, false, false, false, false, false, false, false, false, false,
             false, false, false, false, false, false, false};
 
+    /**
+     * Default size of the read window used by {@link #PdfTokenizer(RandomAccessFileOrArray, int)}.
+     */
+    public static final int DEFAULT_READ_WINDOW_SIZE = 8192;
+
+    private static final boolean[] WHITESPACES = new boolean[256];
+
+    static {
+        WHITESPACES[0] = true;
+        WHITESPACES[9] = true;
+        WHITESPACES[10] = true;
+        WHITESPACES[12] = true;
+        WHITESPACES[13] = true;
+        WHITESPACES[32] = true;
+    }
+
 
     public static final byte[] Obj = ByteUtils.getIsoBytes("obj");
     public static final byte[] R = ByteUtils.getIsoBytes("R");
@@ -104,6 +120,19 @@ public class PdfTokenizer implements Closeable {
      */
     private boolean closeStream = true;
 
+    /**
+     * Window over the source used to read it in bulk, {@code null} if the source is read byte by byte.
+     */
+    private final byte[] window;
+    private long windowStart;
+    private int windowLength;
+    private int windowPosition;
+    /**
+     * Whether the window contains a single byte pushed back by {@link #backOnePosition(int)}
+     * which differs from the source.
+     */
+    private boolean windowHoldsPushedBack;
+
     /**
      * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray}.
      * The beginning of the file is read to determine the location of the header, and the data source is adjusted
@@ -114,18 +143,59 @@ public class PdfTokenizer implements Closeable {
     public PdfTokenizer(RandomAccessFileOrArray file) {
         this.file = file;
         this.outBuf = new ByteBuffer();
+        this.window = null;
+    }
+
+    /**
+     * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray} which reads the source in blocks
+     * of the given size instead of fetching it byte by byte. The bytes are then scanned from the reusable window,
+     * which avoids a chain of calls to the underlying {@link IRandomAccessSource} for every byte of a token.
+     * <p>
+     * The tokenizer becomes the owner of the source position: the passed {@link RandomAccessFileOrArray} shall not
+     * be read or repositioned by other means while the tokenizer is in use. Use {@link #getSafeFile()} to get
+     * an independent view of the source.
+     *
+     * @param file the source
+     * @param readWindowSize the size of the read window in bytes, values less than 1 turn the window off
+     */
+    public PdfTokenizer(RandomAccessFileOrArray file, int readWindowSize) {
+        this.file = file;
+        this.outBuf = new ByteBuffer();
+        this.window = readWindowSize > 0 ? new byte[readWindowSize] : null;
+        if (window != null) {
+            this.windowStart = file.getPosition();
+        }
     }
 
     public void seek(long pos) {
-        file.seek(pos);
+        if (window == null) {
+            file.seek(pos);
+        } else if (!windowHoldsPushedBack && pos >= windowStart && pos <= windowStart + windowLength) {
+            windowPosition = (int) (pos - windowStart);
+        } else {
+            resetWindow(pos);
+        }
     }
 
     public void readFully(byte[] bytes) throws java.io.IOException {
-        file.readFully(bytes);
+        if (window == null) {
+            file.readFully(bytes);
+            return;
+        }
+        int fromWindow = Math.min(bytes.length, windowLength - windowPosition);
+        System.arraycopy(window, windowPosition, bytes, 0, fromWindow);
+        windowPosition += fromWindow;
+        if (fromWindow < bytes.length) {
+            long position = getPosition();
+            // The window is emptied before reading, so that the position stays consistent in case of EOFException
+            resetWindow(position + bytes.length - fromWindow);
+            file.seek(position);
+            file.readFully(bytes, fromWindow, bytes.length - fromWindow);
+        }
     }
 
     public long getPosition() {
-        return file.getPosition();
+        return window == null ? file.getPosition() : windowStart + windowPosition;
     }
 
     public void close() throws java.io.IOException {
@@ -138,7 +208,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public int read() throws java.io.IOException {
-        return file.read();
+        return nextByte();
     }
 
     public String readString(int size) throws java.io.IOException {
@@ -161,6 +231,26 @@ public class PdfTokenizer implements Closeable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Gets the internal buffer holding the bytes of the current token, see {@link #getByteContentLength()}
+     * for the number of meaningful bytes. The buffer is reused by the following tokens, so its content
+     * shall be neither stored nor modified.
+     *
+     * @return the internal buffer of the current token
+     */
+    public byte[] getInternalByteContent() {
+        return outBuf.getInternalBuffer();
+    }
+
+    /**
+     * Gets the length of the current token in bytes.
+     *
+     * @return the number of bytes of the current token
+     */
+    public int getByteContentLength() {
+        return outBuf.size();
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
@@ -192,8 +282,19 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void backOnePosition(int ch) {
-        if (ch != -1)
+        if (ch == -1) {
+            return;
+        }
+        if (window == null) {
             file.pushBack((byte) ch);
+        } else if (windowPosition > 0 && window[windowPosition - 1] == (byte) ch) {
+            --windowPosition;
+        } else {
+            resetWindow(getPosition() - 1);
+            window[0] = (byte) ch;
+            windowLength = 1;
+            windowHoldsPushedBack = true;
+        }
     }
 
     public int getHeaderOffset() throws java.io.IOException {
@@ -209,7 +310,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public String checkPdfHeader() throws java.io.IOException {
-        file.seek(0);
+        seek(0);
         String str = readString(1024);
         int idx = str.indexOf("%PDF-");
         if (idx != 0)
@@ -218,7 +319,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void checkFdfHeader() throws java.io.IOException {
-        file.seek(0);
+        seek(0);
         String str = readString(1024);
         int idx = str.indexOf("%FDF-");
         if (idx != 0)
@@ -227,11 +328,11 @@ public class PdfTokenizer implements Closeable {
 
     public long getStartxref() throws java.io.IOException {
         int arrLength = 1024;
-        long fileLength = file.length();
+        long fileLength = length();
         long pos = fileLength - arrLength;
         if (pos < 1) pos = 1;
         while (pos > 0) {
-            file.seek(pos);
+            seek(pos);
             String str = readString(arrLength);
             int idx = str.lastIndexOf("startxref");
             if (idx >= 0) return pos + idx;
@@ -252,7 +353,7 @@ public class PdfTokenizer implements Closeable {
         int arrLength = 128;
         String str;
         do {
-            long currentPosition = file.getPosition();
+            long currentPosition = getPosition();
             str = readString(arrLength);
             long eofPosition = str.indexOf("%%EOF");
             if (eofPosition >= 0) {
@@ -275,14 +376,14 @@ public class PdfTokenizer implements Closeable {
                 case 0: {
                     if (type != TokenType.Number)
                         return;
-                    ptr = file.getPosition();
+                    ptr = getPosition();
                     n1 = getByteContent();
                     ++level;
                     break;
                 }
                 case 1: {
                     if (type != TokenType.Number) {
-                        file.seek(ptr);
+                        seek(ptr);
                         type = TokenType.Number;
                         outBuf.reset().append(n1);
                         return;
@@ -297,8 +398,8 @@ public class PdfTokenizer implements Closeable {
                             assert n2 != null;
                             type = TokenType.Ref;
                             try {
-                                reference = Integer.parseInt(new String(n1));
-                                generation = Integer.parseInt(new String(n2));
+                                reference = parseInt(n1);
+                                generation = parseInt(n2);
                             } catch (Exception ex) {
                                 //warn about incorrect reference number
                                 //Exception: NumberFormatException for java, FormatException or OverflowException for .NET
@@ -312,12 +413,12 @@ public class PdfTokenizer implements Closeable {
                         } else if (tokenValueEqualsTo(Obj)) {
                             assert n2 != null;
                             type = TokenType.Obj;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseInt(n1);
+                            generation = parseInt(n2);
                             return;
                         }
                     }
-                    file.seek(ptr);
+                    seek(ptr);
                     type = TokenType.Number;
                     outBuf.reset().append(n1);
                     return;
@@ -340,8 +441,13 @@ public class PdfTokenizer implements Closeable {
     public boolean nextToken() throws java.io.IOException {
         int ch;
         outBuf.reset();
+        if (window != null) {
+            while (windowPosition < windowLength && WHITESPACES[window[windowPosition] & 0xff]) {
+                ++windowPosition;
+            }
+        }
         do {
-            ch = file.read();
+            ch = nextByte();
         } while (ch != -1 && isWhitespace(ch));
         if (ch == -1) {
             type = TokenType.EndOfFile;
@@ -358,8 +464,9 @@ public class PdfTokenizer implements Closeable {
             }
             case '/': {
                 type = TokenType.Name;
+                appendWindowUntilDelimiter();
                 while (true) {
-                    ch = file.read();
+                    ch = nextByte();
                     if (delims[ch + 1])
                         break;
                     outBuf.append(ch);
@@ -368,14 +475,14 @@ public class PdfTokenizer implements Closeable {
                 break;
             }
             case '>': {
-                ch = file.read();
+                ch = nextByte();
                 if (ch != '>')
                     throwError(IoExceptionMessageConstant.GT_NOT_EXPECTED);
                 type = TokenType.EndDic;
                 break;
             }
             case '<': {
-                int v1 = file.read();
+                int v1 = nextByte();
                 if (v1 == '<') {
                     type = TokenType.StartDic;
                     break;
@@ -385,16 +492,16 @@ public class PdfTokenizer implements Closeable {
                 int v2 = 0;
                 while (true) {
                     while (isWhitespace(v1))
-                        v1 = file.read();
+                        v1 = nextByte();
                     if (v1 == '>')
                         break;
                     outBuf.append(v1);
                     v1 = ByteBuffer.getHex(v1);
                     if (v1 < 0)
                         break;
-                    v2 = file.read();
+                    v2 = nextByte();
                     while (isWhitespace(v2))
-                        v2 = file.read();
+                        v2 = nextByte();
                     if (v2 == '>') {
                         break;
                     }
@@ -402,7 +509,7 @@ public class PdfTokenizer implements Closeable {
                     v2 = ByteBuffer.getHex(v2);
                     if (v2 < 0)
                         break;
-                    v1 = file.read();
+                    v1 = nextByte();
                 }
                 if (v1 < 0 || v2 < 0)
                     throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
@@ -411,7 +518,7 @@ public class PdfTokenizer implements Closeable {
             case '%': {
                 type = TokenType.Comment;
                 do {
-                    ch = file.read();
+                    ch = nextByte();
                 } while (ch != -1 && ch != '\r' && ch != '\n');
                 break;
             }
@@ -420,7 +527,7 @@ public class PdfTokenizer implements Closeable {
                 hexString = false;
                 int nesting = 0;
                 while (true) {
-                    ch = file.read();
+                    ch = nextByte();
                     if (ch == -1)
                         break;
                     if (ch == '(') {
@@ -431,7 +538,7 @@ public class PdfTokenizer implements Closeable {
                             break;
                     } else if (ch == '\\') {
                         outBuf.append('\\');
-                        ch = file.read();
+                        ch = nextByte();
                         if (ch < 0)
                             break;
                     }
@@ -450,37 +557,38 @@ public class PdfTokenizer implements Closeable {
                         // Take care of number like "--234". If Acrobat can read them so must we.
                         do {
                             ++numberOfMinuses;
-                            ch = file.read();
+                            ch = nextByte();
                         } while (ch == '-');
                         outBuf.append('-');
                     } else {
                         outBuf.append(ch);
                         // We don't need to check if the number is real over here
                         // as we need to know that fact only in case if there are any minuses.
-                        ch = file.read();
+                        appendWindowDigits();
+                        ch = nextByte();
                     }
                     while (ch >= '0' && ch <= '9') {
                         outBuf.append(ch);
-                        ch = file.read();
+                        ch = nextByte();
                     }
 
                     if ( ch == '.'){
                         isReal = true;
                         outBuf.append(ch);
-                        ch = file.read();
+                        ch = nextByte();
 
                         //verify if there is minus after '.'
                         //In that case just ignore minus chars and everything after as Adobe Reader does
                         int numberOfMinusesAfterDot = 0;
                         if (ch == '-') {
                             numberOfMinusesAfterDot++;
-                            ch = file.read();
+                            ch = nextByte();
                         }
                         while (ch >= '0' && ch <= '9') {
                             if (numberOfMinusesAfterDot == 0) {
                                 outBuf.append(ch);
                             }
-                            ch = file.read();
+                            ch = nextByte();
                         }
                     }
 
@@ -492,10 +600,13 @@ public class PdfTokenizer implements Closeable {
                     }
                 } else {
                     type = TokenType.Other;
-                    do {
+                    outBuf.append(ch);
+                    appendWindowUntilDelimiter();
+                    ch = nextByte();
+                    while (!delims[ch + 1]) {
                         outBuf.append(ch);
-                        ch = file.read();
-                    } while (!delims[ch + 1]);
+                        ch = nextByte();
+                    }
                 }
                 if (ch != -1)
                     backOnePosition(ch);
@@ -505,6 +616,102 @@ public class PdfTokenizer implements Closeable {
         return true;
     }
 
+    private int nextByte() throws java.io.IOException {
+        if (window == null) {
+            return file.read();
+        }
+        if (windowPosition < windowLength) {
+            return window[windowPosition++] & 0xff;
+        }
+        return fillWindowAndRead();
+    }
+
+    private int fillWindowAndRead() throws java.io.IOException {
+        long position = getPosition();
+        resetWindow(position);
+        file.seek(position);
+        int count = file.read(window, 0, window.length);
+        if (count <= 0) {
+            // Reading past the end still moves the position, the same way RandomAccessFileOrArray#read does
+            windowStart = position + 1;
+            return -1;
+        }
+        windowLength = count;
+        windowPosition = 1;
+        return window[0] & 0xff;
+    }
+
+    private void resetWindow(long position) {
+        windowStart = position;
+        windowLength = 0;
+        windowPosition = 0;
+        windowHoldsPushedBack = false;
+    }
+
+    /**
+     * Appends the bytes available in the read window up to the next delimiter or whitespace to {@link #outBuf}.
+     * The delimiter itself is not consumed.
+     */
+    private void appendWindowUntilDelimiter() {
+        if (window == null) {
+            return;
+        }
+        int end = windowPosition;
+        while (end < windowLength && !delims[(window[end] & 0xff) + 1]) {
+            ++end;
+        }
+        outBuf.append(window, windowPosition, end - windowPosition);
+        windowPosition = end;
+    }
+
+    /**
+     * Appends the digits available in the read window to {@link #outBuf}. The first non-digit is not consumed.
+     */
+    private void appendWindowDigits() {
+        if (window == null) {
+            return;
+        }
+        int end = windowPosition;
+        while (end < windowLength && window[end] >= '0' && window[end] <= '9') {
+            ++end;
+        }
+        outBuf.append(window, windowPosition, end - windowPosition);
+        windowPosition = end;
+    }
+
+    /**
+     * Parses a decimal integer the same way as {@link Integer#parseInt(String)} does, without creating a string.
+     */
+    private static int parseInt(byte[] bytes) {
+        int i = 0;
+        boolean negative = false;
+        if (bytes.length > 0 && (bytes[0] == '-' || bytes[0] == '+')) {
+            negative = bytes[0] == '-';
+            i = 1;
+        }
+        if (i == bytes.length) {
+            throw new NumberFormatException(new String(bytes));
+        }
+        long result = 0;
+        for (; i < bytes.length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(new String(bytes));
+            }
+            result = result * 10 + digit;
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException(new String(bytes));
+            }
+        }
+        if (negative) {
+            result = -result;
+        }
+        if (result > Integer.MAX_VALUE) {
+            throw new NumberFormatException(new String(bytes));
+        }
+        return (int) result;
+    }
+
     public long getLongValue() {
         return Long.parseLong(getStringValue());
     }
@@ -696,7 +903,7 @@ public class PdfTokenizer implements Closeable {
      */
     public void throwError(String error, Object... messageParams) {
         throw new IOException(IoExceptionMessageConstant.ERROR_AT_FILE_POINTER, new IOException(error).setMessageParams(messageParams))
-                .setMessageParams(file.getPosition());
+                .setMessageParams(getPosition());
     }
 
     /**
@@ -111,6 +111,17 @@ public final class RandomAccessSourceFactory {
         return new RAFRandomAccessSource(raf);
     }
 
+    /**
+     * Creates a {@link IRandomAccessSource} which fetches the data lazily in blocks through the passed
+     * {@link IRangeFetcher}, so that only the accessed parts of the resource are read.
+     * @param fetcher the fetcher to read the ranges of the resource with
+     * @return the newly created {@link IRandomAccessSource}
+     * @throws java.io.IOException if the length of the resource cannot be retrieved
+     */
+    public IRandomAccessSource createSource(IRangeFetcher fetcher) throws java.io.IOException {
+        return new RangeRequestRandomAccessSource(fetcher);
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a URL.  The data available at the URL is read into memory and used
      * as the source for the {@link IRandomAccessSource}
@@ -168,6 +179,81 @@ public final class RandomAccessSourceFactory {
         return createSource(StreamUtil.inputStreamToArray(inputStream));
     }
 
+    /**
+     * Creates or extracts a {@link IRandomAccessSource} based on an {@link InputStream}, keeping at most
+     * the specified number of bytes in memory.
+     *
+     * <p>
+     * If the InputStream is an instance of {@link RASInputStream} then extracts the source from it.
+     * Otherwise see {@link #createSource(InputStream, int)}.
+     *
+     * @param inputStream       the stream to read from
+     * @param inMemoryThreshold the maximum number of bytes kept in memory, a negative value means no limit
+     *
+     * @return the newly created or extracted {@link IRandomAccessSource}
+     *
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    public IRandomAccessSource extractOrCreateSource(InputStream inputStream, int inMemoryThreshold)
+            throws java.io.IOException {
+        if (inputStream instanceof RASInputStream) {
+            return ((RASInputStream) inputStream).getSource();
+        }
+        return createSource(inputStream, inMemoryThreshold);
+    }
+
+    /**
+     * Creates a {@link IRandomAccessSource} based on an {@link InputStream}, keeping at most the specified
+     * number of bytes in memory.
+     *
+     * <p>
+     * If the content of the InputStream fits into the threshold, it is read into memory. Otherwise the content
+     * is written to a temporary file, which is then opened as described in {@link #createBestSource(String)} and
+     * deleted when the returned source is closed.
+     *
+     * @param inputStream       the stream to read from
+     * @param inMemoryThreshold the maximum number of bytes kept in memory, a negative value means no limit
+     *
+     * @return the newly created {@link IRandomAccessSource}
+     *
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    public IRandomAccessSource createSource(InputStream inputStream, int inMemoryThreshold)
+            throws java.io.IOException {
+        if (inMemoryThreshold < 0) {
+            return createSource(inputStream);
+        }
+        byte[] buffer = new byte[8192];
+        java.io.ByteArrayOutputStream head = new java.io.ByteArrayOutputStream();
+        int read = 0;
+        while (head.size() <= inMemoryThreshold && (read = inputStream.read(buffer)) > 0) {
+            head.write(buffer, 0, read);
+        }
+        if (head.size() <= inMemoryThreshold) {
+            return createSource(head.toByteArray());
+        }
+
+        File tempFile = FileUtil.createTempFile("itext", ".pdf");
+        try {
+            try (java.io.OutputStream output = FileUtil.getBufferedOutputStream(tempFile.getAbsolutePath())) {
+                head.writeTo(output);
+                // release the in-memory part before copying the rest of the stream
+                head = null;
+                while ((read = inputStream.read(buffer)) > 0) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            IRandomAccessSource source = new RandomAccessSourceFactory()
+                    .setForceRead(false)
+                    .setUsePlainRandomAccess(usePlainRandomAccess)
+                    .createBestSource(tempFile.getAbsolutePath());
+            return new TempFileRandomAccessSource(source, tempFile);
+        } catch (Exception e) {
+            FileUtil.deleteFile(tempFile);
+            throw e;
+        }
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a filename string.
      * If the filename describes a URL, a URL based source is created
@@ -0,0 +1,324 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A RandomAccessSource which reads the data lazily through an {@link IRangeFetcher}, so that only the parts of
+ * a resource which are actually accessed are transferred. Fetched data is kept in a cache of fixed size blocks
+ * with the least recently used blocks evicted first. Missing blocks which are adjacent to each other are fetched
+ * with a single request, and sequential reading triggers fetching of several following blocks in advance.
+ * Note: this class is not thread safe.
+ */
+public class RangeRequestRandomAccessSource implements IRandomAccessSource {
+    /**
+     * The default size of a cached block in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The default maximum number of cached blocks.
+     */
+    public static final int DEFAULT_MAX_CACHED_BLOCKS = 64;
+
+    /**
+     * The default number of blocks fetched in advance during sequential reading.
+     */
+    public static final int DEFAULT_READ_AHEAD_BLOCKS = 4;
+
+    private final IRangeFetcher fetcher;
+
+    private final long length;
+
+    private final int blockSize;
+
+    private final int maxCachedBlocks;
+
+    private final int readAheadBlocks;
+
+    private final Map<Long, Block> blocks = new HashMap<>();
+
+    /**
+     * The most recently used block, the head of the list of cached blocks.
+     */
+    private Block mostRecent;
+
+    /**
+     * The least recently used block, the tail of the list of cached blocks.
+     */
+    private Block leastRecent;
+
+    /**
+     * The index of the last block of the previous read, used to detect sequential reading.
+     */
+    private long lastReadBlock = -2;
+
+    /**
+     * Creates a new {@link RangeRequestRandomAccessSource} with the default cache configuration.
+     *
+     * @param fetcher the fetcher to read the ranges of the resource with
+     * @throws IOException if the length of the resource cannot be retrieved
+     */
+    public RangeRequestRandomAccessSource(IRangeFetcher fetcher) throws IOException {
+        this(fetcher, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_CACHED_BLOCKS, DEFAULT_READ_AHEAD_BLOCKS);
+    }
+
+    /**
+     * Creates a new {@link RangeRequestRandomAccessSource}.
+     *
+     * @param fetcher         the fetcher to read the ranges of the resource with
+     * @param blockSize       the size of a cached block in bytes
+     * @param maxCachedBlocks the maximum number of blocks kept in the cache
+     * @param readAheadBlocks the number of blocks fetched in advance during sequential reading,
+     *                        shall be less than {@code maxCachedBlocks}
+     * @throws IOException if the length of the resource cannot be retrieved
+     */
+    public RangeRequestRandomAccessSource(IRangeFetcher fetcher, int blockSize, int maxCachedBlocks,
+            int readAheadBlocks) throws IOException {
+        if (blockSize <= 0 || maxCachedBlocks <= 0 || readAheadBlocks < 0 || readAheadBlocks >= maxCachedBlocks) {
+            throw new IllegalArgumentException("Invalid block cache configuration.");
+        }
+        this.fetcher = fetcher;
+        this.length = fetcher.length();
+        this.blockSize = blockSize;
+        this.maxCachedBlocks = maxCachedBlocks;
+        this.readAheadBlocks = readAheadBlocks;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position) throws IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        long blockIndex = position / blockSize;
+        Block block = ensureBlocks(blockIndex, blockIndex)[0];
+        return block.data[(int) (position - blockIndex * blockSize)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position, byte[] bytes, int off, int len) throws IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        len = (int) Math.min(len, length - position);
+        long firstBlock = position / blockSize;
+        long lastBlock = (position + len - 1) / blockSize;
+        if (lastBlock - firstBlock >= maxCachedBlocks) {
+            // the range does not fit into the cache, so there is no point in caching it
+            fetchFully(position, bytes, off, len);
+            lastReadBlock = lastBlock;
+            return len;
+        }
+        Block[] rangeBlocks = ensureBlocks(firstBlock, lastBlock);
+        int copied = 0;
+        for (long i = firstBlock; i <= lastBlock; i++) {
+            Block block = rangeBlocks[(int) (i - firstBlock)];
+            int blockOffset = (int) (position + copied - i * blockSize);
+            int count = Math.min(block.data.length - blockOffset, len - copied);
+            System.arraycopy(block.data, blockOffset, bytes, off + copied, count);
+            copied += count;
+        }
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Clears the cache and closes the underlying fetcher.
+     *
+     * @throws IOException in case of any I/O error
+     */
+    @Override
+    public void close() throws IOException {
+        blocks.clear();
+        mostRecent = null;
+        leastRecent = null;
+        fetcher.close();
+    }
+
+    /**
+     * Makes sure that the blocks of the specified range are cached, fetching the missing ones, and extends the
+     * range with the following blocks if the reading is sequential. The cached blocks of the range are marked as
+     * used before anything is fetched, so that fetching never evicts a block of the range being served.
+     *
+     * @return the blocks of the specified range, in order
+     */
+    private Block[] ensureBlocks(long firstBlock, long lastBlock) throws IOException {
+        long lastFetchedBlock = lastBlock;
+        // read ahead only on a miss, so that a sequential reader issues few large requests
+        if (firstBlock == lastReadBlock + 1 && !blocks.containsKey(lastBlock)) {
+            long blockCount = (length + blockSize - 1) / blockSize;
+            lastFetchedBlock = Math.min(Math.min(lastBlock + readAheadBlocks, blockCount - 1),
+                    firstBlock + maxCachedBlocks - 1);
+        }
+        lastReadBlock = lastBlock;
+
+        Block[] rangeBlocks = new Block[(int) (lastBlock - firstBlock + 1)];
+        for (long i = firstBlock; i <= lastBlock; i++) {
+            Block block = blocks.get(i);
+            if (block != null) {
+                moveToHead(block);
+                rangeBlocks[(int) (i - firstBlock)] = block;
+            }
+        }
+        for (long i = lastBlock + 1; i <= lastFetchedBlock; i++) {
+            if (blocks.containsKey(i)) {
+                // no need to read ahead past the data which is already cached
+                lastFetchedBlock = i - 1;
+                break;
+            }
+        }
+
+        long missingRunStart = -1;
+        for (long i = firstBlock; i <= lastFetchedBlock; i++) {
+            boolean missing = i > lastBlock || rangeBlocks[(int) (i - firstBlock)] == null;
+            if (!missing) {
+                if (missingRunStart != -1) {
+                    fetchBlocks(missingRunStart, i - 1, rangeBlocks, firstBlock);
+                    missingRunStart = -1;
+                }
+            } else if (missingRunStart == -1) {
+                missingRunStart = i;
+            }
+        }
+        if (missingRunStart != -1) {
+            fetchBlocks(missingRunStart, lastFetchedBlock, rangeBlocks, firstBlock);
+        }
+        return rangeBlocks;
+    }
+
+    /**
+     * Fetches the specified blocks with a single request and puts them into the cache. The fetched blocks which
+     * belong to the range starting with {@code rangeStart} are also stored into {@code rangeBlocks}.
+     */
+    private void fetchBlocks(long firstBlock, long lastBlock, Block[] rangeBlocks, long rangeStart)
+            throws IOException {
+        long start = firstBlock * blockSize;
+        int size = (int) Math.min((lastBlock - firstBlock + 1) * blockSize, length - start);
+        byte[] data = new byte[size];
+        fetchFully(start, data, 0, size);
+        for (long i = firstBlock; i <= lastBlock; i++) {
+            byte[] blockData = data;
+            if (firstBlock != lastBlock) {
+                int blockStart = (int) ((i - firstBlock) * blockSize);
+                blockData = new byte[Math.min(blockSize, size - blockStart)];
+                System.arraycopy(data, blockStart, blockData, 0, blockData.length);
+            }
+            Block block = addBlock(i, blockData);
+            if (i - rangeStart < rangeBlocks.length) {
+                rangeBlocks[(int) (i - rangeStart)] = block;
+            }
+        }
+    }
+
+    private void fetchFully(long position, byte[] bytes, int off, int len) throws IOException {
+        int fetched = 0;
+        while (fetched < len) {
+            int count = fetcher.fetch(position + fetched, bytes, off + fetched, len - fetched);
+            if (count <= 0) {
+                throw new IOException(MessageFormatUtil.format(IoExceptionMessageConstant.RANGE_FETCHED_PARTIALLY,
+                        fetched, len, position));
+            }
+            fetched += count;
+        }
+    }
+
+    private Block addBlock(long index, byte[] data) {
+        Block block = new Block(index, data);
+        blocks.put(index, block);
+        linkAsHead(block);
+        if (blocks.size() > maxCachedBlocks) {
+            Block evicted = leastRecent;
+            unlink(evicted);
+            blocks.remove(evicted.index);
+        }
+        return block;
+    }
+
+    private void moveToHead(Block block) {
+        if (block != mostRecent) {
+            unlink(block);
+            linkAsHead(block);
+        }
+    }
+
+    private void linkAsHead(Block block) {
+        block.previous = null;
+        block.next = mostRecent;
+        if (mostRecent != null) {
+            mostRecent.previous = block;
+        }
+        mostRecent = block;
+        if (leastRecent == null) {
+            leastRecent = block;
+        }
+    }
+
+    private void unlink(Block block) {
+        if (block.previous != null) {
+            block.previous.next = block.next;
+        } else {
+            mostRecent = block.next;
+        }
+        if (block.next != null) {
+            block.next.previous = block.previous;
+        } else {
+            leastRecent = block.previous;
+        }
+        block.previous = null;
+        block.next = null;
+    }
+
+    private static final class Block {
+        final long index;
+        final byte[] data;
+        Block previous;
+        Block next;
+
+        Block(long index, byte[] data) {
+            this.index = index;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A RandomAccessSource which reads a temporary file through another source and deletes the file when closed.
+ */
+class TempFileRandomAccessSource implements IRandomAccessSource {
+    /**
+     * The source reading the temporary file
+     */
+    private final IRandomAccessSource source;
+
+    /**
+     * The temporary file to delete on closing
+     */
+    private final File file;
+
+    /**
+     * Creates a new {@link TempFileRandomAccessSource}.
+     *
+     * @param source the source reading the temporary file
+     * @param file   the temporary file, which is deleted when this source is closed
+     */
+    TempFileRandomAccessSource(IRandomAccessSource source, File file) {
+        this.source = source;
+        this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position) throws IOException {
+        return source.get(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position, byte[] bytes, int off, int len) throws IOException {
+        return source.get(position, bytes, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() {
+        return source.length();
+    }
+
+    /**
+     * Closes the underlying source and deletes the temporary file.
+     *
+     * @throws IOException in case of any I/O error
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            source.close();
+        } finally {
+            FileUtil.deleteFile(file);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.util.FilterUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ImageDataCacheTest extends ExtendedITextTest {
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/image/";
+
+    @After
+    public void clearCache() {
+        ImageDataCache.clear();
+        ImageDataCache.setMaxSize(ImageDataCache.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    public void sameContentReturnsSameImageTest() throws IOException {
+        byte[] bytes = readFile(SOURCE_FOLDER + "PngTest/rgba8Bpc.png");
+        ImageData image = ImageDataFactory.create(bytes, false, true);
+        // the image is found by its content, the copies share the image data
+        Assert.assertSame(image.getData(),
+                ImageDataFactory.create(Arrays.copyOf(bytes, bytes.length), false, true).getData());
+        Assert.assertSame(image.getData(),
+                ImageDataFactory.create(SOURCE_FOLDER + "PngTest/rgba8Bpc.png", false, true).getData());
+        Assert.assertNotSame(image.getData(), ImageDataFactory.create(bytes, true, true).getData());
+        Assert.assertNotSame(image.getData(), ImageDataFactory.create(bytes).getData());
+        Assert.assertEquals(2, ImageDataCache.getCount());
+    }
+
+    @Test
+    public void cachedImageIsCopiedTest() throws IOException {
+        byte[] bytes = readFile(SOURCE_FOLDER + "PngTest/rgba8Bpc.png");
+        ImageData image = ImageDataFactory.create(bytes, false, true);
+        image.setInverted(true);
+        image.setDecode(new float[] {1, 0, 1, 0, 1, 0});
+        image.getImageMask().setColorEncodingComponentsNumber(-1);
+
+        ImageData cachedImage = ImageDataFactory.create(bytes, false, true);
+        Assert.assertNotSame(image, cachedImage);
+        Assert.assertNotSame(image.getImageMask(), cachedImage.getImageMask());
+        Assert.assertFalse(cachedImage.isInverted());
+        Assert.assertNull(cachedImage.getDecode());
+        Assert.assertEquals(1, cachedImage.getImageMask().getColorEncodingComponentsNumber());
+    }
+
+    @Test
+    public void imagesWithSameEdgesAreDistinguishedTest() {
+        byte[] first = new byte[1000];
+        byte[] second = new byte[1000];
+        second[500] = 1;
+        ImageData image = ImageDataFactory.createRawImage(new byte[] {1, 2, 3});
+        ImageDataCache.saveImage(ImageDataCache.createKey(first, false), image);
+
+        Assert.assertNull(ImageDataCache.getImage(ImageDataCache.createKey(second, false)));
+        Assert.assertArrayEquals(image.getData(),
+                ImageDataCache.getImage(ImageDataCache.createKey(first, false)).getData());
+    }
+
+    @Test
+    public void pixelDataIsCompressedTest() throws IOException {
+        byte[] bytes = readFile(SOURCE_FOLDER + "PngTest/rgba8Bpc.png");
+        ImageData expected = ImageDataFactory.create(bytes);
+        ImageData image = ImageDataFactory.create(bytes, false, true);
+
+        Assert.assertTrue(image.isDeflated());
+        Assert.assertEquals("FlateDecode", image.getFilter());
+        Assert.assertArrayEquals(expected.getData(), FilterUtil.flateDecode(image.getData()));
+        Assert.assertTrue(image.getImageMask().isDeflated());
+        Assert.assertArrayEquals(expected.getImageMask().getData(),
+                FilterUtil.flateDecode(image.getImageMask().getData()));
+        Assert.assertEquals(image.getData().length + image.getImageMask().getData().length,
+                ImageDataCache.getSize());
+    }
+
+    @Test
+    public void encodedImageDataIsKeptTest() throws IOException {
+        byte[] bytes = readFile(SOURCE_FOLDER + "ImageDataFactoryTest/image.jpg");
+        ImageData image = ImageDataFactory.create(bytes, false, true);
+        Assert.assertEquals("DCTDecode", image.getFilter());
+        Assert.assertArrayEquals(bytes, image.getData());
+    }
+
+    @Test
+    public void leastRecentlyUsedImageIsEvictedTest() throws IOException {
+        byte[] first = readFile(SOURCE_FOLDER + "PngTest/rgba8Bpc.png");
+        byte[] second = readFile(SOURCE_FOLDER + "PngTest/graya8Bpc.png");
+        ImageData firstImage = ImageDataFactory.create(first, false, true);
+        ImageDataCache.setMaxSize(ImageDataCache.getSize() + 1);
+        ImageData secondImage = ImageDataFactory.create(second, false, true);
+
+        Assert.assertEquals(1, ImageDataCache.getCount());
+        Assert.assertSame(secondImage.getData(), ImageDataFactory.create(second, false, true).getData());
+        Assert.assertNotSame(firstImage.getData(), ImageDataFactory.create(first, false, true).getData());
+    }
+
+    @Test
+    public void imageLargerThanCacheIsNotCachedTest() throws IOException {
+        ImageDataCache.setMaxSize(0);
+        byte[] bytes = readFile(SOURCE_FOLDER + "PngTest/rgba8Bpc.png");
+        ImageData image = ImageDataFactory.create(bytes, false, true);
+        Assert.assertNotSame(image.getData(), ImageDataFactory.create(bytes, false, true).getData());
+        Assert.assertEquals(0, ImageDataCache.getCount());
+        Assert.assertEquals(0, ImageDataCache.getSize());
+    }
+}
@@ -23,13 +23,16 @@
 package com.itextpdf.io.image;
 
 import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.io.source.DeflaterOutputStream;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -320,4 +323,82 @@ public class PngTest extends ExtendedITextTest {
             Assert.assertEquals(0.06f, pngChromaticities.getYB(), 0.0001f);
         }
     }
+
+    @Test
+    public void rgba16BpcPlanesTest() throws IOException {
+        // one row of two pixels, each sample is stored as the high byte followed by the low one
+        byte[] rows = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+        ImageData img = ImageDataFactory.create(createPng(2, 1, 16, 6, null, null, rows));
+        Assert.assertEquals(8, img.getBpc());
+        Assert.assertArrayEquals(new byte[] {1, 3, 5, 9, 11, 13}, img.getData());
+        Assert.assertArrayEquals(new byte[] {7, 15}, img.getImageMask().getData());
+    }
+
+    @Test
+    public void graya8BpcPlanesWithUpFilterTest() throws IOException {
+        // the second row is encoded with the Up filter
+        byte[] rows = new byte[] {0, 10, (byte) 200, 20, (byte) 255, 2, 1, 5, 2, 0};
+        ImageData img = ImageDataFactory.create(createPng(2, 2, 8, 4, null, null, rows));
+        Assert.assertEquals(1, img.getColorEncodingComponentsNumber());
+        Assert.assertArrayEquals(new byte[] {10, 20, 11, 22}, img.getData());
+        Assert.assertArrayEquals(new byte[] {(byte) 200, (byte) 255, (byte) 205, (byte) 255},
+                img.getImageMask().getData());
+    }
+
+    @Test
+    public void indexed8BpcWithPartialTransparencyPlanesTest() throws IOException {
+        byte[] palette = new byte[] {0, 0, 0, (byte) 255, 0, 0, 0, (byte) 255, 0};
+        // the index 2 has no entry in the transparency table, so it is opaque
+        byte[] transparency = new byte[] {0, (byte) 128};
+        byte[] rows = new byte[] {0, 0, 1, 2};
+        ImageData img = ImageDataFactory.create(createPng(3, 1, 8, 3, palette, transparency, rows));
+        Assert.assertEquals(8, img.getBpc());
+        // the indices are passed through as they are
+        Assert.assertTrue(img.isDeflated());
+        Assert.assertArrayEquals(new byte[] {0, (byte) 128, (byte) 255}, img.getImageMask().getData());
+    }
+
+    private static byte[] createPng(int width, int height, int bitDepth, int colorType, byte[] palette,
+            byte[] transparency, byte[] filteredRows) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        for (int b : PngImageHelper.PNGID) {
+            png.write(b);
+        }
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = (byte) bitDepth;
+        header[9] = (byte) colorType;
+        writeChunk(png, PngImageHelper.IHDR, header);
+        if (palette != null) {
+            writeChunk(png, PngImageHelper.PLTE, palette);
+        }
+        if (transparency != null) {
+            writeChunk(png, PngImageHelper.tRNS, transparency);
+        }
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        DeflaterOutputStream deflater = new DeflaterOutputStream(idat);
+        deflater.write(filteredRows);
+        deflater.close();
+        writeChunk(png, PngImageHelper.IDAT, idat.toByteArray());
+        writeChunk(png, PngImageHelper.IEND, new byte[0]);
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(ByteArrayOutputStream png, String marker, byte[] data) throws IOException {
+        byte[] length = new byte[4];
+        writeInt(length, 0, data.length);
+        png.write(length);
+        png.write(marker.getBytes(StandardCharsets.ISO_8859_1));
+        png.write(data);
+        // the checksum isn't verified by the reader
+        png.write(new byte[4]);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
 }
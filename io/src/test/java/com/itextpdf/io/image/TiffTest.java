@@ -24,7 +24,9 @@ package com.itextpdf.io.image;
 
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TIFFDirectory;
+import com.itextpdf.io.codec.TIFFField;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -326,6 +328,58 @@ public class TiffTest extends ExtendedITextTest {
         createTiff(sourceFile, 8, 1024D, 768D);
     }
 
+    @Test
+    public void tiffPagesAreReadOneByOneTest() throws IOException {
+        byte[] tiff = createGrayTiff(new int[] {10, 31, 7}, new int[] {4, 2, 13});
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(tiff));
+        TiffPageIterator pages = ImageDataFactory.createTiffPages(source, false, false);
+        int page = 0;
+        while (pages.hasNext()) {
+            ImageData img = pages.next();
+            ++page;
+            Assert.assertEquals(page, pages.getPageNumber());
+            ImageData expected = ImageDataFactory.createTiff(tiff, false, page, false);
+            Assert.assertEquals(expected.getWidth(), img.getWidth(), DELTA);
+            Assert.assertEquals(expected.getHeight(), img.getHeight(), DELTA);
+            Assert.assertEquals(8, img.getBpc());
+            Assert.assertArrayEquals(expected.getData(), img.getData());
+        }
+        Assert.assertEquals(3, page);
+        Assert.assertEquals(TiffImageData.getNumberOfPages(tiff), page);
+        source.close();
+    }
+
+    @Test
+    public void tiffPagesWithCyclicDirectoryChainTest() throws IOException {
+        byte[] tiff = createGrayTiff(new int[] {5, 6}, new int[] {3, 3});
+        // point the last directory back to the first one
+        System.arraycopy(tiff, 4, tiff, tiff.length - 4, 4);
+        TiffPageIterator pages = ImageDataFactory.createTiffPages(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(tiff)), false, false);
+        Assert.assertEquals(5, pages.next().getWidth(), DELTA);
+        Assert.assertEquals(6, pages.next().getWidth(), DELTA);
+        Assert.assertFalse(pages.hasNext());
+    }
+
+    @Test
+    public void group4CompressionTiffPagesDirectTest() throws IOException {
+        String sourceFile = SOURCE_FOLDER + "group4CompressionImage.tif";
+        byte[] tiff = Files.readAllBytes(Paths.get(sourceFile));
+        RandomAccessFileOrArray source = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createBestSource(sourceFile));
+        TiffPageIterator pages = ImageDataFactory.createTiffPages(source, false, true);
+        RawImageData img = (RawImageData) pages.next();
+        Assert.assertFalse(pages.hasNext());
+        source.close();
+
+        RawImageData expected = (RawImageData) ImageDataFactory.createTiff(tiff, false, 1, true);
+        Assert.assertEquals(RawImageData.CCITTG4, img.getTypeCcitt());
+        Assert.assertEquals(expected.getWidth(), img.getWidth(), DELTA);
+        Assert.assertEquals(expected.getHeight(), img.getHeight(), DELTA);
+        Assert.assertArrayEquals(expected.getData(), img.getData());
+    }
+
     private static void createTiff (String sourceFile, int bpc, double width, double height)
             throws MalformedURLException {
         ImageData img = ImageDataFactory.createTiff(UrlUtil.toURL(sourceFile),
@@ -335,4 +389,60 @@ public class TiffTest extends ExtendedITextTest {
         Assert.assertEquals(width, img.getWidth(), DELTA);
         Assert.assertEquals(height, img.getHeight(), DELTA);
     }
+
+    private static byte[] createGrayTiff(int[] widths, int[] heights) {
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        out.write('I');
+        out.write('I');
+        writeShortLE(out, 42);
+        for (int page = 0; page < widths.length; ++page) {
+            int width = widths[page];
+            int height = heights[page];
+            int stripOffset = out.size() + 4;
+            int ifdOffset = stripOffset + width * height;
+            writeIntLE(out, ifdOffset);
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    out.write(x + y * 3 + page * 50);
+                }
+            }
+            writeShortLE(out, 9);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_IMAGEWIDTH, TIFFField.TIFF_SHORT, width);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_IMAGELENGTH, TIFFField.TIFF_SHORT, height);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_BITSPERSAMPLE, TIFFField.TIFF_SHORT, 8);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_COMPRESSION, TIFFField.TIFF_SHORT,
+                    TIFFConstants.COMPRESSION_NONE);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_PHOTOMETRIC, TIFFField.TIFF_SHORT,
+                    TIFFConstants.PHOTOMETRIC_MINISBLACK);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_STRIPOFFSETS, TIFFField.TIFF_LONG, stripOffset);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_SAMPLESPERPIXEL, TIFFField.TIFF_SHORT, 1);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_ROWSPERSTRIP, TIFFField.TIFF_SHORT, height);
+            writeTiffEntry(out, TIFFConstants.TIFFTAG_STRIPBYTECOUNTS, TIFFField.TIFF_LONG, width * height);
+        }
+        // offset of the next directory after the last one
+        writeIntLE(out, 0);
+        return out.toByteArray();
+    }
+
+    private static void writeTiffEntry(java.io.ByteArrayOutputStream out, int tag, int type, int value) {
+        writeShortLE(out, tag);
+        writeShortLE(out, type);
+        writeIntLE(out, 1);
+        if (type == TIFFField.TIFF_SHORT) {
+            writeShortLE(out, value);
+            writeShortLE(out, 0);
+        } else {
+            writeIntLE(out, value);
+        }
+    }
+
+    private static void writeShortLE(java.io.ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >> 8);
+    }
+
+    private static void writeIntLE(java.io.ByteArrayOutputStream out, int value) {
+        writeShortLE(out, value);
+        writeShortLE(out, value >> 16);
+    }
 }
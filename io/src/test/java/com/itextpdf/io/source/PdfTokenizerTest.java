@@ -23,8 +23,11 @@
 package com.itextpdf.io.source;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.PdfTokenizer.TokenType;
 import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.io.IOException;
@@ -536,6 +539,66 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertArrayEquals(new byte[] {0, 19}, result);
     }
 
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, count = 38))
+    public void readWindowTokensTest() throws Exception {
+        String data = "%PDF-1.7\n<</Size 70.%comment\n" +
+                "/Value#20 .1" +
+                "/Root 46 0 R" +
+                "/Info 44 0 R 12 0 obj" +
+                "/ID[<736f6d652068657820737472696e672>(some (nested) \\) string )<8C2547D58D4BD2C6>-70.1--0.2]" +
+                "/Name1 --15 true null 2147483648 0 R 7" +
+                "/Prev ---116.23 >>";
+        for (int windowSize = 1; windowSize < 20; windowSize++) {
+            PdfTokenizer expected = createTokenizer(data, 0);
+            PdfTokenizer actual = createTokenizer(data, windowSize);
+            do {
+                expected.nextValidToken();
+                actual.nextValidToken();
+                Assert.assertEquals("Window " + windowSize, expected.getTokenType(), actual.getTokenType());
+                Assert.assertArrayEquals("Window " + windowSize, expected.getByteContent(), actual.getByteContent());
+                Assert.assertEquals("Window " + windowSize, expected.getPosition(), actual.getPosition());
+                if (expected.getTokenType() == TokenType.Ref || expected.getTokenType() == TokenType.Obj) {
+                    Assert.assertEquals(expected.getObjNr(), actual.getObjNr());
+                    Assert.assertEquals(expected.getGenNr(), actual.getGenNr());
+                }
+            } while (expected.getTokenType() != TokenType.EndOfFile);
+        }
+    }
+
+    @Test
+    public void readWindowSeekAndReadFullyTest() throws IOException {
+        String data = "0123456789abcdefghijklmnopqrstuvwxyz";
+        PdfTokenizer tok = createTokenizer(data, 4);
+        Assert.assertEquals('0', tok.read());
+        Assert.assertEquals('1', tok.read());
+        tok.seek(20);
+        Assert.assertEquals('k', tok.read());
+        tok.seek(2);
+        byte[] bytes = new byte[10];
+        tok.readFully(bytes);
+        Assert.assertEquals("23456789ab", new String(bytes, StandardCharsets.ISO_8859_1));
+        Assert.assertEquals(12, tok.getPosition());
+        Assert.assertEquals('c', tok.read());
+        tok.backOnePosition('c');
+        Assert.assertEquals(12, tok.getPosition());
+        Assert.assertEquals('c', tok.read());
+        tok.backOnePosition('X');
+        Assert.assertEquals('X', tok.read());
+        Assert.assertEquals('d', tok.read());
+        tok.seek(data.length());
+        Assert.assertEquals(-1, tok.read());
+        Assert.assertEquals(data.length() + 1, tok.getPosition());
+        tok.seek(30);
+        Assert.assertEquals("uvwxyz", tok.readString(10));
+    }
+
+    private static PdfTokenizer createTokenizer(String data, int readWindowSize) {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        return new PdfTokenizer(new RandomAccessFileOrArray(factory
+                .createSource(data.getBytes(StandardCharsets.ISO_8859_1))), readWindowSize);
+    }
+
     private void checkTokenTypes(String data, TokenType... expectedTypes) throws Exception {
         RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
         PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(factory
@@ -27,8 +27,10 @@ import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -81,4 +83,32 @@ public class RandomAccessSourceFactoryTest extends ExtendedITextTest {
             Assert.assertEquals(extractedRandomAccessSource, rasInputStream.getSource());
         }
     }
+
+    @Test
+    public void createSourceWithinInMemoryThresholdTest() throws IOException {
+        try (InputStream pdfStream = FileUtil.getInputStreamForFile(SOURCE_FILE)) {
+            IRandomAccessSource source = new RandomAccessSourceFactory().createSource(pdfStream, 13);
+            Assert.assertTrue(source instanceof ArrayRandomAccessSource);
+            Assert.assertEquals(13, source.length());
+            Assert.assertEquals(72, source.get(0));
+        }
+    }
+
+    @Test
+    public void createSourceSpilledToTempFileTest() throws IOException {
+        try (InputStream pdfStream = FileUtil.getInputStreamForFile(SOURCE_FILE)) {
+            IRandomAccessSource source = new RandomAccessSourceFactory().createSource(pdfStream, 12);
+            Assert.assertTrue(source instanceof TempFileRandomAccessSource);
+            File tempFile = ((TempFileRandomAccessSource) source).getFile();
+            Assert.assertTrue(tempFile.exists());
+
+            byte[] content = new byte[13];
+            Assert.assertEquals(13, source.length());
+            Assert.assertEquals(13, source.get(0, content, 0, 13));
+            Assert.assertEquals("Hello, world!", new String(content, StandardCharsets.ISO_8859_1));
+
+            source.close();
+            Assert.assertFalse(tempFile.exists());
+        }
+    }
 }
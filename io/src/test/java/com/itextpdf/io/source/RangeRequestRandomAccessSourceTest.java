@@ -0,0 +1,241 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class RangeRequestRandomAccessSourceTest extends ExtendedITextTest {
+    private final static String SOURCE_FILE = "./src/test/resources/com/itextpdf/io/source/RAF.txt";
+
+    @Test
+    public void readFileTest() throws IOException {
+        byte[] content = "Hello, world!".getBytes();
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(
+                new FileRangeFetcher(new File(SOURCE_FILE)), 4, 2, 1);
+        try {
+            Assert.assertEquals(content.length, source.length());
+            for (int i = 0; i < content.length; i++) {
+                Assert.assertEquals(content[i], source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(content.length));
+
+            byte[] dest = new byte[24];
+            Assert.assertEquals(6, source.get(7, dest, 0, 24));
+            Assert.assertEquals("world!", new String(dest, 0, 6));
+            Assert.assertEquals(-1, source.get(content.length, dest, 0, 1));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void onlyAccessedBlocksAreFetchedTest() throws IOException {
+        CountingFetcher fetcher = new CountingFetcher(createContent(1000));
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 4, 1);
+
+        Assert.assertEquals(950 % 256, source.get(950));
+        Assert.assertEquals(10, source.get(10));
+        Assert.assertEquals(20, source.get(20));
+        Assert.assertEquals(980 % 256, source.get(980));
+
+        Assert.assertEquals(2, fetcher.requests.size());
+        Assert.assertArrayEquals(new long[] {900, 100}, fetcher.requests.get(0));
+        Assert.assertArrayEquals(new long[] {0, 100}, fetcher.requests.get(1));
+    }
+
+    @Test
+    public void adjacentMissingBlocksAreCoalescedTest() throws IOException {
+        byte[] content = createContent(1000);
+        CountingFetcher fetcher = new CountingFetcher(content);
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 8, 0);
+
+        source.get(250);
+        byte[] dest = new byte[500];
+        Assert.assertEquals(500, source.get(50, dest, 0, 500));
+        for (int i = 0; i < dest.length; i++) {
+            Assert.assertEquals(content[50 + i], dest[i]);
+        }
+
+        // the cached block 2 splits the range into two requests
+        Assert.assertEquals(3, fetcher.requests.size());
+        Assert.assertArrayEquals(new long[] {200, 100}, fetcher.requests.get(0));
+        Assert.assertArrayEquals(new long[] {0, 200}, fetcher.requests.get(1));
+        Assert.assertArrayEquals(new long[] {300, 300}, fetcher.requests.get(2));
+    }
+
+    @Test
+    public void sequentialReadingFetchesAheadTest() throws IOException {
+        byte[] content = createContent(1000);
+        CountingFetcher fetcher = new CountingFetcher(content);
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 4, 2);
+
+        for (int i = 0; i < content.length; i++) {
+            Assert.assertEquals(content[i] & 0xff, source.get(i));
+        }
+
+        // the first block is read alone, every following miss fetches the block and two blocks ahead
+        Assert.assertEquals(4, fetcher.requests.size());
+        Assert.assertArrayEquals(new long[] {0, 100}, fetcher.requests.get(0));
+        Assert.assertArrayEquals(new long[] {100, 300}, fetcher.requests.get(1));
+        Assert.assertArrayEquals(new long[] {400, 300}, fetcher.requests.get(2));
+        Assert.assertArrayEquals(new long[] {700, 300}, fetcher.requests.get(3));
+    }
+
+    @Test
+    public void leastRecentlyUsedBlockIsEvictedTest() throws IOException {
+        CountingFetcher fetcher = new CountingFetcher(createContent(1000));
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 2, 0);
+
+        source.get(0);
+        source.get(500);
+        source.get(0);
+        source.get(800);
+        Assert.assertEquals(3, fetcher.requests.size());
+
+        // block 0 was used more recently than block 5, so only the latter was evicted
+        source.get(0);
+        Assert.assertEquals(3, fetcher.requests.size());
+        source.get(500);
+        Assert.assertEquals(4, fetcher.requests.size());
+    }
+
+    @Test
+    public void rangeLargerThanCacheIsFetchedDirectlyTest() throws IOException {
+        byte[] content = createContent(1000);
+        CountingFetcher fetcher = new CountingFetcher(content);
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 2, 0);
+
+        byte[] dest = new byte[1000];
+        Assert.assertEquals(990, source.get(10, dest, 5, 1000));
+        for (int i = 0; i < 990; i++) {
+            Assert.assertEquals(content[10 + i], dest[5 + i]);
+        }
+        Assert.assertEquals(1, fetcher.requests.size());
+        Assert.assertArrayEquals(new long[] {10, 990}, fetcher.requests.get(0));
+
+        source.get(10);
+        Assert.assertEquals(2, fetcher.requests.size());
+    }
+
+    @Test
+    public void negativePositionTest() throws IOException {
+        CountingFetcher fetcher = new CountingFetcher(createContent(1000));
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 4, 1);
+
+        Assert.assertEquals(-1, source.get(-1));
+        Assert.assertEquals(-1, source.get(-1, new byte[10], 0, 10));
+        Assert.assertEquals(0, fetcher.requests.size());
+    }
+
+    @Test
+    public void cachedBlockOfRangeIsNotEvictedWhileFetchingTest() throws IOException {
+        byte[] content = createContent(30);
+        CountingFetcher fetcher = new CountingFetcher(content);
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 1, 4, 0);
+
+        source.get(3);
+        source.get(20);
+        source.get(21);
+        source.get(22);
+        byte[] dest = new byte[4];
+        Assert.assertEquals(4, source.get(0, dest, 0, 4));
+        Assert.assertArrayEquals(new byte[] {0, 1, 2, 3}, dest);
+
+        // block 3 was served from the cache and stays there
+        int requests = fetcher.requests.size();
+        Assert.assertEquals(3, source.get(3));
+        Assert.assertEquals(requests, fetcher.requests.size());
+    }
+
+    @Test
+    public void partialFetchThrowsTest() throws IOException {
+        CountingFetcher fetcher = new CountingFetcher(createContent(1000)) {
+            @Override
+            public long length() {
+                return 2000;
+            }
+        };
+        RangeRequestRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 100, 4, 0);
+        Exception e = Assert.assertThrows(IOException.class, () -> source.get(1950));
+        Assert.assertEquals(MessageFormatUtil.format(IoExceptionMessageConstant.RANGE_FETCHED_PARTIALLY, 0, 100, 1900),
+                e.getMessage());
+    }
+
+    @Test
+    public void invalidConfigurationTest() {
+        CountingFetcher fetcher = new CountingFetcher(createContent(10));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new RangeRequestRandomAccessSource(fetcher, 0, 4, 1));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new RangeRequestRandomAccessSource(fetcher, 100, 4, 4));
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static class CountingFetcher implements IRangeFetcher {
+        private final byte[] content;
+        final List<long[]> requests = new ArrayList<>();
+
+        CountingFetcher(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long length() {
+            return content.length;
+        }
+
+        @Override
+        public int fetch(long position, byte[] bytes, int off, int len) {
+            requests.add(new long[] {position, len});
+            if (position >= content.length) {
+                return -1;
+            }
+            int count = Math.min(len, content.length - (int) position);
+            System.arraycopy(content, (int) position, bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
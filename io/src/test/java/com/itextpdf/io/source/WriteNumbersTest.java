@@ -110,4 +110,52 @@ public class WriteNumbersTest extends ExtendedITextTest {
         String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ "+ d;
         Assert.assertArrayEquals(message, expecteds, actuals);
     }
+
+    @Test
+    public void writeHighPrecisionNumberTest() {
+        Random rnd = new Random();
+        for (int i = 0; i < 100000; i++) {
+            double d;
+            if (i % 3 == 0) {
+                d = (rnd.nextDouble() - 0.5) * 200000;
+            } else if (i % 3 == 1) {
+                d = (double) rnd.nextInt(2000000000) / 1000000;
+            } else {
+                // values close to the rounding ties of the sixth fraction digit
+                d = (rnd.nextInt(10000000) + 0.5) / 1000000;
+            }
+            if (Math.abs(d) < 0.000001) continue;
+            byte[] actuals = ByteUtils.getIsoBytes(d, null, true);
+            byte[] expecteds = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
+            String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ " + d;
+            Assert.assertArrayEquals(message, expecteds, actuals);
+        }
+    }
+
+    @Test
+    public void writeHighPrecisionTiesAndBigNumbersTest() {
+        double[] values = new double[] {0.0078125, 0.0234375, -0.0078125, 1.5, 0.000001, 0.0000015,
+                123456789.0000005, 999999999.9999999, 1e15, -3.5e20};
+        for (double d : values) {
+            byte[] actuals = ByteUtils.getIsoBytes(d, null, true);
+            byte[] expecteds = DecimalFormatUtil.formatNumber(d, "0.######").getBytes(StandardCharsets.ISO_8859_1);
+            String message = "Expects: " + new String(expecteds) + ", actual: " + new String(actuals) + " \\\\ " + d;
+            Assert.assertArrayEquals(message, expecteds, actuals);
+        }
+    }
+
+    @Test
+    public void writeLongTest() throws java.io.IOException {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                OutputStream<ByteArrayOutputStream> stream = new OutputStream<>(bytes)) {
+            long[] values = new long[] {0, -17, 9007199254740993L, Long.MAX_VALUE, Long.MIN_VALUE};
+            for (long value : values) {
+                stream.writeLong(value);
+                stream.writeSpace();
+            }
+            stream.flush();
+            Assert.assertEquals("0 -17 9007199254740993 9223372036854775807 -9223372036854775808 ",
+                    new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1));
+        }
+    }
 }
@@ -35,6 +35,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -42,6 +43,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Creates an AES Cipher with CBC and padding PKCS5/7.
+ *
+ * <p>
+ * The underlying {@link Cipher} instances can be reused via an {@link AESCipherPool}: when a cipher created with
+ * a pool is finalized via {@link #doFinal()} or {@link #doFinal(byte[], int)}, its {@link Cipher} is put back
+ * to the pool for the next {@link AESCipher} created with it. So such an {@link AESCipher} instance shall not
+ * be used after it has been finalized.
  */
 public class AESCipher {
     
@@ -51,21 +58,9 @@ public class AESCipher {
 
     private static final IBouncyCastleFactory BOUNCY_CASTLE_FACTORY = BouncyCastleFactoryCreator.getFactory();
 
-    private static Cipher cipher;
-    
-    static {
-        try {
-            if ("BC".equals(BOUNCY_CASTLE_FACTORY.getProviderName())) {
-                // Do not pass bc provider and use default one here not to require bc provider for this functionality
-                // Do not use bc provider in kernel
-                cipher = Cipher.getInstance(CIPHER_WITH_PKCS5_PADDING);
-            } else {
-                cipher = Cipher.getInstance(CIPHER_WITH_PKCS5_PADDING, BOUNCY_CASTLE_FACTORY.getProvider());
-            }
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
-            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_INITIALIZING_AES_CIPHER, e);
-        }
-    }
+    private final Cipher cipher;
+
+    private AESCipherPool pool;
 
     /**
      * Creates a new instance of AESCipher
@@ -76,6 +71,23 @@ public class AESCipher {
      * @param iv            initialization vector to be used in cipher
      */
     public AESCipher(boolean forEncryption, byte[] key, byte[] iv) {
+        this(forEncryption, key, iv, null);
+    }
+
+    /**
+     * Creates a new instance of AESCipher, which takes its underlying {@link Cipher} from the passed pool
+     * and puts it back when finalized.
+     *
+     * @param forEncryption if true the cipher is initialised for
+     *                      encryption, if false for decryption
+     * @param key           the key to be used in the cipher
+     * @param iv            initialization vector to be used in cipher
+     * @param pool          the pool of the finalized ciphers, may be {@code null}
+     */
+    public AESCipher(boolean forEncryption, byte[] key, byte[] iv, AESCipherPool pool) {
+        Cipher spare = pool == null ? null : pool.take();
+        cipher = spare != null ? spare : createCipher();
+        this.pool = pool;
         try {
             cipher.init(forEncryption ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
                     new SecretKeySpec(key, "AES"),
@@ -89,12 +101,90 @@ public class AESCipher {
         return cipher.update(inp, inpOff, inpLen);
     }
 
+    /**
+     * Processes the part of the data and writes the result to the passed buffer.
+     *
+     * @param inp    the input buffer
+     * @param inpOff the offset of the data in the input buffer
+     * @param inpLen the length of the data
+     * @param out    the output buffer, which shall have at least {@link #getOutputSize(int)} bytes
+     *               starting at {@code outOff}
+     * @param outOff the offset in the output buffer
+     *
+     * @return the number of bytes written to the output buffer
+     */
+    public int update(byte[] inp, int inpOff, int inpLen, byte[] out, int outOff) {
+        try {
+            return cipher.update(inp, inpOff, inpLen, out, outOff);
+        } catch (ShortBufferException e) {
+            throw new PdfException(KernelExceptionMessageConstant.PDF_ENCRYPTION, e);
+        }
+    }
+
     public byte[] doFinal() {
         try {
             return cipher.doFinal();
         } catch (IllegalBlockSizeException | BadPaddingException e) {
             LOGGER.info(KernelLogMessageConstant.ERROR_WHILE_FINALIZING_AES_CIPHER, e);
             return null;
+        } finally {
+            releaseCipher();
+        }
+    }
+
+    /**
+     * Finalizes the cipher and writes the remaining bytes to the passed buffer.
+     *
+     * @param out    the output buffer, which shall have at least {@link #getOutputSize(int)} bytes,
+     *               called with {@code 0}, starting at {@code outOff}
+     * @param outOff the offset in the output buffer
+     *
+     * @return the number of bytes written to the output buffer, {@code 0} if the data can't be finalized
+     */
+    public int doFinal(byte[] out, int outOff) {
+        try {
+            return cipher.doFinal(out, outOff);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            LOGGER.info(KernelLogMessageConstant.ERROR_WHILE_FINALIZING_AES_CIPHER, e);
+            return 0;
+        } catch (ShortBufferException e) {
+            throw new PdfException(KernelExceptionMessageConstant.PDF_ENCRYPTION, e);
+        } finally {
+            releaseCipher();
+        }
+    }
+
+    /**
+     * Gets the maximum number of bytes the next {@code update} or {@code doFinal} call can produce
+     * for the input of the passed length.
+     *
+     * @param inpLen the length of the input
+     *
+     * @return the maximum length of the output
+     */
+    public int getOutputSize(int inpLen) {
+        return cipher.getOutputSize(inpLen);
+    }
+
+    private void releaseCipher() {
+        if (pool != null) {
+            pool.release(cipher);
+            // the cipher is put back only once, even if the finalizing method is called again
+            pool = null;
+        }
+    }
+
+    private static Cipher createCipher() {
+        try {
+            if ("BC".equals(BOUNCY_CASTLE_FACTORY.getProviderName())) {
+                // Do not pass bc provider and use default one here not to require bc provider for this functionality
+                // Do not use bc provider in kernel
+                return Cipher.getInstance(CIPHER_WITH_PKCS5_PADDING);
+            } else {
+                return Cipher.getInstance(CIPHER_WITH_PKCS5_PADDING, BOUNCY_CASTLE_FACTORY.getProvider());
+            }
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_INITIALIZING_AES_CIPHER, e);
         }
     }
 }
@@ -0,0 +1,64 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.crypto.Cipher;
+
+/**
+ * Keeps the {@link Cipher} instances of finalized {@link AESCipher} objects, so that the next {@link AESCipher}
+ * objects created with the same pool initialize them again instead of creating new instances.
+ *
+ * <p>
+ * The pool is meant to be owned by an object creating many ciphers, e.g. a security handler of a document,
+ * so the kept instances are released together with it. The pool can be used from several threads.
+ */
+public final class AESCipherPool {
+
+    private static final int MAX_SIZE = 16;
+
+    private final Object lock = new Object();
+
+    private final List<Cipher> ciphers = new ArrayList<>();
+
+    Cipher take() {
+        synchronized (lock) {
+            return ciphers.isEmpty() ? null : ciphers.remove(ciphers.size() - 1);
+        }
+    }
+
+    void release(Cipher cipher) {
+        synchronized (lock) {
+            if (ciphers.size() < MAX_SIZE) {
+                ciphers.add(cipher);
+            }
+        }
+    }
+
+    int size() {
+        synchronized (lock) {
+            return ciphers.size();
+        }
+    }
+}
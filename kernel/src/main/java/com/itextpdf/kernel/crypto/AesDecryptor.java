@@ -24,6 +24,7 @@ package com.itextpdf.kernel.crypto;
 
 public class AesDecryptor implements IDecryptor {
     private AESCipher cipher;
+    private final AESCipherPool pool;
     private byte[] key;
     private boolean initiated;
     private byte[] iv = new byte[16];
@@ -36,8 +37,20 @@ public class AesDecryptor implements IDecryptor {
      * @param len the length of the key in the byte array
      */
     public AesDecryptor(byte[] key, int off, int len) {
+        this(key, off, len, null);
+    }
+
+    /**
+     * Creates a new instance of {@link AesDecryptor}, which reuses the ciphers of the passed pool
+     * @param key the byte array containing the key for decryption
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param pool the {@link AESCipherPool} the cipher is taken from and put back to when finished, may be {@code null}
+     */
+    public AesDecryptor(byte[] key, int off, int len, AESCipherPool pool) {
         this.key = new byte[len];
         System.arraycopy(key, off, this.key, 0, len);
+        this.pool = pool;
     }
 
     public byte[] update(byte[] b, int off, int len) {
@@ -50,7 +63,7 @@ public class AesDecryptor implements IDecryptor {
             len -= left;
             ivptr += left;
             if (ivptr == iv.length) {
-                cipher = new AESCipher(false, key, iv);
+                cipher = new AESCipher(false, key, iv, pool);
                 initiated = true;
                 if (len > 0)
                     return cipher.update(b, off, len);
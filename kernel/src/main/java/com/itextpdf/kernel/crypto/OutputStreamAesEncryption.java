@@ -29,6 +29,10 @@ import java.io.IOException;
 public class OutputStreamAesEncryption extends OutputStreamEncryption {
     protected AESCipher cipher;
     private boolean finished;
+    /**
+     * The buffer the encrypted bytes are written to, reused by all the writes.
+     */
+    private byte[] buffer;
 
     /**
      * Creates a new instance of {@link OutputStreamAesEncryption}
@@ -38,11 +42,23 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
      * @param len the length of the key in the byte array
      */
     public OutputStreamAesEncryption(java.io.OutputStream out, byte[] key, int off, int len) {
+        this(out, key, off, len, null);
+    }
+
+    /**
+     * Creates a new instance of {@link OutputStreamAesEncryption}, which reuses the ciphers of the passed pool.
+     * @param out the {@link java.io.OutputStream} instance to be used as the destination for the encrypted content
+     * @param key the byte array containing the key for encryption
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param pool the {@link AESCipherPool} the cipher is taken from and put back to when finished, may be {@code null}
+     */
+    public OutputStreamAesEncryption(java.io.OutputStream out, byte[] key, int off, int len, AESCipherPool pool) {
         super(out);
         byte[] iv = IVGenerator.getIV();
         byte[] nkey = new byte[len];
         System.arraycopy(key, off, nkey, 0, len);
-        cipher = new AESCipher(true, nkey, iv);
+        cipher = new AESCipher(true, nkey, iv, pool);
         try {
             write(iv);
         } catch (IOException e) {
@@ -88,22 +104,30 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
      *                     stream is closed.
      */
     public void write(byte[] b, int off, int len) throws IOException {
-        byte[] b2 = cipher.update(b, off, len);
-        if (b2 == null || b2.length == 0)
-            return;
-        out.write(b2, 0, b2.length);
+        int n = cipher.update(b, off, len, getBuffer(len), 0);
+        if (n > 0) {
+            out.write(buffer, 0, n);
+        }
     }
 
     public void finish() {
         if (!finished) {
             finished = true;
 
-            byte[] b = cipher.doFinal();
+            int n = cipher.doFinal(getBuffer(0), 0);
             try {
-                out.write(b, 0, b.length);
+                out.write(buffer, 0, n);
             } catch (IOException e) {
                 throw new PdfException(KernelExceptionMessageConstant.PDF_ENCRYPTION, e);
             }
         }
     }
+
+    private byte[] getBuffer(int inputLength) {
+        int size = cipher.getOutputSize(inputLength);
+        if (buffer == null || buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer == null ? 0 : buffer.length * 2)];
+        }
+        return buffer;
+    }
 }
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.crypto.securityhandler;
 
+import com.itextpdf.kernel.crypto.AESCipherPool;
 import com.itextpdf.kernel.crypto.AesDecryptor;
 import com.itextpdf.kernel.crypto.IDecryptor;
 import com.itextpdf.kernel.crypto.OutputStreamAesEncryption;
@@ -40,6 +41,8 @@ public class PubSecHandlerUsingAes128 extends PubKeySecurityHandler {
     private static final byte[] salt = {(byte) 0x73, (byte) 0x41, (byte) 0x6c,
             (byte) 0x54};
 
+    private final AESCipherPool cipherPool = new AESCipherPool();
+
     public PubSecHandlerUsingAes128(PdfDictionary encryptionDictionary, Certificate[] certs, int[] permissions, boolean encryptMetadata, boolean embeddedFilesOnly) {
         initKeyAndFillDictionary(encryptionDictionary, certs, permissions, encryptMetadata, embeddedFilesOnly);
     }
@@ -51,12 +54,12 @@ public class PubSecHandlerUsingAes128 extends PubKeySecurityHandler {
 
     @Override
     public OutputStreamEncryption getEncryptionStream(OutputStream os) {
-        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize);
+        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     @Override
     public IDecryptor getDecryptor() {
-        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize);
+        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     @Override
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.crypto.securityhandler;
 
+import com.itextpdf.kernel.crypto.AESCipherPool;
 import com.itextpdf.kernel.crypto.AesDecryptor;
 import com.itextpdf.kernel.crypto.IDecryptor;
 import com.itextpdf.kernel.crypto.OutputStreamAesEncryption;
@@ -36,6 +37,8 @@ public class StandardHandlerUsingAes128 extends StandardHandlerUsingStandard128
     private static final byte[] salt = {(byte) 0x73, (byte) 0x41, (byte) 0x6c,
             (byte) 0x54};
 
+    private final AESCipherPool cipherPool = new AESCipherPool();
+
     public StandardHandlerUsingAes128(PdfDictionary encryptionDictionary, byte[] userPassword, byte[] ownerPassword,
                                       int permissions, boolean encryptMetadata, boolean embeddedFilesOnly, byte[] documentId) {
         super(encryptionDictionary, userPassword, ownerPassword, permissions, encryptMetadata, embeddedFilesOnly, documentId);
@@ -47,12 +50,12 @@ public class StandardHandlerUsingAes128 extends StandardHandlerUsingStandard128
 
     @Override
     public OutputStreamEncryption getEncryptionStream(OutputStream os) {
-        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize);
+        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     @Override
     public IDecryptor getDecryptor() {
-        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize);
+        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     @Override
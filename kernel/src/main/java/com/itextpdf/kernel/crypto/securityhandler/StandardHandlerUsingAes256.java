@@ -26,6 +26,7 @@ import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.crypto.AESCipherCBCnoPad;
+import com.itextpdf.kernel.crypto.AESCipherPool;
 import com.itextpdf.kernel.crypto.AesDecryptor;
 import com.itextpdf.kernel.exceptions.BadPasswordException;
 import com.itextpdf.kernel.crypto.IDecryptor;
@@ -57,6 +58,8 @@ public class StandardHandlerUsingAes256 extends StandardSecurityHandler {
     private boolean isPdf2;
     protected boolean encryptMetadata;
 
+    private final AESCipherPool cipherPool = new AESCipherPool();
+
 
     public StandardHandlerUsingAes256(PdfDictionary encryptionDictionary, byte[] userPassword, byte[] ownerPassword,
                                       int permissions, boolean encryptMetadata, boolean embeddedFilesOnly, PdfVersion version) {
@@ -79,12 +82,12 @@ public class StandardHandlerUsingAes256 extends StandardSecurityHandler {
 
     @Override
     public OutputStreamEncryption getEncryptionStream(OutputStream os) {
-        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize);
+        return new OutputStreamAesEncryption(os, nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     @Override
     public IDecryptor getDecryptor() {
-        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize);
+        return new AesDecryptor(nextObjectKey, 0, nextObjectKeySize, cipherPool);
     }
 
     private void initKeyAndFillDictionary(PdfDictionary encryptionDictionary, byte[] userPassword, byte[] ownerPassword,
@@ -194,6 +194,8 @@ public final class KernelExceptionMessageConstant {
     public static final String FONT_AND_SIZE_MUST_BE_SET_BEFORE_WRITING_ANY_TEXT = "Font and size must be set before "
             + "writing any text.";
     public static final String FONT_EMBEDDING_ISSUE = "Font embedding issue.";
+    public static final String FONT_SUBSET_CACHE_MAX_SIZE_SHALL_BE_POSITIVE = "The maximum size of the font "
+            + "subset cache shall be positive.";
     public static final String FORM_XOBJECT_MUST_HAVE_BBOX = "Form XObject must have BBox.";
     public static final String FUNCTION_IS_NOT_COMPATIBLE_WITH_COLOR_SPACE = "Function is not compatible with "
             + "ColorSpace.";
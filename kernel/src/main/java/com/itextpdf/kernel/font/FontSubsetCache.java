@@ -0,0 +1,252 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of embedded font subsets, which can be shared between documents.
+ *
+ * <p>
+ * When many documents use the same font program with the same set of glyphs, e.g. documents generated from
+ * one template, the font file subset and its compression are the same for each of them. If the cache is set
+ * via {@link com.itextpdf.kernel.pdf.WriterProperties#setFontSubsetCache(FontSubsetCache)}, {@link PdfType0Font}
+ * and {@link PdfTrueTypeFont} reuse the compressed font file bytes and the glyph widths of the subset
+ * written to a previous document instead of building the subset again.
+ *
+ * <p>
+ * The subsets are identified by the font program instance, so the cache only helps if the same
+ * {@link FontProgram} instance is used for all the documents, e.g. the one cached by
+ * {@link com.itextpdf.io.font.FontProgramFactory}. A font program embedded as a whole is cached once regardless
+ * of the glyphs used, without the widths which depend on them. When the cache is full, the subset added first
+ * is dropped.
+ * The cache is thread-safe.
+ */
+public class FontSubsetCache {
+
+    /**
+     * The default maximum number of subsets in the cache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    private final int maxSize;
+    private final Map<Key, CachedSubset> subsets = new LinkedHashMap<>();
+    private final Object lock = new Object();
+
+    /**
+     * Creates a cache which keeps at most {@link #DEFAULT_MAX_SIZE} subsets.
+     */
+    public FontSubsetCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache which keeps at most the specified number of subsets.
+     *
+     * @param maxSize the maximum number of subsets in the cache, shall be positive
+     */
+    public FontSubsetCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(
+                    KernelExceptionMessageConstant.FONT_SUBSET_CACHE_MAX_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum number of subsets in the cache.
+     *
+     * @return the maximum number of subsets
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the current number of subsets in the cache.
+     *
+     * @return the number of subsets
+     */
+    public int size() {
+        synchronized (lock) {
+            return subsets.size();
+        }
+    }
+
+    /**
+     * Removes all the subsets from the cache.
+     */
+    public void clear() {
+        synchronized (lock) {
+            subsets.clear();
+        }
+    }
+
+    CachedSubset get(Key key) {
+        synchronized (lock) {
+            return subsets.get(key);
+        }
+    }
+
+    /**
+     * Compresses the font file bytes according to the compression level of the document and caches them
+     * together with the widths.
+     *
+     * @param key              the subset key
+     * @param fontFileBytes    the font file bytes, which aren't compressed
+     * @param widths           the bytes of the widths array, may be {@code null} if the widths aren't cached
+     *
+     * @return the cached subset
+     */
+    CachedSubset put(Key key, byte[] fontFileBytes, byte[] widths) {
+        CachedSubset subset = new CachedSubset(fontFileBytes, key.compressionLevel, widths);
+        synchronized (lock) {
+            subsets.put(key, subset);
+            if (subsets.size() > maxSize) {
+                Iterator<Key> iterator = subsets.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return subset;
+    }
+
+    /**
+     * Key of a cached subset. The font program is compared by identity.
+     */
+    static final class Key {
+        private final FontProgram fontProgram;
+        private final int[] glyphs;
+        private final boolean subset;
+        private final boolean cidFont;
+        private final int compressionLevel;
+        private final int hash;
+
+        Key(FontProgram fontProgram, Collection<Integer> sortedGlyphs, boolean subset, boolean cidFont,
+                int compressionLevel) {
+            this.fontProgram = fontProgram;
+            this.glyphs = new int[sortedGlyphs.size()];
+            int i = 0;
+            for (int glyph : sortedGlyphs) {
+                glyphs[i++] = glyph;
+            }
+            this.subset = subset;
+            this.cidFont = cidFont;
+            this.compressionLevel = compressionLevel;
+            int h = fontProgram.hashCode();
+            h = 31 * h + Arrays.hashCode(glyphs);
+            h = 31 * h + (subset ? 1 : 0);
+            h = 31 * h + (cidFont ? 1 : 0);
+            this.hash = 31 * h + compressionLevel;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fontProgram == other.fontProgram && subset == other.subset && cidFont == other.cidFont
+                    && compressionLevel == other.compressionLevel && Arrays.equals(glyphs, other.glyphs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Font file bytes, compressed unless compression is disabled, and widths of a cached subset.
+     */
+    static final class CachedSubset {
+        private final byte[] fontFileBytes;
+        private final int length;
+        private final boolean compressed;
+        private final byte[] widths;
+
+        CachedSubset(byte[] fontFileBytes, int compressionLevel, byte[] widths) {
+            this.length = fontFileBytes.length;
+            this.compressed = compressionLevel != CompressionConstants.NO_COMPRESSION;
+            this.fontFileBytes = compressed ? compress(fontFileBytes, compressionLevel) : fontFileBytes;
+            this.widths = widths;
+        }
+
+        /**
+         * Gets the length of the font file, which isn't compressed.
+         *
+         * @return the length of the font file
+         */
+        int getLength() {
+            return length;
+        }
+
+        byte[] getFontFileBytes() {
+            return fontFileBytes;
+        }
+
+        byte[] getWidths() {
+            return widths;
+        }
+
+        /**
+         * Marks the font file stream created from the cached bytes as compressed, so that it is written as is.
+         *
+         * @param fontStream the font file stream
+         */
+        void setFilter(PdfStream fontStream) {
+            if (compressed) {
+                fontStream.put(PdfName.Filter, PdfName.FlateDecode);
+            }
+        }
+
+        private static byte[] compress(byte[] bytes, int compressionLevel) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            try {
+                DeflaterOutputStream zip = new DeflaterOutputStream(stream, compressionLevel);
+                zip.write(bytes);
+                zip.finish();
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e);
+            }
+            return stream.toByteArray();
+        }
+    }
+}
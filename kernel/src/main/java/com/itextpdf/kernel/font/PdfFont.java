@@ -30,6 +30,7 @@ import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
@@ -37,8 +38,10 @@ import com.itextpdf.kernel.pdf.PdfObjectWrapper;
 import com.itextpdf.kernel.pdf.PdfOutputStream;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -527,6 +530,41 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         return fontStream;
     }
 
+    /**
+     * Gets the cache of font subsets of the document this font is written to.
+     *
+     * @return the cache of font subsets, or {@code null} if the document doesn't cache font subsets
+     */
+    FontSubsetCache getFontSubsetCache() {
+        PdfWriter writer = getWriter();
+        return writer == null ? null : writer.getFontSubsetCache();
+    }
+
+    /**
+     * Creates the key of the font file subset with the specified glyphs in the font subset cache.
+     *
+     * @param sortedGlyphs the glyphs of the subset in ascending order
+     * @param cidFont      true, if the subset is written for a CID font and so its key shall not match
+     *                     the key of a simple font subset, as the cached widths differ
+     *
+     * @return the key of the subset
+     */
+    FontSubsetCache.Key createFontSubsetKey(Collection<Integer> sortedGlyphs, boolean cidFont) {
+        return new FontSubsetCache.Key(fontProgram, sortedGlyphs, subset, cidFont, getWriter().getCompressionLevel());
+    }
+
+    /**
+     * Creates the font file stream from the cached subset. The stream is marked as compressed
+     * right before it is flushed, see {@link FontSubsetCache.CachedSubset#setFilter(PdfStream)}.
+     *
+     * @param cachedSubset the cached subset
+     *
+     * @return the font file stream
+     */
+    PdfStream getPdfFontStream(FontSubsetCache.CachedSubset cachedSubset) {
+        return getPdfFontStream(cachedSubset.getFontFileBytes(), new int[]{cachedSubset.getLength()});
+    }
+
     /**
      * Helper method for making an object indirect, if the object already is indirect.
      * Useful for FontDescriptor and FontFile to make possible immediate flushing.
@@ -546,6 +584,12 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    private PdfWriter getWriter() {
+        PdfIndirectReference reference = getPdfObject().getIndirectReference();
+        PdfDocument document = reference == null ? null : reference.getDocument();
+        return document == null ? null : document.getWriter();
+    }
+
     @Override
     public String toString() {
         return "PdfFont{" +
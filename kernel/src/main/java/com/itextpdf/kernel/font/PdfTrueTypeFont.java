@@ -36,6 +36,7 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfStream;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import org.slf4j.Logger;
@@ -46,6 +47,10 @@ import org.slf4j.LoggerFactory;
  */
 public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
 
+    /**
+     * The font file reused from the font subset cache or added to it while the font is flushed.
+     */
+    private FontSubsetCache.CachedSubset cachedSubset;
 
     PdfTrueTypeFont(TrueTypeFont ttf, String encoding, boolean embedded) {
         super();
@@ -158,8 +163,20 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
             } else if (((TrueTypeFont) getFontProgram()).isCff()) {
                 fontFileName = PdfName.FontFile3;
                 try {
-                    byte[] fontStreamBytes = ((TrueTypeFont) getFontProgram()).getFontStreamBytes();
-                    fontStream = getPdfFontStream(fontStreamBytes, new int[]{fontStreamBytes.length});
+                    FontSubsetCache subsetCache = getFontSubsetCache();
+                    if (subsetCache == null) {
+                        byte[] fontStreamBytes = ((TrueTypeFont) getFontProgram()).getFontStreamBytes();
+                        fontStream = getPdfFontStream(fontStreamBytes, new int[]{fontStreamBytes.length});
+                    } else {
+                        // the whole font program is embedded, so the subset is identified by the program only
+                        FontSubsetCache.Key subsetKey = createFontSubsetKey(Collections.<Integer>emptyList(), false);
+                        cachedSubset = subsetCache.get(subsetKey);
+                        if (cachedSubset == null) {
+                            cachedSubset = subsetCache.put(subsetKey,
+                                    ((TrueTypeFont) getFontProgram()).getFontStreamBytes(), null);
+                        }
+                        fontStream = getPdfFontStream(cachedSubset);
+                    }
                     fontStream.put(PdfName.Subtype, new PdfName("Type1C"));
                 } catch (PdfException e) {
                     Logger logger = LoggerFactory.getLogger(PdfTrueTypeFont.class);
@@ -180,14 +197,22 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
                 }
                 ((TrueTypeFont) getFontProgram()).updateUsedGlyphs(glyphs, subset, subsetRanges);
                 try {
-                    byte[] fontStreamBytes;
-                    //getDirectoryOffset() > 0 means ttc, which shall be subset anyway.
-                    if (subset || ((TrueTypeFont) getFontProgram()).getDirectoryOffset() > 0) {
-                        fontStreamBytes = ((TrueTypeFont) getFontProgram()).getSubset(glyphs, subset);
+                    FontSubsetCache subsetCache = getFontSubsetCache();
+                    if (subsetCache == null) {
+                        byte[] fontStreamBytes = getTrueTypeFontFileBytes(glyphs);
+                        fontStream = getPdfFontStream(fontStreamBytes, new int[]{fontStreamBytes.length});
                     } else {
-                        fontStreamBytes = ((TrueTypeFont) getFontProgram()).getFontStreamBytes();
+                        // the whole font program is embedded unless it is subset or taken from a collection
+                        boolean wholeProgram = !subset
+                                && ((TrueTypeFont) getFontProgram()).getDirectoryOffset() == 0;
+                        FontSubsetCache.Key subsetKey = createFontSubsetKey(
+                                wholeProgram ? Collections.<Integer>emptyList() : glyphs, false);
+                        cachedSubset = subsetCache.get(subsetKey);
+                        if (cachedSubset == null) {
+                            cachedSubset = subsetCache.put(subsetKey, getTrueTypeFontFileBytes(glyphs), null);
+                        }
+                        fontStream = getPdfFontStream(cachedSubset);
                     }
-                    fontStream = getPdfFontStream(fontStreamBytes, new int[]{fontStreamBytes.length});
                 } catch (PdfException e) {
                     Logger logger = LoggerFactory.getLogger(PdfTrueTypeFont.class);
                     logger.error(e.getMessage());
@@ -196,6 +221,9 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
             }
             if (fontStream != null) {
                 fontDescriptor.put(fontFileName, fontStream);
+                if (cachedSubset != null) {
+                    cachedSubset.setFilter(fontStream);
+                }
                 if (fontStream.getIndirectReference() != null) {
                     fontStream.flush();
                 }
@@ -203,6 +231,15 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
         }
     }
 
+    private byte[] getTrueTypeFontFileBytes(SortedSet<Integer> glyphs) {
+        //getDirectoryOffset() > 0 means ttc, which shall be subset anyway.
+        if (subset || ((TrueTypeFont) getFontProgram()).getDirectoryOffset() > 0) {
+            return ((TrueTypeFont) getFontProgram()).getSubset(glyphs, subset);
+        } else {
+            return ((TrueTypeFont) getFontProgram()).getFontStreamBytes();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -59,6 +59,7 @@ import com.itextpdf.kernel.pdf.PdfVersion;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
@@ -94,6 +95,11 @@ public class PdfType0Font extends PdfFont {
     protected int cidFontType;
     protected char[] specificUnicodeDifferences;
 
+    /**
+     * The subset reused from the font subset cache or added to it while the font is flushed.
+     */
+    private FontSubsetCache.CachedSubset cachedSubset;
+
     private final CMapToUnicode embeddedToUnicode;
 
     PdfType0Font(TrueTypeFont ttf, String cmap) {
@@ -770,6 +776,34 @@ public class PdfType0Font extends PdfFont {
         return res;
     }
 
+    private byte[] getCffFontFileBytes(TrueTypeFont ttf) {
+        if (subset) {
+            byte[] bytes = ttf.getFontStreamBytes();
+            Set<Integer> usedGids = ttf.mapGlyphsCidsToGids(usedGlyphs);
+            return new CFFFontSubset(bytes, usedGids).Process();
+        } else {
+            return ttf.getFontStreamBytes();
+        }
+    }
+
+    private byte[] getTrueTypeFontFileBytes(TrueTypeFont ttf) {
+        byte[] ttfBytes = null;
+        //getDirectoryOffset() > 0 means ttc, which shall be subsetted anyway.
+        if (subset || ttf.getDirectoryOffset() > 0) {
+            try {
+                ttfBytes = ttf.getSubset(usedGlyphs, subset);
+            } catch (com.itextpdf.io.exceptions.IOException e) {
+                Logger logger = LoggerFactory.getLogger(PdfType0Font.class);
+                logger.warn(IoLogMessageConstant.FONT_SUBSET_ISSUE);
+                ttfBytes = null;
+            }
+        }
+        if (ttfBytes == null) {
+            ttfBytes = ttf.getFontStreamBytes();
+        }
+        return ttfBytes;
+    }
+
     private void flushFontData() {
         if (cidFontType == CID_FONT_TYPE_0) {
             getPdfObject().put(PdfName.Type, PdfName.Font);
@@ -794,37 +828,30 @@ public class PdfType0Font extends PdfFont {
 
             PdfStream fontStream;
             ttf.updateUsedGlyphs((SortedSet<Integer>) usedGlyphs, subset, subsetRanges);
-            if (ttf.isCff()) {
-                byte[] cffBytes;
-                if (subset) {
-                    byte[] bytes = ttf.getFontStreamBytes();
-                    Set<Integer> usedGids = ttf.mapGlyphsCidsToGids(usedGlyphs);
-                    cffBytes = new CFFFontSubset(bytes, usedGids).Process();
-                } else {
-                    cffBytes = ttf.getFontStreamBytes();
+            FontSubsetCache subsetCache = getFontSubsetCache();
+            if (subsetCache == null) {
+                byte[] fontFileBytes = ttf.isCff() ? getCffFontFileBytes(ttf) : getTrueTypeFontFileBytes(ttf);
+                fontStream = getPdfFontStream(fontFileBytes, new int[]{fontFileBytes.length});
+            } else {
+                // the whole font program doesn't depend on the used glyphs, but the widths do, so they aren't cached
+                boolean wholeProgram = !subset && (ttf.isCff() || ttf.getDirectoryOffset() == 0);
+                FontSubsetCache.Key subsetKey = createFontSubsetKey(
+                        wholeProgram ? Collections.<Integer>emptyList() : usedGlyphs, true);
+                cachedSubset = subsetCache.get(subsetKey);
+                if (cachedSubset == null) {
+                    byte[] fontFileBytes = ttf.isCff() ? getCffFontFileBytes(ttf) : getTrueTypeFontFileBytes(ttf);
+                    cachedSubset = subsetCache.put(subsetKey, fontFileBytes,
+                            wholeProgram ? null : generateWidthsBytes());
                 }
-                fontStream = getPdfFontStream(cffBytes, new int[]{cffBytes.length});
+                fontStream = getPdfFontStream(cachedSubset);
+            }
+            if (ttf.isCff()) {
                 fontStream.put(PdfName.Subtype, new PdfName("CIDFontType0C"));
                 // The PDF Reference manual advises to add -cmap in case CIDFontType0
                 getPdfObject().put(PdfName.BaseFont,
                         new PdfName(MessageFormatUtil.format("{0}-{1}", fontName, cmapEncoding.getCmapName())));
                 fontDescriptor.put(PdfName.FontFile3, fontStream);
             } else {
-                byte[] ttfBytes = null;
-                //getDirectoryOffset() > 0 means ttc, which shall be subsetted anyway.
-                if (subset || ttf.getDirectoryOffset() > 0) {
-                    try {
-                        ttfBytes = ttf.getSubset(usedGlyphs, subset);
-                    } catch (com.itextpdf.io.exceptions.IOException e) {
-                        Logger logger = LoggerFactory.getLogger(PdfType0Font.class);
-                        logger.warn(IoLogMessageConstant.FONT_SUBSET_ISSUE);
-                        ttfBytes = null;
-                    }
-                }
-                if (ttfBytes == null) {
-                    ttfBytes = ttf.getFontStreamBytes();
-                }
-                fontStream = getPdfFontStream(ttfBytes, new int[]{ttfBytes.length});
                 getPdfObject().put(PdfName.BaseFont, new PdfName(fontName));
                 fontDescriptor.put(PdfName.FontFile2, fontStream);
             }
@@ -863,6 +890,9 @@ public class PdfType0Font extends PdfFont {
             }
             fontDescriptor.flush();
             cidFont.flush();
+            if (cachedSubset != null) {
+                cachedSubset.setFilter(fontStream);
+            }
             fontStream.flush();
         } else {
             throw new IllegalStateException("Unsupported CID Font");
@@ -898,9 +928,10 @@ public class PdfType0Font extends PdfFont {
         cidFont.put(PdfName.CIDSystemInfo, cidInfo);
         if (!vertical) {
             cidFont.put(PdfName.DW, new PdfNumber(FontProgram.DEFAULT_WIDTH));
-            PdfObject widthsArray = generateWidthsArray();
-            if (widthsArray != null) {
-                cidFont.put(PdfName.W, widthsArray);
+            byte[] widths = cachedSubset != null && cachedSubset.getWidths() != null
+                    ? cachedSubset.getWidths() : generateWidthsBytes();
+            if (widths != null) {
+                cidFont.put(PdfName.W, new PdfLiteral(widths));
             }
         } else {
             // TODO DEVSIX-31
@@ -910,7 +941,7 @@ public class PdfType0Font extends PdfFont {
         return cidFont;
     }
 
-    private PdfObject generateWidthsArray() {
+    private byte[] generateWidthsBytes() {
         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         OutputStream<ByteArrayOutputStream> stream = new OutputStream<>(bytes);
         stream.writeByte('[');
@@ -936,7 +967,7 @@ public class PdfType0Font extends PdfFont {
         }
         if (stream.getCurrentPos() > 1) {
             stream.writeString("]]");
-            return new PdfLiteral(bytes.toByteArray());
+            return bytes.toByteArray();
         }
         return null;
     }
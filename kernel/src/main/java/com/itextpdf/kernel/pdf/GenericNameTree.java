@@ -162,11 +162,29 @@ public class GenericNameTree implements IPdfNameTreeAccess {
      * @param onErrorAction action to perform if such entry exists
      */
     protected void addEntry(PdfString key, PdfObject value, Consumer<PdfDocument> onErrorAction) {
-        final PdfObject existingVal = items.get(key);
+        if (!acceptEntry(key, value, items.get(key), onErrorAction)) {
+            return;
+        }
+        modified = true;
+        items.put(key, value);
+    }
+
+    /**
+     * Checks an entry which is about to be added against the value already stored under its key.
+     * Replacing a different value is reported and triggers the error action.
+     *
+     * @param key           key of the entry
+     * @param value         object to add
+     * @param existingVal   object stored under the key, or {@code null}
+     * @param onErrorAction action to perform if such entry exists
+     * @return {@code false} if the same object is already stored, so that there is nothing to add
+     */
+    final boolean acceptEntry(PdfString key, PdfObject value, PdfObject existingVal,
+            Consumer<PdfDocument> onErrorAction) {
         if (existingVal != null) {
             final PdfIndirectReference valueRef = value.getIndirectReference();
             if (valueRef != null && valueRef.equals(existingVal.getIndirectReference())) {
-                return;
+                return false;
             } else {
                 LOGGER.warn(MessageFormatUtil.format(IoLogMessageConstant.NAME_ALREADY_EXISTS_IN_THE_NAME_TREE, key));
                 if (onErrorAction != null) {
@@ -174,8 +192,7 @@ public class GenericNameTree implements IPdfNameTreeAccess {
                 }
             }
         }
-        modified = true;
-        items.put(key, value);
+        return true;
     }
 
     protected final void setItems(LinkedHashMap<PdfString, PdfObject> items) {
@@ -689,9 +689,8 @@ public class PdfCatalog extends PdfObjectWrapper<PdfDictionary> {
             }
         } else if (dest.isString() || dest.isName()) {
             PdfNameTree destsTree = getNameTree(PdfName.Dests);
-            Map<PdfString, PdfObject> dests = destsTree.getNames();
             PdfString srcDestName = dest.isString() ? (PdfString) dest : new PdfString(((PdfName) dest).getValue());
-            PdfArray srcDestArray = (PdfArray) dests.get(srcDestName);
+            PdfArray srcDestArray = (PdfArray) destsTree.getEntry(srcDestName);
             if (srcDestArray != null) {
                 PdfObject pageObject = srcDestArray.get(0);
                 if (pageObject instanceof PdfNumber)
@@ -734,7 +733,7 @@ public class PdfCatalog extends PdfObjectWrapper<PdfDictionary> {
     private boolean isEqualSameNameDestExist(Map<PdfPage, PdfPage> page2page, PdfDocument toDocument,
             PdfString srcDestName, PdfArray srcDestArray, PdfPage oldPage) {
         PdfArray sameNameDest = (PdfArray) toDocument.getCatalog().getNameTree(PdfName.Dests).
-                getNames().get(srcDestName);
+                getEntry(srcDestName);
         boolean equalSameNameDestExists = false;
         if (sameNameDest != null && sameNameDest.getAsDictionary(0) != null) {
             PdfIndirectReference existingDestPageRef = sameNameDest.getAsDictionary(0).getIndirectReference();
@@ -940,7 +940,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getCreatedReference(i);
                         if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(
                                 PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -1421,6 +1421,23 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         }
     }
 
+    /**
+     * Remove all objects copied from the source document from copied cache, without flushing them.
+     * <p>
+     * The cache maps the objects of the source document to their copies, so it keeps the copies and the
+     * source document objects in memory for as long as the current document is open. Releasing it
+     * is meant to be used when copying from the source document is finished, e.g. when the source
+     * document is closed. Note, if you will copy objects from the same document afterwards,
+     * duplicated objects will be created.
+     *
+     * @param sourceDoc source document
+     */
+    public void releaseCopiedObjects(PdfDocument sourceDoc) {
+        if (getWriter() != null) {
+            getWriter().releaseCopiedObjects(sourceDoc.getDocumentId());
+        }
+    }
+
     /**
      * Checks, whether {@link #close()} method will close associated PdfReader.
      *
@@ -2165,10 +2182,17 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                 // Due to constructor reader and writer not null.
                 assert reader != null;
                 RandomAccessFileOrArray file = reader.tokens.getSafeFile();
-                int n;
-                byte[] buffer = new byte[8192];
-                while ((n = file.read(buffer)) > 0) {
-                    writer.write(buffer, 0, n);
+                if (properties.incrementalUpdateOnly) {
+                    // the original document is appended to by the caller, only its length is taken into account.
+                    // The file starts at the PDF header, so the offsets are counted from the header, as the
+                    // offsets of the original document are, even if there are some bytes before it
+                    writer.setInitialPosition(file.length());
+                } else {
+                    int n;
+                    byte[] buffer = new byte[8192];
+                    while ((n = file.read(buffer)) > 0) {
+                        writer.write(buffer, 0, n);
+                    }
                 }
                 file.close();
                 writer.write((byte) '\n');
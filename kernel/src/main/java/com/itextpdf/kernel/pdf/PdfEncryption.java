@@ -388,7 +388,8 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
     }
 
     public byte[] encryptByteArray(byte[] b) {
-        ByteArrayOutputStream ba = new ByteArrayOutputStream();
+        // the encrypted data is at most two blocks longer, one for the initialization vector and one for padding
+        ByteArrayOutputStream ba = new ByteArrayOutputStream(b.length + 32);
         OutputStreamEncryption ose = getEncryptionStream(ba);
         try {
             ose.write(b);
@@ -400,19 +401,20 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
     }
 
     public byte[] decryptByteArray(byte[] b) {
-        try {
-            ByteArrayOutputStream ba = new ByteArrayOutputStream();
-            IDecryptor dec = securityHandler.getDecryptor();
-            byte[] b2 = dec.update(b, 0, b.length);
-            if (b2 != null)
-                ba.write(b2);
-            b2 = dec.finish();
-            if (b2 != null)
-                ba.write(b2);
-            return ba.toByteArray();
-        } catch (IOException e) {
-            throw new PdfException(KernelExceptionMessageConstant.PDF_ENCRYPTION, e);
+        IDecryptor dec = securityHandler.getDecryptor();
+        byte[] updated = dec.update(b, 0, b.length);
+        byte[] finished = dec.finish();
+        // the decryptors return most of the data at once, so it's usually enough to take one of the parts
+        if (finished == null || finished.length == 0) {
+            return updated != null ? updated : new byte[0];
+        }
+        if (updated == null || updated.length == 0) {
+            return finished;
         }
+        byte[] result = new byte[updated.length + finished.length];
+        System.arraycopy(updated, 0, result, 0, updated.length);
+        System.arraycopy(finished, 0, result, updated.length, finished.length);
+        return result;
     }
 
     public boolean isOpenedWithFullPermission() {
@@ -28,6 +28,7 @@ import com.itextpdf.io.util.PdfNameUtil;
 import com.itextpdf.kernel.utils.ICopyFilter;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Map;
 
 public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
@@ -939,6 +940,11 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
      */
     public static Map<String, PdfName> staticNames;
 
+    /**
+     * all known static names keyed by their byte content
+     */
+    static final PdfNameInternTable staticNamesTable;
+
     /**
      * Use reflection to cache all the public static final names so
      * future <code>PdfName</code> additions don't have to be "added twice".
@@ -947,12 +953,20 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
      */
     static {
         staticNames = PdfNameLoader.loadNames();
+        staticNamesTable = new PdfNameInternTable(staticNames == null
+                ? Collections.<PdfName>emptyList() : staticNames.values());
     }
 
     private static PdfName createDirectName(String name) {
         return new PdfName(name, true);
     }
 
+    static PdfName createDirectName(byte[] content) {
+        PdfName name = new PdfName(content);
+        name.directOnly = true;
+        return name;
+    }
+
     /**
      * Create a PdfName from the passed string
      *
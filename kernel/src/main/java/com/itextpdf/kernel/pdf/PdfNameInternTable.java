@@ -0,0 +1,162 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.util.Collection;
+
+/**
+ * Open addressing table of {@link PdfName} instances keyed by their byte content, which allows to
+ * resolve a name directly from a token buffer without creating intermediate strings or arrays.
+ */
+final class PdfNameInternTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int maxSize;
+
+    private PdfName[] names;
+    private int[] hashes;
+    private int size;
+
+    /**
+     * Creates an empty table which accepts at most {@code maxSize} names.
+     *
+     * @param maxSize the maximum number of names held by the table
+     */
+    PdfNameInternTable(int maxSize) {
+        this.maxSize = maxSize;
+        this.names = new PdfName[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates a table filled with the passed names.
+     *
+     * @param names the names to put into the table
+     */
+    PdfNameInternTable(Collection<PdfName> names) {
+        this(names.size());
+        for (PdfName name : names) {
+            byte[] content = name.getInternalContent();
+            put(name, hash(content, 0, content.length));
+        }
+    }
+
+    /**
+     * Looks up a name which content equals the given bytes.
+     *
+     * @param bytes  the buffer holding the name content
+     * @param offset the start of the name content in the buffer
+     * @param length the length of the name content
+     *
+     * @return the found name, or {@code null} if the table has no such name
+     */
+    PdfName get(byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        int mask = names.length - 1;
+        for (int i = hash & mask; names[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && contentEquals(names[i].getInternalContent(), bytes, offset, length)) {
+                return names[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a name which content equals the given bytes, and creates and stores a new direct only
+     * name if there is none and the table is not full yet.
+     *
+     * @param bytes  the buffer holding the name content
+     * @param offset the start of the name content in the buffer
+     * @param length the length of the name content
+     *
+     * @return the found or created name, or {@code null} if there is no such name and the table is full
+     */
+    PdfName intern(byte[] bytes, int offset, int length) {
+        PdfName name = get(bytes, offset, length);
+        if (name == null && size < maxSize) {
+            byte[] content = new byte[length];
+            System.arraycopy(bytes, offset, content, 0, length);
+            name = PdfName.createDirectName(content);
+            put(name, hash(bytes, offset, length));
+        }
+        return name;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void put(PdfName name, int hash) {
+        if ((size + 1) * 2 > names.length) {
+            grow();
+        }
+        int mask = names.length - 1;
+        int i = hash & mask;
+        while (names[i] != null) {
+            i = (i + 1) & mask;
+        }
+        names[i] = name;
+        hashes[i] = hash;
+        ++size;
+    }
+
+    private void grow() {
+        PdfName[] oldNames = names;
+        int[] oldHashes = hashes;
+        names = new PdfName[oldNames.length * 2];
+        hashes = new int[oldNames.length * 2];
+        int mask = names.length - 1;
+        for (int k = 0; k < oldNames.length; k++) {
+            if (oldNames[k] != null) {
+                int i = oldHashes[k] & mask;
+                while (names[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                names[i] = oldNames[k];
+                hashes[i] = oldHashes[k];
+            }
+        }
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // spread higher bits, since only the lower ones are used as an index
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(byte[] content, byte[] bytes, int offset, int length) {
+        if (content.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (content[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
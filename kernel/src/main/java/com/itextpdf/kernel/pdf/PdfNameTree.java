@@ -24,17 +24,27 @@ package com.itextpdf.kernel.pdf;
 
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class PdfNameTree extends GenericNameTree {
 
     private final PdfCatalog catalog;
     private final PdfName treeType;
+    private final PdfTreeLookup lookup = PdfTreeLookup.forNameTree();
+    private boolean itemsRead;
 
     /**
      * Creates the NameTree of current Document
      *
+     * <p>
+     * The entries are not read until they are needed: single entries are looked up by navigating the
+     * tree with its /Limits, and in append mode entries are added to and removed from the existing leaves,
+     * so that only the modified leaves are written. The whole tree is read only when all of its entries
+     * are requested, or when it can't be modified in place.
+     *
      * @param catalog  Document catalog
      * @param treeType the type of tree. Dests Tree, AP Tree etc.
      */
@@ -42,7 +52,6 @@ public class PdfNameTree extends GenericNameTree {
         super(catalog.getDocument());
         this.treeType = treeType;
         this.catalog = catalog;
-        this.setItems(readFromCatalog());
     }
 
     /**
@@ -54,13 +63,99 @@ public class PdfNameTree extends GenericNameTree {
      * @return Map containing the PdfObjects stored in the tree
      */
     public Map<PdfString, PdfObject> getNames() {
+        readItems();
         return this.getItems();
     }
 
-    private LinkedHashMap<PdfString, PdfObject> readFromCatalog() {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PdfObject getEntry(PdfString key) {
+        if (!itemsRead) {
+            PdfArray destination = getDestArrayFromCatalog(key);
+            if (destination != null) {
+                return destination;
+            }
+            PdfDictionary treeRoot = getTreeRoot();
+            if (treeRoot == null) {
+                return null;
+            }
+            List<PdfDictionary> path = lookup.findLeafPath(treeRoot, key);
+            PdfObject value = path == null ? null : getValueFromLeaf(path, key);
+            if (value != null) {
+                return value;
+            }
+            // the key might be missed if the tree is not sorted properly, so look for it in all the entries
+            readItems();
+        }
+        return super.getEntry(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<PdfString> getKeys() {
+        readItems();
+        return super.getKeys();
+    }
+
+    /**
+     * Remove an entry from the name tree.
+     *
+     * @param key   key of the entry
+     */
+    @Override
+    public void removeEntry(PdfString key) {
+        if (!itemsRead && canModifyInPlace() && removeFromLeaf(key)) {
+            return;
+        }
+        readItems();
+        super.removeEntry(key);
+    }
+
+    /**
+     * Build a {@link PdfDictionary} containing the name tree.
+     *
+     * @return {@link PdfDictionary} containing the name tree
+     */
+    @Override
+    public PdfDictionary buildTree() {
+        readItems();
+        return super.buildTree();
+    }
+
+    /**
+     * Add an entry to the name tree.
+     *
+     * @param key   key of the entry
+     * @param value object to add
+     * @param onErrorAction action to perform if such entry exists
+     */
+    @Override
+    protected void addEntry(PdfString key, PdfObject value, Consumer<PdfDocument> onErrorAction) {
+        if (!itemsRead && canModifyInPlace() && addToLeaf(key, value, onErrorAction)) {
+            return;
+        }
+        readItems();
+        super.addEntry(key, value, onErrorAction);
+    }
+
+    private void readItems() {
+        if (!itemsRead) {
+            this.setItems(readFromCatalog());
+            itemsRead = true;
+        }
+    }
+
+    private PdfDictionary getTreeRoot() {
         PdfDictionary namesDict = catalog.getPdfObject().getAsDictionary(PdfName.Names);
+        return namesDict == null ? null : namesDict.getAsDictionary(treeType);
+    }
 
-        PdfDictionary treeRoot = namesDict == null ? null : namesDict.getAsDictionary(treeType);
+    private LinkedHashMap<PdfString, PdfObject> readFromCatalog() {
+        PdfDictionary treeRoot = getTreeRoot();
 
         LinkedHashMap<PdfString, PdfObject> items;
         if (treeRoot == null) {
@@ -78,6 +173,117 @@ public class PdfNameTree extends GenericNameTree {
         return items;
     }
 
+    private PdfObject getValueFromLeaf(List<PdfDictionary> path, PdfString key) {
+        PdfArray leafArray = lookup.getLeafArray(path);
+        int index = leafArray == null ? -1 : lookup.indexOfKey(leafArray, key);
+        if (index < 0) {
+            return null;
+        }
+        PdfObject value = leafArray.get(index + 1);
+        return treeType.equals(PdfName.Dests) ? getDestArray(value) : value;
+    }
+
+    /**
+     * Checks whether the tree may be modified in place, i.e. the document is stamped in append mode and
+     * the tree already exists. The destinations of the catalog /Dests dictionary are merged into the
+     * Dests tree, so that tree is rebuilt as a whole if the dictionary is present.
+     */
+    private boolean canModifyInPlace() {
+        PdfDocument document = catalog.getDocument();
+        if (document.getWriter() == null || !document.properties.appendMode || getTreeRoot() == null) {
+            return false;
+        }
+        return !treeType.equals(PdfName.Dests) || catalog.getPdfObject().getAsDictionary(PdfName.Dests) == null;
+    }
+
+    private boolean addToLeaf(PdfString key, PdfObject value, Consumer<PdfDocument> onErrorAction) {
+        List<PdfDictionary> path = lookup.findLeafPath(getTreeRoot(), key);
+        PdfArray leafArray = path == null ? null : lookup.getLeafArray(path);
+        if (leafArray == null || leafArray.isEmpty() || path.get(path.size() - 1).getIndirectReference() == null) {
+            return false;
+        }
+        // the limits of the nodes on the path are widened to include the new key
+        for (PdfDictionary node : path) {
+            PdfArray limits = lookup.getLimits(node);
+            if (limits == null) {
+                if (node.containsKey(PdfName.Limits)) {
+                    return false;
+                }
+            } else if ((lookup.compare(key, limits.get(0)) < 0 || lookup.compare(key, limits.get(1)) > 0)
+                    && node.getIndirectReference() == null) {
+                return false;
+            }
+        }
+        int index = lookup.indexOfKey(leafArray, key);
+        PdfObject existingVal = null;
+        if (index >= 0) {
+            existingVal = leafArray.get(index + 1);
+            if (treeType.equals(PdfName.Dests)) {
+                existingVal = getDestArray(existingVal);
+            }
+        }
+        if (!acceptEntry(key, value, existingVal, onErrorAction)) {
+            return true;
+        }
+        if (index >= 0) {
+            leafArray.set(index + 1, value);
+        } else {
+            index = lookup.insertionIndex(leafArray, key);
+            leafArray.add(index, key);
+            leafArray.add(index + 1, value);
+        }
+        path.get(path.size() - 1).setModified();
+        for (PdfDictionary node : path) {
+            PdfArray limits = lookup.getLimits(node);
+            if (limits != null) {
+                if (lookup.compare(key, limits.get(0)) < 0) {
+                    limits.set(0, key);
+                    node.setModified();
+                } else if (lookup.compare(key, limits.get(1)) > 0) {
+                    limits.set(1, key);
+                    node.setModified();
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean removeFromLeaf(PdfString key) {
+        List<PdfDictionary> path = lookup.findLeafPath(getTreeRoot(), key);
+        if (path == null) {
+            return false;
+        }
+        PdfArray leafArray = lookup.getLeafArray(path);
+        if (leafArray == null || lookup.indexOfKey(leafArray, key) < 0) {
+            // there is nothing to remove
+            return true;
+        }
+        PdfDictionary leaf = path.get(path.size() - 1);
+        PdfArray limits = lookup.getLimits(leaf);
+        // removing a bound would require to narrow the limits of the leaf and its ancestors,
+        // so in that case as well as when the leaf gets empty the tree is rebuilt
+        if (leaf.getIndirectReference() == null || leaf.containsKey(PdfName.Limits) && (limits == null
+                || lookup.compare(key, limits.get(0)) == 0 || lookup.compare(key, limits.get(1)) == 0)) {
+            return false;
+        }
+        int removedPairs = 0;
+        for (int i = 0; i < leafArray.size(); i += 2) {
+            if (key.equals(leafArray.get(i))) {
+                removedPairs++;
+            }
+        }
+        if (removedPairs * 2 == leafArray.size()) {
+            return false;
+        }
+        int index;
+        while ((index = lookup.indexOfKey(leafArray, key)) >= 0) {
+            leafArray.remove(index + 1);
+            leafArray.remove(index);
+        }
+        leaf.setModified();
+        return true;
+    }
+
     private static void normalizeDestinations(Map<PdfString, PdfObject> items) {
         // normalise dest entries to arrays
 
@@ -110,6 +316,19 @@ public class PdfNameTree extends GenericNameTree {
         }
     }
 
+    private PdfArray getDestArrayFromCatalog(PdfString key) {
+        if (!treeType.equals(PdfName.Dests)) {
+            return null;
+        }
+        PdfDictionary destinations = catalog.getPdfObject().getAsDictionary(PdfName.Dests);
+        // the entries of the catalog /Dests dictionary override the ones of the tree,
+        // under the keys they get in insertDestsEntriesFromCatalog
+        if (destinations == null || !key.equals(new PdfString(key.getValue()))) {
+            return null;
+        }
+        return getDestArray(destinations.get(new PdfName(key.getValue())));
+    }
+
     private static PdfArray getDestArray(PdfObject obj) {
         if (obj == null) {
             return null;
@@ -24,6 +24,7 @@ package com.itextpdf.kernel.pdf;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -54,16 +55,7 @@ public class PdfNumTree {
             return items;
         }
 
-        PdfDictionary numbers = null;
-        if (treeType.equals(PdfName.PageLabels)) {
-            numbers = catalog.getPdfObject().getAsDictionary(PdfName.PageLabels);
-        } else if (treeType.equals(PdfName.ParentTree)) {
-            PdfDictionary structTreeRoot = catalog.getPdfObject().getAsDictionary(PdfName.StructTreeRoot);
-            if (structTreeRoot != null) {
-                numbers = structTreeRoot.getAsDictionary(PdfName.ParentTree);
-            }
-        }
-
+        PdfDictionary numbers = getTreeRoot();
         if (numbers != null) {
             readTree(numbers);
         }
@@ -71,7 +63,36 @@ public class PdfNumTree {
         return items;
     }
 
-    public void addEntry(int key, PdfObject value) { items.put(new Integer(key), value); }
+    /**
+     * Retrieves a single entry of the number tree.
+     *
+     * <p>
+     * Unless the entries have already been read by {@link #getNumbers()}, only the nodes on the way
+     * to the entry are read, which are found by the /Limits of the tree nodes.
+     *
+     * @param key the key of the entry
+     *
+     * @return the value of the entry, or {@code null} if the tree doesn't contain the key
+     */
+    public PdfObject getEntry(int key) {
+        if (items.size() == 0) {
+            PdfDictionary numbers = getTreeRoot();
+            if (numbers == null) {
+                return null;
+            }
+            PdfTreeLookup lookup = PdfTreeLookup.forNumberTree();
+            PdfNumber number = new PdfNumber(key);
+            List<PdfDictionary> path = lookup.findLeafPath(numbers, number);
+            if (path != null) {
+                PdfArray nums = lookup.getLeafArray(path);
+                int index = nums == null ? -1 : lookup.indexOfKey(nums, number);
+                return index < 0 ? null : nums.get(index + 1);
+            }
+        }
+        return getNumbers().get(key);
+    }
+
+    public void addEntry(int key, PdfObject value) { items.put(key, value); }
 
     public PdfDictionary buildTree() {
         Integer[] numbers = new Integer[items.size()];
@@ -137,6 +158,18 @@ public class PdfNumTree {
         }
     }
 
+    private PdfDictionary getTreeRoot() {
+        if (treeType.equals(PdfName.PageLabels)) {
+            return catalog.getPdfObject().getAsDictionary(PdfName.PageLabels);
+        } else if (treeType.equals(PdfName.ParentTree)) {
+            PdfDictionary structTreeRoot = catalog.getPdfObject().getAsDictionary(PdfName.StructTreeRoot);
+            if (structTreeRoot != null) {
+                return structTreeRoot.getAsDictionary(PdfName.ParentTree);
+            }
+        }
+        return null;
+    }
+
     private void readTree(PdfDictionary dictionary) {
         if (dictionary != null) {
             iterateItems(dictionary, null);
@@ -300,56 +300,15 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
             } else {
-                //When document is opened in stamping mode the output stream can be uninitialized.
-                //We have to initialize it and write all data from streams input to streams output.
-                if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
-                    // If new specific compression is set for stream,
-                    // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
-                    if (userDefinedCompression) {
-                        bytes = decodeFlateBytes(pdfStream, bytes);
+                ByteArrayOutputStream byteArrayStream = getEncodedStreamData(pdfStream);
+                if (byteArrayStream == null) {
+                    StreamEncoder encoder = createStreamEncoder(pdfStream, userDefinedCompression, toCompress,
+                            allowCompression);
+                    try {
+                        byteArrayStream = encoder.encode();
+                    } catch (IOException ioe) {
+                        throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
                     }
-                    pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
-                    pdfStream.getOutputStream().write(bytes);
-                }
-                assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
-                ByteArrayOutputStream byteArrayStream;
-                try {
-                    if (toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
-                            && (allowCompression || userDefinedCompression)) {
-                        // compress
-                        updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
-                    } else {
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            byteArrayStream = new ByteArrayOutputStream();
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
-                        }
-                    }
-                    if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
-                        OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
-                        byteArrayStream.writeTo(ose);
-                        ose.finish();
-                        byteArrayStream = encodedStream;
-                    }
-                } catch (IOException ioe) {
-                    throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
                 }
                 pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
                 pdfStream.updateLength((int) byteArrayStream.size());
@@ -364,6 +323,82 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Gets the data of the stream written from its output stream if it has already been compressed and encrypted,
+     * see {@link #prepareStreamEncoding(PdfStream)}.
+     *
+     * @param pdfStream the stream which is being written
+     *
+     * @return the encoded data of the stream, or {@code null} if the data shall be encoded now
+     */
+    ByteArrayOutputStream getEncodedStreamData(PdfStream pdfStream) {
+        return null;
+    }
+
+    /**
+     * Prepares the compression and encryption of the data of the stream, which is written from its output stream,
+     * in the same way as if the stream was written now. The stream dictionary is updated and the encryption key
+     * of the stream is taken, the data itself can be encoded later by {@link StreamEncoder#encode()} on any thread.
+     * The encryption key for the stream object shall be set before this method is called.
+     *
+     * @param pdfStream the stream to prepare
+     *
+     * @return the encoder of the stream data
+     */
+    StreamEncoder prepareStreamEncoding(PdfStream pdfStream) {
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        if (!userDefinedCompression) {
+            int defaultCompressionLevel = document != null ?
+                    document.getWriter().getCompressionLevel() :
+                    CompressionConstants.DEFAULT_COMPRESSION;
+            pdfStream.setCompressionLevel(defaultCompressionLevel);
+        }
+        boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        try {
+            return createStreamEncoder(pdfStream, userDefinedCompression, toCompress, allowCompression);
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
+        }
+    }
+
+    private StreamEncoder createStreamEncoder(PdfStream pdfStream, boolean userDefinedCompression, boolean toCompress,
+            boolean allowCompression) throws IOException {
+        //When document is opened in stamping mode the output stream can be uninitialized.
+        //We have to initialize it and write all data from streams input to streams output.
+        if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+            // If new specific compression is set for stream,
+            // then compressed stream should be decoded and written with new compression settings
+            byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+            if (userDefinedCompression) {
+                bytes = decodeFlateBytes(pdfStream, bytes);
+            }
+            pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
+            pdfStream.getOutputStream().write(bytes);
+        }
+        assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
+        int compressionLevel = -2;
+        if (toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
+                && (allowCompression || userDefinedCompression)) {
+            updateCompressionFilter(pdfStream);
+            compressionLevel = pdfStream.getCompressionLevel();
+        }
+        ByteArrayOutputStream encryptedStream = null;
+        OutputStreamEncryption ose = null;
+        if (checkEncryption(pdfStream)) {
+            encryptedStream = new ByteArrayOutputStream();
+            ose = crypto.getEncryptionStream(encryptedStream);
+        }
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            return new StreamEncoder((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream(),
+                    (ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream(), compressionLevel,
+                    ose, encryptedStream);
+        }
+        return new StreamEncoder(null, (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream(),
+                compressionLevel, ose, encryptedStream);
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || (crypto.isEmbeddedFilesOnly() && !document.doesStreamBelongToEmbeddedFile(pdfStream))) {
             return false;
@@ -567,4 +602,61 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
         return true;
     }
+
+    /**
+     * Compresses and encrypts the data of a stream, which is written from its output stream, as prepared by
+     * {@link PdfOutputStream#prepareStreamEncoding(PdfStream)}. The encoding doesn't access the document,
+     * so it can be done on any thread.
+     */
+    static final class StreamEncoder {
+        private final ByteArrayOutputStream indexData;
+        private final ByteArrayOutputStream data;
+        // -2 if the data isn't compressed
+        private final int compressionLevel;
+        private final OutputStreamEncryption encryption;
+        private final ByteArrayOutputStream encryptedData;
+
+        StreamEncoder(ByteArrayOutputStream indexData, ByteArrayOutputStream data, int compressionLevel,
+                OutputStreamEncryption encryption, ByteArrayOutputStream encryptedData) {
+            this.indexData = indexData;
+            this.data = data;
+            this.compressionLevel = compressionLevel;
+            this.encryption = encryption;
+            this.encryptedData = encryptedData;
+        }
+
+        /**
+         * Gets the length of the data to encode.
+         *
+         * @return the length of the data
+         */
+        long getSize() {
+            return data.size() + (indexData == null ? 0 : indexData.size());
+        }
+
+        ByteArrayOutputStream encode() throws IOException {
+            ByteArrayOutputStream byteArrayStream;
+            if (compressionLevel != -2) {
+                byteArrayStream = new ByteArrayOutputStream();
+                DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+                if (indexData != null) {
+                    indexData.writeTo(zip);
+                }
+                data.writeTo(zip);
+                zip.finish();
+            } else if (indexData != null) {
+                byteArrayStream = new ByteArrayOutputStream();
+                indexData.writeTo(byteArrayStream);
+                data.writeTo(byteArrayStream);
+            } else {
+                byteArrayStream = data;
+            }
+            if (encryption != null) {
+                byteArrayStream.writeTo(encryption);
+                encryption.finish();
+                byteArrayStream = encryptedData;
+            }
+            return byteArrayStream;
+        }
+    }
 }
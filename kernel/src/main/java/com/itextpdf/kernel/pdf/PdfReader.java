@@ -50,10 +50,20 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +83,10 @@ public class PdfReader implements Closeable {
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int MAX_INTERNED_NAMES = 4096;
+    private static final int MAX_DECODED_OBJECT_STREAMS = 16;
+    // the implementation limit for names in ISO 32000
+    private static final int MAX_INTERNED_NAME_LENGTH = 127;
 
     protected static boolean correctStreamLength = true;
 
@@ -80,6 +94,8 @@ public class PdfReader implements Closeable {
 
     private boolean memorySavingMode;
 
+    private int xrefRebuildParallelism = 1;
+
     private StrictnessLevel strictnessLevel = DEFAULT_STRICTNESS_LEVEL;
 
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
@@ -89,6 +105,15 @@ public class PdfReader implements Closeable {
 
     private XrefProcessor xrefProcessor = new XrefProcessor();
 
+    // non-standard names of the document, shared between the direct name objects read from it
+    private final PdfNameInternTable documentNames = new PdfNameInternTable(MAX_INTERNED_NAMES);
+
+    // most recently used first
+    private final LinkedList<DecodedObjectStream> decodedObjectStreams = new LinkedList<>();
+
+    // the object which is being read from an object stream, null if all the objects of the stream are read
+    private PdfIndirectReference requestedObjectStreamMember;
+
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
 
@@ -130,7 +155,9 @@ public class PdfReader implements Closeable {
      * @throws IOException on error
      */
     public PdfReader(InputStream is, ReaderProperties properties) throws IOException {
-        this(new RandomAccessSourceFactory().extractOrCreateSource(is), properties, true);
+        this(new RandomAccessSourceFactory()
+                        .extractOrCreateSource(is, getPropertiesOrDefault(properties).inMemoryThreshold),
+                properties, true);
     }
 
     /**
@@ -197,7 +224,7 @@ public class PdfReader implements Closeable {
     }
 
     PdfReader(IRandomAccessSource byteSource, ReaderProperties properties, boolean closeStream) throws IOException {
-        this.properties = properties;
+        this.properties = getPropertiesOrDefault(properties);
         this.tokens = getOffsetTokeniser(byteSource, closeStream);
     }
 
@@ -207,6 +234,7 @@ public class PdfReader implements Closeable {
      * @throws IOException on error.
      */
     public void close() throws IOException {
+        decodedObjectStreams.clear();
         tokens.close();
     }
 
@@ -238,6 +266,32 @@ public class PdfReader implements Closeable {
         return this;
     }
 
+    /**
+     * Sets the number of threads used to scan the file when its cross-reference table is broken and has to be rebuilt.
+     * <p>
+     * With a value greater than 1 the file is split into ranges of equal size which are scanned for object headers
+     * and trailers concurrently. The found objects are then registered in the order of the file, so that the last
+     * definition of an object wins, as with the sequential scan. The setting shall be changed before the reader is
+     * passed to a {@link PdfDocument}.
+     *
+     * @param xrefRebuildParallelism the number of threads, 1 (default) means sequential scanning
+     *
+     * @return this {@link PdfReader} instance
+     */
+    public PdfReader setXrefRebuildParallelism(int xrefRebuildParallelism) {
+        this.xrefRebuildParallelism = Math.max(1, xrefRebuildParallelism);
+        return this;
+    }
+
+    /**
+     * Gets the number of threads used to scan the file when its cross-reference table has to be rebuilt.
+     *
+     * @return the number of threads, 1 means sequential scanning
+     */
+    public int getXrefRebuildParallelism() {
+        return xrefRebuildParallelism;
+    }
+
     /**
      * Get the current {@link StrictnessLevel} of the reader.
      *
@@ -556,6 +610,26 @@ public class PdfReader implements Closeable {
         return tokens.getSafeFile();
     }
 
+    /**
+     * Creates a new reader of the same PDF document, with the same properties and settings as this reader.
+     * <p>
+     * The new reader reads the bytes of the document through its own view of the source, so that this reader
+     * and the new one can be used by {@link PdfDocument} instances in different threads. Closing the new reader
+     * doesn't close this reader, but closing this reader will have adverse effect on the new one.
+     *
+     * @return the new {@link PdfReader} instance
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public PdfReader createView() throws IOException {
+        PdfReader view = new PdfReader(tokens.getSafeFile().createSourceView(), properties);
+        view.unethicalReading = unethicalReading;
+        view.memorySavingMode = memorySavingMode;
+        view.xrefRebuildParallelism = xrefRebuildParallelism;
+        view.strictnessLevel = strictnessLevel;
+        return view;
+    }
+
     /**
      * Provides the size of the opened file.
      *
@@ -768,71 +842,44 @@ public class PdfReader implements Closeable {
         readDecryptObj();
     }
 
+    /**
+     * Reads the objects of the passed object stream. If the stream is read to get a single requested object,
+     * only that object is parsed, and the decoded content of the stream is cached for the following reads.
+     *
+     * @param objectStream the object stream to read
+     * @throws IOException if the stream cannot be read
+     */
     protected void readObjectStream(PdfStream objectStream) throws IOException {
-        if (objectStream == null) {
-            throw new PdfException(KernelExceptionMessageConstant.UNABLE_TO_READ_OBJECT_STREAM);
+        if (requestedObjectStreamMember != null) {
+            readObjectFromObjectStream(objectStream, requestedObjectStreamMember);
+            return;
         }
-
+        DecodedObjectStream decodedStream = getDecodedObjectStream(objectStream);
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
-        int first = objectStream.getAsNumber(PdfName.First).intValue();
-        int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
-        PdfTokenizer saveTokens = tokens;
-        try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
-            int[] address = new int[n];
-            int[] objNumber = new int[n];
-            boolean ok = true;
-            for (int k = 0; k < n; ++k) {
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                objNumber[k] = tokens.getIntValue();
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                address[k] = tokens.getIntValue() + first;
-            }
-            if (!ok)
-                throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
-            for (int k = 0; k < n; ++k) {
-                tokens.seek(address[k]);
-                tokens.nextToken();
-                PdfObject obj;
-                PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
-                if (reference.refersTo != null || reference.getObjStreamNumber() != objectStreamNumber) {
-                    // We skip reading of objects stream's element k if either it is already available in xref
-                    // or if corresponding indirect object reference points to a different object stream.
-                    // The first check prevents from re-initializing objects which are already read. One of the cases
-                    // when this can happen is that some other object from this objects stream was released and requested
-                    // to be re-read.
-                    // Second check ensures that object has no incremental updates and is not freed in append mode.
-
-                    continue;
-                }
-                if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
-                    // This ensure that we don't even try to read as indirect reference token (two numbers and "R")
-                    // which are forbidden in object streams.
-                    obj = new PdfNumber(tokens.getByteContent());
-                } else {
-                    tokens.seek(address[k]);
-                    obj = readObject(false, true);
-                }
-                reference.setRefersTo(obj);
-                obj.setIndirectReference(reference);
+        for (int k = 0; k < decodedStream.objNumbers.length; ++k) {
+            PdfIndirectReference reference = pdfDocument.getXref().get(decodedStream.objNumbers[k]);
+            if (reference.refersTo != null || reference.getObjStreamNumber() != objectStreamNumber) {
+                // We skip reading of objects stream's element k if either it is already available in xref
+                // or if corresponding indirect object reference points to a different object stream.
+                // The first check prevents from re-initializing objects which are already read. One of the cases
+                // when this can happen is that some other object from this objects stream was released and requested
+                // to be re-read.
+                // Second check ensures that object has no incremental updates and is not freed in append mode.
+
+                continue;
             }
-            objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
-        } finally {
-            tokens = saveTokens;
+            readObjectStreamElement(decodedStream, k, reference);
         }
+        objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+    }
+
+    /**
+     * Releases the decoded content of the object streams which is kept to read further objects from
+     * these streams without decoding them again. This might be useful to reduce memory consumption,
+     * the content is decoded again on demand.
+     */
+    public void releaseDecodedObjectStreams() {
+        decodedObjectStreams.clear();
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
@@ -955,7 +1002,12 @@ public class PdfReader implements Closeable {
 
     protected PdfName readPdfName(boolean readAsDirect) {
         if (readAsDirect) {
-            PdfName cachedName = PdfName.staticNames.get(tokens.getStringValue());
+            byte[] content = tokens.getInternalByteContent();
+            int length = tokens.getByteContentLength();
+            PdfName cachedName = PdfName.staticNamesTable.get(content, 0, length);
+            if (cachedName == null && length <= MAX_INTERNED_NAME_LENGTH) {
+                cachedName = documentNames.intern(content, 0, length);
+            }
             if (cachedName != null)
                 return cachedName;
         }
@@ -1111,37 +1163,39 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                if (xref.hasEntry(num)) {
+                    // the entry is already defined by a newer cross-reference section
+                    continue;
+                }
+                PdfIndirectReference reference = xref.getCreatedReference(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null;
 
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (refReadingState) {
+                if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
-                } else {
+                } else if (!refFirstEncountered) {
                     continue;
                 }
 
+                byte entryType = PdfXrefTable.IN_USE_ENTRY;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(
                                 KernelExceptionMessageConstant.FILE_POSITION_0_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    entryType = PdfXrefTable.FREE_ENTRY;
                 } else {
                     tokens.throwError(
                             KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    // the reference itself is created only when the object is requested
+                    xref.addEntry(pdfDocument, num, entryType, pos, gen);
                 }
             }
         }
@@ -1242,36 +1296,49 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
-                    PdfIndirectReference newReference;
+                    byte entryType;
+                    long offset;
+                    int number;
                     switch (type) {
                         case 0:
-                            newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
+                            entryType = PdfXrefTable.FREE_ENTRY;
+                            offset = field2;
+                            number = field3;
                             break;
                         case 1:
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                            entryType = PdfXrefTable.IN_USE_ENTRY;
+                            offset = field2;
+                            number = field3;
                             break;
                         case 2:
-                            newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                            newReference.setObjStreamNumber((int) field2);
+                            entryType = PdfXrefTable.COMPRESSED_ENTRY;
+                            offset = field3;
+                            number = (int) field2;
                             break;
                         default:
                             throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_STREAM);
                     }
+                    ++start;
 
-                    PdfIndirectReference reference = xref.get(base);
-                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
+                    if (xref.hasEntry(base)) {
+                        // the entry is already defined by a newer cross-reference section
+                        continue;
+                    }
+                    PdfIndirectReference reference = xref.getCreatedReference(base);
+                    int genNumber = entryType == PdfXrefTable.COMPRESSED_ENTRY ? 0 : number;
+                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNumber;
                     // for references that are added by xref table itself (like 0 entry)
                     boolean refFirstEncountered = reference == null
                             || !refReadingState && reference.getDocument() == null;
 
                     if (refFirstEncountered) {
-                        xref.add(newReference);
+                        // the reference itself is created only when the object is requested
+                        xref.addEntry(pdfDocument, base, entryType, offset, number);
                     } else if (refReadingState) {
-                        reference.setOffset(newReference.getOffset());
-                        reference.setObjStreamNumber(newReference.getObjStreamNumber());
+                        reference.setOffset(offset);
+                        reference.setObjStreamNumber(entryType == PdfXrefTable.COMPRESSED_ENTRY ? number : 0);
                         reference.clearState(PdfObject.READING);
                     }
-                    ++start;
                 }
             }
             processXref(xref);
@@ -1320,6 +1387,10 @@ public class PdfReader implements Closeable {
         xref.clear();
         tokens.seek(0);
         trailer = null;
+        if (xrefRebuildParallelism > 1) {
+            rebuildXrefConcurrently(xref);
+            return;
+        }
         ByteBuffer buffer = new ByteBuffer(24);
         try (PdfTokenizer lineTokenizer = new PdfTokenizer(
                 new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)))) {
@@ -1354,11 +1425,7 @@ public class PdfReader implements Closeable {
                     if (obj == null) {
                         continue;
                     }
-                    int num = obj[0];
-                    int gen = obj[1];
-                    if (xref.get(num) == null || xref.get(num).getGenNumber() <= gen) {
-                        xref.add(new PdfIndirectReference(pdfDocument, num, gen, pos));
-                    }
+                    addRebuiltReference(xref, obj[0], obj[1], pos);
                 }
             }
             // now that the document has been read fully the underlying trailer references won't be
@@ -1368,6 +1435,100 @@ public class PdfReader implements Closeable {
         }
     }
 
+    private void rebuildXrefConcurrently(PdfXrefTable xref) throws IOException {
+        long length = tokens.length();
+        long rangeSize = Math.max(1, (length + xrefRebuildParallelism - 1) / xrefRebuildParallelism);
+        List<XrefRebuildTask> tasks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(xrefRebuildParallelism);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (long start = 0; start < length; start += rangeSize) {
+                XrefRebuildTask task = new XrefRebuildTask(tokens.getSafeFile(), start,
+                        Math.min(start + rangeSize, length));
+                tasks.add(task);
+                results.add(executor.submit(task));
+            }
+            for (Future<Void> result : results) {
+                waitForXrefRebuildResult(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Trailers are checked here in the file order, as the sequential scan does. After a trailer the sequential
+        // scan continues in the middle of its line, right after the trailer dictionary or, if the trailer is invalid,
+        // right after the trailer keyword. Such line segments are scanned here the same way until a line start is
+        // reached again, and the results of the tasks before that position are skipped.
+        Long trailerIndex = null;
+        long scannedPosition = 0;
+        ByteBuffer buffer = new ByteBuffer(24);
+        try (PdfTokenizer lineTokenizer = new PdfTokenizer(
+                new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)))) {
+            for (XrefRebuildTask task : tasks) {
+                for (int i = 0; i < task.size; i++) {
+                    long pos = task.positions[i];
+                    if (pos < scannedPosition) {
+                        continue;
+                    }
+                    if (!task.trailers[i]) {
+                        addRebuiltReference(xref, task.objNumbers[i], task.genNumbers[i], pos);
+                        continue;
+                    }
+                    boolean trailerSegment = true;
+                    while (trailerSegment) {
+                        trailerSegment = false;
+                        tokens.seek(pos);
+                        tokens.nextToken();
+                        pos = tokens.getPosition();
+                        if (isCurrentObjectATrailer()) {
+                            trailerIndex = pos;
+                        } else {
+                            tokens.seek(pos);
+                        }
+                        pos = tokens.getPosition();
+                        buffer.reset();
+                        if (!tokens.readLineSegment(buffer, true)) {
+                            break;
+                        }
+                        if (buffer.get(0) == 't') {
+                            trailerSegment = PdfTokenizer.checkTrailer(buffer);
+                        } else if (buffer.get(0) >= '0' && buffer.get(0) <= '9') {
+                            int[] obj = PdfTokenizer.checkObjectStart(lineTokenizer);
+                            if (obj != null) {
+                                addRebuiltReference(xref, obj[0], obj[1], pos);
+                            }
+                        }
+                    }
+                    scannedPosition = tokens.getPosition();
+                }
+            }
+        }
+        setTrailerFromTrailerIndex(trailerIndex);
+    }
+
+    private void addRebuiltReference(PdfXrefTable xref, int num, int gen, long pos) {
+        if (xref.get(num) == null || xref.get(num).getGenNumber() <= gen) {
+            xref.add(new PdfIndirectReference(pdfDocument, num, gen, pos));
+        }
+    }
+
+    private static void waitForXrefRebuildResult(Future<Void> result) throws IOException {
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     private boolean isCurrentObjectATrailer() {
         try {
             final PdfDictionary dic = (PdfDictionary) readObject(false);
@@ -1471,7 +1632,13 @@ public class PdfReader implements Closeable {
                             , reference.getObjStreamNumber(), reference.getIndex()));
                 }
 
-                readObjectStream(objectStream);
+                PdfIndirectReference previousRequestedMember = requestedObjectStreamMember;
+                requestedObjectStreamMember = reference;
+                try {
+                    readObjectStream(objectStream);
+                } finally {
+                    requestedObjectStreamMember = previousRequestedMember;
+                }
                 return reference.refersTo;
             } else if (reference.getOffset() > 0) {
                 PdfObject object;
@@ -1567,6 +1734,117 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Reads the single object referred by the passed reference from the object stream, instead of reading
+     * all the objects of the stream.
+     */
+    private void readObjectFromObjectStream(PdfStream objectStream, PdfIndirectReference reference)
+            throws IOException {
+        int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
+        DecodedObjectStream decodedStream = getDecodedObjectStream(objectStream);
+
+        int[] objNumbers = decodedStream.objNumbers;
+        int index = reference.getIndex();
+        if (index < 0 || index >= objNumbers.length || objNumbers[index] != reference.getObjNumber()) {
+            // the index in xref is not reliable, e.g. if the xref was rebuilt
+            index = -1;
+            for (int k = 0; k < objNumbers.length; ++k) {
+                if (objNumbers[k] == reference.getObjNumber()) {
+                    index = k;
+                    break;
+                }
+            }
+        }
+        if (index != -1 && reference.getObjStreamNumber() == objectStreamNumber) {
+            readObjectStreamElement(decodedStream, index, reference);
+        }
+        objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+    }
+
+    /**
+     * Gets the decoded content of the object stream from the cache, decoding and caching it if needed.
+     * In memory saving mode only the most recently used stream is kept.
+     */
+    private DecodedObjectStream getDecodedObjectStream(PdfStream objectStream) throws IOException {
+        DecodedObjectStream decodedStream = null;
+        for (Iterator<DecodedObjectStream> it = decodedObjectStreams.iterator(); it.hasNext(); ) {
+            DecodedObjectStream cachedStream = it.next();
+            if (cachedStream.objectStream == objectStream) {
+                it.remove();
+                decodedStream = cachedStream;
+                break;
+            }
+        }
+        if (decodedStream == null) {
+            decodedStream = decodeObjectStream(objectStream);
+        }
+        decodedObjectStreams.addFirst(decodedStream);
+        int maxDecodedObjectStreams = memorySavingMode ? 1 : MAX_DECODED_OBJECT_STREAMS;
+        while (decodedObjectStreams.size() > maxDecodedObjectStreams) {
+            decodedObjectStreams.removeLast();
+        }
+        return decodedStream;
+    }
+
+    private DecodedObjectStream decodeObjectStream(PdfStream objectStream) throws IOException {
+        if (objectStream == null) {
+            throw new PdfException(KernelExceptionMessageConstant.UNABLE_TO_READ_OBJECT_STREAM);
+        }
+
+        int first = objectStream.getAsNumber(PdfName.First).intValue();
+        int n = objectStream.getAsNumber(PdfName.N).intValue();
+        byte[] bytes = readStreamBytes(objectStream, true);
+        PdfTokenizer streamTokens = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(bytes)));
+        int[] address = new int[n];
+        int[] objNumber = new int[n];
+        boolean ok = true;
+        for (int k = 0; k < n; ++k) {
+            ok = streamTokens.nextToken();
+            if (!ok)
+                break;
+            if (streamTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            objNumber[k] = streamTokens.getIntValue();
+            ok = streamTokens.nextToken();
+            if (!ok)
+                break;
+            if (streamTokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            address[k] = streamTokens.getIntValue() + first;
+        }
+        if (!ok)
+            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
+        return new DecodedObjectStream(objectStream, streamTokens, objNumber, address);
+    }
+
+    private void readObjectStreamElement(DecodedObjectStream decodedStream, int k, PdfIndirectReference reference)
+            throws IOException {
+        PdfTokenizer saveTokens = tokens;
+        try {
+            tokens = decodedStream.tokens;
+            tokens.seek(decodedStream.addresses[k]);
+            tokens.nextToken();
+            PdfObject obj;
+            if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
+                // This ensure that we don't even try to read as indirect reference token (two numbers and "R")
+                // which are forbidden in object streams.
+                obj = new PdfNumber(tokens.getByteContent());
+            } else {
+                tokens.seek(decodedStream.addresses[k]);
+                obj = readObject(false, true);
+            }
+            reference.setRefersTo(obj);
+            obj.setIndirectReference(reference);
+        } finally {
+            tokens = saveTokens;
+        }
+    }
+
     private PdfObject createPdfNullInstance(boolean readAsDirect) {
         if (readAsDirect) {
             return PdfNull.PDF_NULL;
@@ -1575,6 +1853,10 @@ public class PdfReader implements Closeable {
         }
     }
 
+    private static ReaderProperties getPropertiesOrDefault(ReaderProperties properties) {
+        return properties != null ? properties : new ReaderProperties();
+    }
+
     /**
      * Utility method that checks the provided byte source to see if it has junk bytes at the beginning.  If junk bytes
      * are found, construct a tokeniser that ignores the junk.  Otherwise, construct a tokeniser for the byte source as it is
@@ -1585,7 +1867,8 @@ public class PdfReader implements Closeable {
      */
     private static PdfTokenizer getOffsetTokeniser(IRandomAccessSource byteSource, boolean closeStream)
             throws IOException {
-        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(byteSource));
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(byteSource),
+                PdfTokenizer.DEFAULT_READ_WINDOW_SIZE);
         int offset;
         try {
             offset = tok.getHeaderOffset();
@@ -1597,7 +1880,7 @@ public class PdfReader implements Closeable {
         }
         if (offset != 0) {
             IRandomAccessSource offsetSource = new WindowRandomAccessSource(byteSource, offset);
-            tok = new PdfTokenizer(new RandomAccessFileOrArray(offsetSource));
+            tok = new PdfTokenizer(new RandomAccessFileOrArray(offsetSource), PdfTokenizer.DEFAULT_READ_WINDOW_SIZE);
         }
         return tok;
     }
@@ -1651,6 +1934,115 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Scans a range of the file for object headers and trailers, the same way as {@link PdfReader#rebuildXref()} does.
+     * The lines are assigned to ranges by the position at which the sequential scan starts reading them,
+     * so that every line is scanned exactly once.
+     */
+    private static final class XrefRebuildTask implements Callable<Void> {
+        private final RandomAccessFileOrArray file;
+        private final long start;
+        private final long end;
+
+        private long[] positions = new long[16];
+        private int[] objNumbers = new int[16];
+        private int[] genNumbers = new int[16];
+        private boolean[] trailers = new boolean[16];
+        private int size;
+
+        XrefRebuildTask(RandomAccessFileOrArray file, long start, long end) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            long pos = findLineStart();
+            ByteBuffer buffer = new ByteBuffer(24);
+            try (PdfTokenizer tokenizer = new PdfTokenizer(file, PdfTokenizer.DEFAULT_READ_WINDOW_SIZE);
+                    PdfTokenizer lineTokenizer = new PdfTokenizer(
+                            new RandomAccessFileOrArray(new ReusableRandomAccessSource(buffer)))) {
+                tokenizer.seek(pos);
+                while (pos < end) {
+                    buffer.reset();
+                    if (!tokenizer.readLineSegment(buffer, true)) {
+                        break;
+                    }
+                    if (buffer.get(0) == 't') {
+                        if (PdfTokenizer.checkTrailer(buffer)) {
+                            add(pos, 0, 0, true);
+                        }
+                    } else if (buffer.get(0) >= '0' && buffer.get(0) <= '9') {
+                        int[] obj = PdfTokenizer.checkObjectStart(lineTokenizer);
+                        if (obj != null) {
+                            add(pos, obj[0], obj[1], false);
+                        }
+                    }
+                    pos = tokenizer.getPosition();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Finds the first position not before the start of the range at which the sequential scan starts reading
+         * a line, i.e. the position right after the end of line which terminates a line with some content.
+         */
+        private long findLineStart() throws IOException {
+            if (start == 0) {
+                return 0;
+            }
+            for (long pos = Math.max(0, start - 2); pos < end; pos++) {
+                int ch = readAt(pos);
+                if (ch == -1) {
+                    break;
+                }
+                if ((ch == '\n' || ch == '\r') && isLineTerminator(pos)) {
+                    long lineStart = ch == '\r' && readAt(pos + 1) == '\n' ? pos + 2 : pos + 1;
+                    if (lineStart >= start) {
+                        return lineStart;
+                    }
+                }
+            }
+            return end;
+        }
+
+        private boolean isLineTerminator(long eolPosition) throws IOException {
+            // the whitespaces before the first content of a line, including ends of line, are skipped
+            for (long pos = eolPosition - 1; pos >= 0; pos--) {
+                int ch = readAt(pos);
+                if (ch == '\n' || ch == '\r') {
+                    return false;
+                }
+                if (!PdfTokenizer.isWhitespace(ch)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int readAt(long pos) throws IOException {
+            file.seek(pos);
+            return file.read();
+        }
+
+        private void add(long pos, int objNumber, int genNumber, boolean trailer) {
+            if (size == positions.length) {
+                int capacity = size * 2;
+                positions = Arrays.copyOf(positions, capacity);
+                objNumbers = Arrays.copyOf(objNumbers, capacity);
+                genNumbers = Arrays.copyOf(genNumbers, capacity);
+                trailers = Arrays.copyOf(trailers, capacity);
+            }
+            positions[size] = pos;
+            objNumbers[size] = objNumber;
+            genNumbers[size] = genNumber;
+            trailers[size] = trailer;
+            size++;
+        }
+    }
+
     /**
      * Enumeration representing the strictness level for reading.
      */
@@ -1702,4 +2094,18 @@ public class PdfReader implements Closeable {
             // Do nothing.
         }
     }
+
+    private static final class DecodedObjectStream {
+        final PdfStream objectStream;
+        final PdfTokenizer tokens;
+        final int[] objNumbers;
+        final int[] addresses;
+
+        DecodedObjectStream(PdfStream objectStream, PdfTokenizer tokens, int[] objNumbers, int[] addresses) {
+            this.objectStream = objectStream;
+            this.tokens = tokens;
+            this.objNumbers = objNumbers;
+            this.addresses = addresses;
+        }
+    }
 }
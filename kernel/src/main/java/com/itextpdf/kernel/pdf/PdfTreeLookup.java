@@ -0,0 +1,215 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Navigates name and number trees by the /Limits of their nodes, so that the leaf which holds a key,
+ * or which the key should be added to, is found by reading only the nodes on the way from the root
+ * to that leaf and a few of their siblings, instead of the whole tree.
+ */
+final class PdfTreeLookup {
+
+    private final PdfName leafArrayKey;
+    private final boolean numberTree;
+
+    private PdfTreeLookup(PdfName leafArrayKey, boolean numberTree) {
+        this.leafArrayKey = leafArrayKey;
+        this.numberTree = numberTree;
+    }
+
+    static PdfTreeLookup forNameTree() {
+        return new PdfTreeLookup(PdfName.Names, false);
+    }
+
+    static PdfTreeLookup forNumberTree() {
+        return new PdfTreeLookup(PdfName.Nums, true);
+    }
+
+    /**
+     * Finds the path from the root to the leaf which contains the key, or which the key should be added to.
+     *
+     * @param root the root node of the tree
+     * @param key  the key to look for
+     *
+     * @return the nodes on the path, starting with the root, or {@code null} if the tree can't be navigated by
+     * its limits, e.g. because they are missing or overlap, or because key-value pairs are split between leaves
+     */
+    List<PdfDictionary> findLeafPath(PdfDictionary root, PdfObject key) {
+        List<PdfDictionary> path = new ArrayList<>();
+        PdfDictionary node = root;
+        while (node != null) {
+            for (PdfDictionary visited : path) {
+                if (visited == node) {
+                    return null;
+                }
+            }
+            path.add(node);
+            PdfArray leafArray = node.getAsArray(leafArrayKey);
+            if (leafArray != null && (numberTree || !leafArray.isEmpty())) {
+                return isValidLeafArray(leafArray) ? path : null;
+            }
+            PdfArray kids = node.getAsArray(PdfName.Kids);
+            if (kids == null || kids.isEmpty()) {
+                return path;
+            }
+            int kidIndex = findKid(kids, key);
+            if (kidIndex < 0) {
+                return null;
+            }
+            node = kids.getAsDictionary(kidIndex);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the array of key-value pairs of the last node on the path.
+     *
+     * @param path the path found by {@link #findLeafPath(PdfDictionary, PdfObject)}
+     *
+     * @return the array of the leaf, or {@code null} if the path ends with a node without entries
+     */
+    PdfArray getLeafArray(List<PdfDictionary> path) {
+        return path.get(path.size() - 1).getAsArray(leafArrayKey);
+    }
+
+    /**
+     * Finds the last occurrence of the key in the array of a leaf, the way a map filled from the leaf would keep it.
+     *
+     * @param leafArray the array of key-value pairs
+     * @param key       the key to look for
+     *
+     * @return the index of the key, or -1 if the leaf doesn't contain it
+     */
+    int indexOfKey(PdfArray leafArray, PdfObject key) {
+        for (int i = leafArray.size() - 2; i >= 0; i -= 2) {
+            if (isSameKey(leafArray.get(i), key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the index at which the key should be inserted into the sorted array of a leaf.
+     *
+     * @param leafArray the array of key-value pairs
+     * @param key       the key to insert
+     *
+     * @return the index of the first key greater than the passed one, or the size of the array
+     */
+    int insertionIndex(PdfArray leafArray, PdfObject key) {
+        for (int i = 0; i < leafArray.size(); i += 2) {
+            if (compare(leafArray.get(i), key) > 0) {
+                return i;
+            }
+        }
+        return leafArray.size();
+    }
+
+    /**
+     * Gets the limits of a node if they are valid.
+     *
+     * @param node the node of the tree
+     *
+     * @return the /Limits array, or {@code null} if it is missing or malformed
+     */
+    PdfArray getLimits(PdfDictionary node) {
+        PdfArray limits = node == null ? null : node.getAsArray(PdfName.Limits);
+        if (limits == null || limits.size() != 2 || !isKey(limits.get(0)) || !isKey(limits.get(1))) {
+            return null;
+        }
+        return limits;
+    }
+
+    int compare(PdfObject key1, PdfObject key2) {
+        if (numberTree) {
+            return Integer.compare(((PdfNumber) key1).intValue(), ((PdfNumber) key2).intValue());
+        }
+        // name tree keys are ordered by their bytes, not by the decoded strings
+        byte[] bytes1 = ((PdfString) key1).getValueBytes();
+        byte[] bytes2 = ((PdfString) key2).getValueBytes();
+        int length = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < length; i++) {
+            int diff = (bytes1[i] & 0xff) - (bytes2[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return bytes1.length - bytes2.length;
+    }
+
+    private int findKid(PdfArray kids, PdfObject key) {
+        int low = 0;
+        int high = kids.size() - 1;
+        while (low < high) {
+            int mid = (low + high) / 2;
+            PdfArray limits = getLimits(kids.getAsDictionary(mid));
+            if (limits == null) {
+                return -1;
+            }
+            if (compare(limits.get(1), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // the first kid whose upper limit is not less than the key, or the last kid
+        if (getLimits(kids.getAsDictionary(low)) == null) {
+            return -1;
+        }
+        if (low + 1 < kids.size()) {
+            PdfArray nextLimits = getLimits(kids.getAsDictionary(low + 1));
+            // the key might be in either of the kids if their limits overlap
+            if (nextLimits == null || compare(nextLimits.get(0), key) <= 0) {
+                return -1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isValidLeafArray(PdfArray leafArray) {
+        if (leafArray.size() % 2 != 0) {
+            return false;
+        }
+        for (int i = 0; i < leafArray.size(); i += 2) {
+            if (!isKey(leafArray.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isKey(PdfObject obj) {
+        return numberTree ? obj instanceof PdfNumber : obj instanceof PdfString;
+    }
+
+    private boolean isSameKey(PdfObject obj, PdfObject key) {
+        if (numberTree) {
+            return ((PdfNumber) obj).intValue() == ((PdfNumber) key).intValue();
+        }
+        return key.equals(obj);
+    }
+}
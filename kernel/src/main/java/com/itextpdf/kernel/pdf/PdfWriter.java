@@ -24,22 +24,42 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.FontSubsetCache;
 import com.itextpdf.kernel.utils.ICopyFilter;
 import com.itextpdf.kernel.utils.NullCopyFilter;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PdfWriter extends PdfOutputStream {
     private static final byte[] obj = ByteUtils.getIsoBytes(" obj\n");
     private static final byte[] endobj = ByteUtils.getIsoBytes("\nendobj\n");
+    /**
+     * The maximum number of streams encoded in the background per encoding thread.
+     */
+    private static final int ENCODED_STREAMS_PER_THREAD = 4;
+    /**
+     * The maximum total length of the data of the streams encoded in the background, at least one stream
+     * is encoded in the background regardless of its length.
+     */
+    private static final long MAX_ENCODED_STREAMS_SIZE = 32L * 1024 * 1024;
 
     protected WriterProperties properties;
     //forewarned is forearmed
@@ -51,14 +71,20 @@ public class PdfWriter extends PdfOutputStream {
     PdfObjectStream objectStream = null;
     /**
      * Is used to avoid duplications on object copying.
-     * It stores hashes of the indirect reference from the source document and the corresponding
-     * indirect references of the copied objects from the new document.
+     * It stores, per id of the source document, hashes of the indirect reference from the source document
+     * and the corresponding indirect references of the copied objects from the new document.
      */
-    private Map<PdfIndirectReference, PdfIndirectReference> copiedObjects = new LinkedHashMap<>();
+    private Map<Long, Map<PdfIndirectReference, PdfIndirectReference>> copiedObjects = new HashMap<>();
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
     private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    /**
+     * The streams which are being encoded in the background while the waiting objects are flushed,
+     * {@code null} if streams are encoded sequentially.
+     */
+    private Map<PdfIndirectReference, EncodedStream> encodedStreams = null;
+    private long encodedStreamsSize = 0;
 
     /**
      * Create a PdfWriter writing to the passed File and with default writer properties.
@@ -146,6 +172,24 @@ public class PdfWriter extends PdfOutputStream {
         return this;
     }
 
+    /**
+     * Gets the cache of embedded font subsets shared with other documents.
+     *
+     * @return the cache of font subsets, or {@code null} if font subsets aren't cached
+     */
+    public FontSubsetCache getFontSubsetCache() {
+        return properties.fontSubsetCache;
+    }
+
+    /**
+     * Gets the number of threads used to compress and encrypt the streams when the document is closed.
+     *
+     * @return the number of threads, 1 if streams are encoded sequentially
+     */
+    public int getStreamEncodingParallelism() {
+        return properties.streamEncodingParallelism;
+    }
+
     /**
      * Gets the writer properties.
      *
@@ -267,8 +311,10 @@ public class PdfWriter extends PdfOutputStream {
         PdfIndirectReference indirectReference = obj.getIndirectReference();
         boolean tryToFindDuplicate = !allowDuplicating && indirectReference != null;
 
-        if (tryToFindDuplicate) {
-            PdfIndirectReference copiedIndirectReference = copiedObjects.get(indirectReference);
+        Map<PdfIndirectReference, PdfIndirectReference> copiedFromDocument = indirectReference == null
+                ? null : getCopiedObjects(indirectReference.getDocument());
+        if (tryToFindDuplicate && copiedFromDocument != null) {
+            PdfIndirectReference copiedIndirectReference = copiedFromDocument.get(indirectReference);
             if (copiedIndirectReference != null) {
                 return copiedIndirectReference.getRefersTo();
             }
@@ -280,7 +326,9 @@ public class PdfWriter extends PdfOutputStream {
             serializedContent = smartModeSerializer.serializeObject(obj);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
-                copiedObjects.put(indirectReference, objectRef);
+                if (copiedFromDocument != null) {
+                    copiedFromDocument.put(indirectReference, objectRef);
+                }
                 return objectRef.refersTo;
             }
         }
@@ -291,7 +339,9 @@ public class PdfWriter extends PdfOutputStream {
             if (serializedContent != null) {
                 smartModeSerializer.saveSerializedObject(serializedContent, indRef);
             }
-            copiedObjects.put(indirectReference, indRef);
+            if (copiedFromDocument != null) {
+                copiedFromDocument.put(indirectReference, indRef);
+            }
         }
         newObject.copyContent(obj, documentTo, copyFilter);
 
@@ -332,21 +382,38 @@ public class PdfWriter extends PdfOutputStream {
      */
     protected void flushWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
-        boolean needFlush = true;
-        while (needFlush) {
-            needFlush = false;
-            for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
-                if (indirectReference != null && !indirectReference.isFree()
-                        && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
-                        && !forbiddenToFlush.contains(indirectReference)) {
-                    PdfObject obj = indirectReference.getRefersTo(false);
-                    if (obj != null) {
-                        obj.flush();
-                        needFlush = true;
+        int parallelism = getStreamEncodingParallelism();
+        ExecutorService encodingExecutor = null;
+        if (parallelism > 1) {
+            encodingExecutor = Executors.newFixedThreadPool(parallelism);
+            encodedStreams = new HashMap<>();
+        }
+        try {
+            boolean needFlush = true;
+            while (needFlush) {
+                needFlush = false;
+                int encodingCursor = 1;
+                for (int i = 1; i < xref.size(); i++) {
+                    PdfIndirectReference indirectReference = xref.getCreatedReference(i);
+                    if (isWaitingToFlush(indirectReference, forbiddenToFlush)) {
+                        PdfObject obj = indirectReference.getRefersTo(false);
+                        if (obj != null) {
+                            if (encodingExecutor != null) {
+                                encodingCursor = submitStreamsEncoding(encodingExecutor, parallelism,
+                                        Math.max(encodingCursor, i), forbiddenToFlush);
+                            }
+                            obj.flush();
+                            needFlush = true;
+                        }
                     }
                 }
             }
+        } finally {
+            if (encodingExecutor != null) {
+                encodingExecutor.shutdownNow();
+                encodedStreams = null;
+                encodedStreamsSize = 0;
+            }
         }
         if (objectStream != null && objectStream.getSize() > 0) {
             objectStream.flush();
@@ -363,7 +430,7 @@ public class PdfWriter extends PdfOutputStream {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getCreatedReference(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(
                     indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
@@ -383,6 +450,29 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    /**
+     * Sets the position the written content starts from, as if the content was appended to the data
+     * of the passed length. Shall be called before anything is written.
+     *
+     * @param position the position of the first written byte
+     */
+    void setInitialPosition(long position) {
+        currentPos = position;
+    }
+
+    @Override
+    ByteArrayOutputStream getEncodedStreamData(PdfStream pdfStream) {
+        if (encodedStreams == null || pdfStream.getIndirectReference() == null) {
+            return null;
+        }
+        EncodedStream encodedStream = encodedStreams.remove(pdfStream.getIndirectReference());
+        if (encodedStream == null) {
+            return null;
+        }
+        encodedStreamsSize -= encodedStream.size;
+        return waitForEncodedStream(encodedStream.data);
+    }
+
     /**
      * Gets the current object stream.
      *
@@ -407,21 +497,44 @@ public class PdfWriter extends PdfOutputStream {
      * @param docId id of the source document
      */
     void flushCopiedObjects(long docId) {
+        Map<PdfIndirectReference, PdfIndirectReference> copiedFromDocument = copiedObjects.get(docId);
+        if (copiedFromDocument == null) {
+            return;
+        }
         List<PdfIndirectReference> remove = new ArrayList<>();
-        for (Map.Entry<PdfIndirectReference, PdfIndirectReference> copiedObject : copiedObjects.entrySet()) {
-            PdfDocument document = copiedObject.getKey().getDocument();
-            if (document != null && document.getDocumentId() == docId) {
-                if (copiedObject.getValue().refersTo != null) {
-                    copiedObject.getValue().refersTo.flush();
-                    remove.add(copiedObject.getKey());
-                }
+        for (Map.Entry<PdfIndirectReference, PdfIndirectReference> copiedObject : copiedFromDocument.entrySet()) {
+            if (copiedObject.getValue().refersTo != null) {
+                copiedObject.getValue().refersTo.flush();
+                remove.add(copiedObject.getKey());
             }
         }
         for (PdfIndirectReference ird : remove) {
-            copiedObjects.remove(ird);
+            copiedFromDocument.remove(ird);
         }
     }
 
+    /**
+     * Forget all objects copied from the document, without flushing them.
+     *
+     * @param docId id of the source document
+     */
+    void releaseCopiedObjects(long docId) {
+        copiedObjects.remove(docId);
+    }
+
+    private Map<PdfIndirectReference, PdfIndirectReference> getCopiedObjects(PdfDocument sourceDocument) {
+        if (sourceDocument == null) {
+            return null;
+        }
+        Map<PdfIndirectReference, PdfIndirectReference> copiedFromDocument =
+                copiedObjects.get(sourceDocument.getDocumentId());
+        if (copiedFromDocument == null) {
+            copiedFromDocument = new LinkedHashMap<>();
+            copiedObjects.put(sourceDocument.getDocumentId(), copiedFromDocument);
+        }
+        return copiedFromDocument;
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -455,7 +568,89 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    /**
+     * Starts the background encoding of the streams waiting to be flushed, which are the next in the xref table
+     * starting from the passed position, until the limits of the encoded streams are reached.
+     *
+     * @return the position in the xref table the next streams shall be looked for from
+     */
+    private int submitStreamsEncoding(ExecutorService encodingExecutor, int parallelism, int from,
+            Set<PdfIndirectReference> forbiddenToFlush) {
+        PdfXrefTable xref = document.getXref();
+        int maxCount = parallelism * ENCODED_STREAMS_PER_THREAD;
+        int cursor = from;
+        while (cursor < xref.size() && encodedStreams.size() < maxCount
+                && (encodedStreams.isEmpty() || encodedStreamsSize < MAX_ENCODED_STREAMS_SIZE)) {
+            PdfIndirectReference indirectReference = xref.getCreatedReference(cursor++);
+            if (!isWaitingToFlush(indirectReference, forbiddenToFlush)
+                    || encodedStreams.containsKey(indirectReference)) {
+                continue;
+            }
+            PdfObject obj = indirectReference.getRefersTo(false);
+            // streams written from input streams are encoded directly to the document output
+            if (obj == null || obj.getType() != PdfObject.STREAM || obj instanceof PdfObjectStream
+                    || ((PdfStream) obj).getInputStream() != null) {
+                continue;
+            }
+            if (crypto != null) {
+                crypto.setHashKeyForNextObject(indirectReference.getObjNumber(), indirectReference.getGenNumber());
+            }
+            PdfOutputStream.StreamEncoder encoder = prepareStreamEncoding((PdfStream) obj);
+            encodedStreams.put(indirectReference,
+                    new EncodedStream(encodingExecutor.submit(new StreamEncodingTask(encoder)), encoder.getSize()));
+            encodedStreamsSize += encoder.getSize();
+        }
+        return cursor;
+    }
+
+    private static boolean isWaitingToFlush(PdfIndirectReference indirectReference,
+            Set<PdfIndirectReference> forbiddenToFlush) {
+        return indirectReference != null && !indirectReference.isFree()
+                && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
+                && !forbiddenToFlush.contains(indirectReference);
+    }
+
+    private static ByteArrayOutputStream waitForEncodedStream(Future<ByteArrayOutputStream> data) {
+        try {
+            return data.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e.getCause());
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static boolean checkTypeOfPdfDictionary(PdfObject dictionary, PdfName expectedType) {
         return dictionary.isDictionary() && expectedType.equals(((PdfDictionary) dictionary).getAsName(PdfName.Type));
     }
+
+    private static final class EncodedStream {
+        final Future<ByteArrayOutputStream> data;
+        final long size;
+
+        EncodedStream(Future<ByteArrayOutputStream> data, long size) {
+            this.data = data;
+            this.size = size;
+        }
+    }
+
+    private static final class StreamEncodingTask implements Callable<ByteArrayOutputStream> {
+        private final PdfOutputStream.StreamEncoder encoder;
+
+        StreamEncodingTask(PdfOutputStream.StreamEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        @Override
+        public ByteArrayOutputStream call() throws IOException {
+            return encoder.encode();
+        }
+    }
 }
@@ -62,7 +62,43 @@ public class PdfXrefTable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    /**
+     * Type of a compact entry which is free.
+     */
+    static final byte FREE_ENTRY = 1;
+
+    /**
+     * Type of a compact entry which is an object in the file body.
+     */
+    static final byte IN_USE_ENTRY = 2;
+
+    /**
+     * Type of a compact entry which is an object in an object stream.
+     */
+    static final byte COMPRESSED_ENTRY = 3;
+
     private PdfIndirectReference[] xref;
+
+    /**
+     * Entries read from the cross-reference sections of a document are kept in the following parallel arrays until
+     * they are requested, so that no {@link PdfIndirectReference} is created for the objects which are never used.
+     * The type of an entry is one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY} or {@link #COMPRESSED_ENTRY},
+     * zero means that there is no compact entry for the object number.
+     */
+    private byte[] entryTypes;
+
+    /**
+     * The offsets of the in use entries, the indexes of the compressed ones and the next free object numbers
+     * of the free ones.
+     */
+    private long[] entryOffsets;
+
+    /**
+     * The generation numbers of the free and in use entries and the object stream numbers of the compressed ones.
+     */
+    private int[] entryNumbers;
+
+    private PdfDocument entriesDocument;
     private int count = 0;
     private boolean readingCompleted;
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
@@ -143,6 +179,7 @@ public class PdfXrefTable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        clearEntry(objNr);
         return reference;
     }
 
@@ -163,8 +200,9 @@ public class PdfXrefTable {
     public int getCountOfIndirectObjects() {
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i < xref.length; i++) {
+            final PdfIndirectReference ref = xref[i];
+            if (ref != null ? !ref.isFree() : entryTypes != null && entryTypes[i] > FREE_ENTRY) {
                 countOfIndirectObjects++;
             }
         }
@@ -179,12 +217,71 @@ public class PdfXrefTable {
      * @return reference to object with the provided index
      */
     public PdfIndirectReference get(int index) {
+        if (index > count) {
+            return null;
+        }
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && entryTypes != null && entryTypes[index] != 0) {
+            reference = createReferenceFromEntry(index);
+        }
+        return reference;
+    }
+
+    /**
+     * Gets the reference to indirect object, if it is already created. Unlike {@link #get(int)}, this method
+     * does not create references for the entries which are read from the document and not requested yet.
+     * Such references are neither modified nor loaded, so the method suits iterating over the
+     * references which might need flushing.
+     *
+     * @param index is the index of required object
+     * @return reference to object with the provided index, or {@code null} if there is no created reference
+     */
+    PdfIndirectReference getCreatedReference(int index) {
         if (index > count) {
             return null;
         }
         return xref[index];
     }
 
+    /**
+     * Checks whether there is an entry read from the document for which no reference is created yet.
+     *
+     * @param index is the index of the entry
+     * @return {@code true} if there is such an entry, {@code false} otherwise
+     */
+    boolean hasEntry(int index) {
+        return index <= count && entryTypes != null && entryTypes[index] != 0;
+    }
+
+    /**
+     * Adds an entry read from a cross-reference section of the document. Unlike {@link #add(PdfIndirectReference)},
+     * the entry is stored in a compact form, and the {@link PdfIndirectReference} for it is only created when
+     * requested. An already created reference with the same object number is replaced.
+     *
+     * @param document the document the entry belongs to
+     * @param objNr    the object number of the entry
+     * @param type     the type of the entry, one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY}
+     *                 or {@link #COMPRESSED_ENTRY}
+     * @param offset   the offset of an in use entry, the index in the object stream of a compressed entry,
+     *                 or the next free object number of a free entry
+     * @param number   the generation number of a free or in use entry, or the object stream number
+     *                 of a compressed entry
+     */
+    void addEntry(PdfDocument document, int objNr, byte type, long offset, int number) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (entryTypes == null) {
+            entryTypes = new byte[xref.length];
+            entryOffsets = new long[xref.length];
+            entryNumbers = new int[xref.length];
+        }
+        entriesDocument = document;
+        xref[objNr] = null;
+        entryTypes[objNr] = type;
+        entryOffsets[objNr] = offset;
+        entryNumbers[objNr] = number;
+    }
+
     /**
      * Convenience method to write the fingerprint preceding the trailer.
      * The fingerprint contains information on iText products used in the generation or manipulation
@@ -215,6 +312,7 @@ public class PdfXrefTable {
      */
     protected PdfIndirectReference createNextIndirectReference(PdfDocument document) {
         PdfIndirectReference reference = new PdfIndirectReference(document, ++count);
+        clearEntry(count);
         add(reference);
         return (PdfIndirectReference) reference.setState(PdfObject.MODIFIED);
     }
@@ -282,7 +380,7 @@ public class PdfXrefTable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = get(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -371,6 +469,10 @@ public class PdfXrefTable {
                 // Get rid of all objects from object stream. This is done for hybrid documents
                 sections = createSections(document, true);
             }
+            // offset and generation of an entry, "0000000000 00000 ", reused for all the entries
+            byte[] entry = new byte[17];
+            entry[10] = (byte) ' ';
+            entry[16] = (byte) ' ';
             for (int k = 0; k < sections.size(); k += 2) {
                 int first = (int) sections.get(k);
                 int len = (int) sections.get(k + 1);
@@ -380,10 +482,9 @@ public class PdfXrefTable {
                     if (reference.getOffset() > MAX_OFFSET_IN_CROSS_REFERENCE_STREAM) {
                         throw new PdfException(KernelExceptionMessageConstant.XREF_HAS_AN_ENTRY_WITH_TOO_BIG_OFFSET);
                     }
-                    StringBuilder off = new StringBuilder("0000000000").append(reference.getOffset());
-                    StringBuilder gen = new StringBuilder("00000").append(reference.getGenNumber());
-                    writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
-                            writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
+                    writeDigits(entry, 0, 10, reference.getOffset());
+                    writeDigits(entry, 11, 5, reference.getGenNumber());
+                    writer.writeBytes(entry);
                     if (reference.isFree()) {
                         writer.writeBytes(freeXRefEntry);
                     } else {
@@ -417,6 +518,7 @@ public class PdfXrefTable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
+        clearEntries();
         freeReferencesLinkedList.clear();
     }
 
@@ -453,12 +555,21 @@ public class PdfXrefTable {
     void initFreeReferencesList(PdfDocument pdfDocument) {
         freeReferencesLinkedList.clear();
 
+        // references are needed for all the free entries to build the list
+        if (entryTypes != null) {
+            for (int i = 0; i < size() && i < entryTypes.length; ++i) {
+                if (xref[i] == null && entryTypes[i] == FREE_ENTRY) {
+                    createReferenceFromEntry(i);
+                }
+            }
+        }
+
         // ensure zero object is free
-        xref[0].setState(PdfObject.FREE);
+        get(0).setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size() && i < xref.length; ++i) {
             PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (ref == null ? entryTypes == null || entryTypes[i] == 0 : ref.isFree()) {
                 freeReferences.add(i);
             }
         }
@@ -509,6 +620,7 @@ public class PdfXrefTable {
      */
     PdfIndirectReference createNewIndirectReference(PdfDocument document) {
         PdfIndirectReference reference = new PdfIndirectReference(document, ++count);
+        clearEntry(count);
         add(reference);
         return (PdfIndirectReference) reference.setState(PdfObject.MODIFIED);
     }
@@ -522,6 +634,9 @@ public class PdfXrefTable {
                 continue;
             }
             xref[i] = null;
+            if (entryTypes != null && entryTypes[i] != FREE_ENTRY) {
+                entryTypes[i] = 0;
+            }
         }
         count = 1;
     }
@@ -533,6 +648,7 @@ public class PdfXrefTable {
         for (int i = 1; i <= count; i++) {
             xref[i] = null;
         }
+        clearEntries();
         count = 1;
     }
 
@@ -541,7 +657,8 @@ public class PdfXrefTable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // in append mode only modified references are written, which are always created
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : get(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -587,6 +704,16 @@ public class PdfXrefTable {
         return size;
     }
 
+    /**
+     * Writes the lowest {@code count} decimal digits of the value, padded with leading zeros.
+     */
+    private static void writeDigits(byte[] target, int start, int count, long value) {
+        for (int i = start + count - 1; i >= start; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
     private void appendNewRefToFreeList(PdfIndirectReference reference) {
         reference.setOffset(0);
         if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
@@ -660,5 +787,43 @@ public class PdfXrefTable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(this.xref, 0, newXref, 0, this.xref.length);
         this.xref = newXref;
+        if (entryTypes != null) {
+            entryTypes = Arrays.copyOf(entryTypes, capacity);
+            entryOffsets = Arrays.copyOf(entryOffsets, capacity);
+            entryNumbers = Arrays.copyOf(entryNumbers, capacity);
+        }
+    }
+
+    private PdfIndirectReference createReferenceFromEntry(int objNr) {
+        PdfIndirectReference reference;
+        switch (entryTypes[objNr]) {
+            case FREE_ENTRY:
+                reference = (PdfIndirectReference) new PdfIndirectReference(entriesDocument, objNr,
+                        entryNumbers[objNr], entryOffsets[objNr]).setState(PdfObject.FREE);
+                break;
+            case COMPRESSED_ENTRY:
+                reference = new PdfIndirectReference(entriesDocument, objNr, 0, entryOffsets[objNr]);
+                reference.setObjStreamNumber(entryNumbers[objNr]);
+                break;
+            default:
+                reference = new PdfIndirectReference(entriesDocument, objNr, entryNumbers[objNr], entryOffsets[objNr]);
+                break;
+        }
+        entryTypes[objNr] = 0;
+        xref[objNr] = reference;
+        return reference;
+    }
+
+    private void clearEntry(int objNr) {
+        if (entryTypes != null && objNr < entryTypes.length) {
+            entryTypes[objNr] = 0;
+        }
+    }
+
+    private void clearEntries() {
+        entryTypes = null;
+        entryOffsets = null;
+        entryNumbers = null;
+        entriesDocument = null;
     }
 }
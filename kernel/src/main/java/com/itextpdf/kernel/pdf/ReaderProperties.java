@@ -43,6 +43,8 @@ public class ReaderProperties {
 
     protected MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    protected int inMemoryThreshold = -1;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -114,4 +116,17 @@ public class ReaderProperties {
         return this;
     }
 
+    /**
+     * Defines the maximum number of bytes of a document read from an {@link java.io.InputStream} which are kept
+     * in memory. Larger documents are written to a temporary file, which is deleted when the reader is closed.
+     * By default there is no limit and the whole document is read into memory.
+     *
+     * @param inMemoryThreshold the maximum number of bytes kept in memory, a negative value means no limit
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setInMemoryThreshold(int inMemoryThreshold) {
+        this.inMemoryThreshold = inMemoryThreshold;
+        return this;
+    }
+
 }
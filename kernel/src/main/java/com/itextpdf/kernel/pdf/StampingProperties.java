@@ -28,6 +28,7 @@ public class StampingProperties extends DocumentProperties {
 
     protected boolean appendMode = false;
     protected boolean preserveEncryption = false;
+    protected boolean incrementalUpdateOnly = false;
 
     public StampingProperties() {
     }
@@ -36,6 +37,7 @@ public class StampingProperties extends DocumentProperties {
         super(other);
         this.appendMode = other.appendMode;
         this.preserveEncryption = other.preserveEncryption;
+        this.incrementalUpdateOnly = other.incrementalUpdateOnly;
     }
 
     /**
@@ -44,9 +46,39 @@ public class StampingProperties extends DocumentProperties {
      */
     public StampingProperties useAppendMode() {
         appendMode = true;
+        incrementalUpdateOnly = false;
         return this;
     }
 
+    /**
+     * Defines if the document will be edited in append mode, with only the incremental update written
+     * to the output. The original document is neither read nor copied to the output as a whole, so only the modified
+     * objects and the cross-reference section for them are written. The offsets in the written cross-reference
+     * section are counted from the beginning of the original document, so the output shall be appended to the end
+     * of the original document, for example by writing it to the original file opened for appending after
+     * the document is closed.
+     * <p>
+     * If the original file has some bytes before the PDF header, the offsets are counted from the header,
+     * in the same way as the offsets of the original document are read by {@link PdfReader}. So they are less
+     * than the physical positions in the file by the number of those bytes, like the offsets of the original
+     * cross-reference sections the written one refers to.
+     * @return this {@link StampingProperties} instance
+     */
+    public StampingProperties useAppendModeWithIncrementalUpdateOnly() {
+        appendMode = true;
+        incrementalUpdateOnly = true;
+        return this;
+    }
+
+    /**
+     * Checks if only the incremental update is written to the output in append mode,
+     * see {@link #useAppendModeWithIncrementalUpdateOnly()}.
+     * @return {@code true} if only the incremental update is written, {@code false} otherwise
+     */
+    public boolean isIncrementalUpdateOnly() {
+        return incrementalUpdateOnly;
+    }
+
     /**
      * Defines if the encryption of the original document (if it was encrypted) will be preserved.
      * By default, the resultant document doesn't preserve the original encryption.
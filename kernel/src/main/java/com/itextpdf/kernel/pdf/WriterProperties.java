@@ -23,6 +23,7 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.kernel.font.FontSubsetCache;
 
 import java.security.cert.Certificate;
 
@@ -55,6 +56,16 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The cache of embedded font subsets shared with other documents, {@code null} if subsets aren't cached.
+     */
+    protected FontSubsetCache fontSubsetCache;
+
+    /**
+     * The number of threads used to compress and encrypt the streams when the document is closed.
+     */
+    protected int streamEncodingParallelism = 1;
+
     public WriterProperties() {
         smartMode = false;
         addUAXmpMetadata = false;
@@ -244,6 +255,32 @@ public class WriterProperties {
         return addXmpMetadata();
     }
 
+    /**
+     * Sets the cache of embedded font subsets. The same cache can be set for many documents, so that
+     * the documents using the same font program with the same glyphs reuse the font subset built once.
+     * By default, font subsets aren't cached.
+     *
+     * @param fontSubsetCache the cache of font subsets, or {@code null} to not cache font subsets
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setFontSubsetCache(FontSubsetCache fontSubsetCache) {
+        this.fontSubsetCache = fontSubsetCache;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads used to compress and encrypt the streams which are still waiting to be written
+     * when the document is closed. The data of such streams is encoded in the background while the preceding objects
+     * are written, the objects are still written in the same order. By default, streams are encoded sequentially.
+     *
+     * @param streamEncodingParallelism the number of threads, values less than 1 are treated as 1
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamEncodingParallelism(int streamEncodingParallelism) {
+        this.streamEncodingParallelism = Math.max(1, streamEncodingParallelism);
+        return this;
+    }
+
     boolean isStandardEncryptionUsed() {
         return encryptionProperties.isStandardEncryptionUsed();
     }
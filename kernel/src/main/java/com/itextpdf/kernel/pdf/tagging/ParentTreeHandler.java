@@ -59,13 +59,21 @@ import org.slf4j.LoggerFactory;
 class ParentTreeHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParentTreeHandler.class);
 
+    private static final int INITIAL_PARENT_TREE_CAPACITY = 16;
+
 
     private PdfStructTreeRoot structTreeRoot;
 
     /**
-     * Represents parentTree in structTreeRoot. It contains only those entries that belong to the already flushed pages.
+     * Represent parentTree in structTreeRoot. They contain only those entries that belong to the already flushed pages.
+     * The entries of all the flushed pages are kept until the parent tree is built, so instead of a number tree
+     * only the keys and the references to the already indirect values are stored, in the order of addition.
      */
-    private PdfNumTree parentTree;
+    private int[] parentTreeKeys = new int[INITIAL_PARENT_TREE_CAPACITY];
+
+    private PdfIndirectReference[] parentTreeValues = new PdfIndirectReference[INITIAL_PARENT_TREE_CAPACITY];
+
+    private int parentTreeSize;
 
     private Map<PdfIndirectReference, PageMcrsContainer> pageToPageMcrs;
 
@@ -80,7 +88,6 @@ class ParentTreeHandler {
      */
     ParentTreeHandler(PdfStructTreeRoot structTreeRoot) {
         this.structTreeRoot = structTreeRoot;
-        parentTree = new PdfNumTree(structTreeRoot.getDocument().getCatalog(), PdfName.ParentTree);
         xObjectToStructParentsInd = new HashMap<>();
         registerAllMcrs();
         pageToStructParentsInd = new HashMap<>();
@@ -146,6 +153,10 @@ class ParentTreeHandler {
     }
 
     public PdfDictionary buildParentTree() {
+        PdfNumTree parentTree = new PdfNumTree(structTreeRoot.getDocument().getCatalog(), PdfName.ParentTree);
+        for (int i = 0; i < parentTreeSize; i++) {
+            parentTree.addEntry(parentTreeKeys[i], parentTreeValues[i]);
+        }
         return (PdfDictionary) parentTree.buildTree().makeIndirect(structTreeRoot.getDocument());
     }
 
@@ -321,7 +332,7 @@ class ParentTreeHandler {
                 continue;
             }
             int structParent = entry.getKey();
-            parentTree.addEntry(structParent, parentObj);
+            addParentTreeEntry(structParent, parentObj);
             res = true;
         }
 
@@ -374,7 +385,7 @@ class ParentTreeHandler {
 
         if (!parentsOfMcrs.isEmpty()) {
             parentsOfMcrs.makeIndirect(structTreeRoot.getDocument());
-            parentTree.addEntry(pageStructParentIndex, parentsOfMcrs);
+            addParentTreeEntry(pageStructParentIndex, parentsOfMcrs);
             structTreeRoot.getDocument().checkIsoConformance(parentsOfMcrs, IsoKey.TAG_STRUCTURE_ELEMENT);
             parentsOfMcrs.flush();
             return true;
@@ -382,6 +393,21 @@ class ParentTreeHandler {
         return false;
     }
 
+    private void addParentTreeEntry(int key, PdfObject indirectValue) {
+        if (parentTreeSize == parentTreeKeys.length) {
+            int newCapacity = parentTreeSize * 2;
+            int[] keys = new int[newCapacity];
+            System.arraycopy(parentTreeKeys, 0, keys, 0, parentTreeSize);
+            parentTreeKeys = keys;
+            PdfIndirectReference[] values = new PdfIndirectReference[newCapacity];
+            System.arraycopy(parentTreeValues, 0, values, 0, parentTreeSize);
+            parentTreeValues = values;
+        }
+        parentTreeKeys[parentTreeSize] = key;
+        parentTreeValues[parentTreeSize] = indirectValue.getIndirectReference();
+        parentTreeSize++;
+    }
+
     private int getOrCreatePageStructParentIndex(PdfPage page) {
         int structParentIndex = page.getStructParentIndex();
         if (structParentIndex < 0) {
@@ -57,6 +57,7 @@ public class PdfStructTreeRoot extends PdfObjectWrapper<PdfDictionary> implement
     private PdfDocument document;
     private ParentTreeHandler parentTreeHandler;
     private PdfStructIdTree idTree = null;
+    private StructElemKidsIndex kidsIndex;
 
     private static Map<String, PdfName> staticRoleNames = new ConcurrentHashMap<>();
 
@@ -500,6 +501,13 @@ public class PdfStructTreeRoot extends PdfObjectWrapper<PdfDictionary> implement
         return parentTreeHandler;
     }
 
+    StructElemKidsIndex getKidsIndex() {
+        if (kidsIndex == null) {
+            kidsIndex = new StructElemKidsIndex();
+        }
+        return kidsIndex;
+    }
+
     void addKidObject(int index, PdfDictionary structElem) {
         if (index == -1) {
             getKidsObject().add(structElem);
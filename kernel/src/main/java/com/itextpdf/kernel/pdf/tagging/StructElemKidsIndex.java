@@ -0,0 +1,119 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.tagging;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Internal helper class which indexes the kids of the structure elements of a document opened in reading mode
+ * by their positions in the /K arrays. When the structure of a page range is copied, only the kids of an element
+ * which belong to the copied pages are visited then, instead of all of its kids. The positions of the kids of
+ * an element are found once and are reused by all the following copy operations from the same document.
+ */
+final class StructElemKidsIndex {
+
+    /**
+     * The kids of the elements with fewer kids are visited one by one as usual.
+     */
+    static final int MIN_INDEXED_KIDS_COUNT = 32;
+
+    private final Map<PdfObject, KidPositions> kidPositions = new HashMap<>();
+
+    /**
+     * Gets the positions of the kids of the element which shall be visited to copy the passed kids,
+     * in ascending order. These are the positions of the passed kids as well as of all the kids
+     * which are copied regardless of whether they belong to the copied pages, e.g. marked content
+     * references and table rows.
+     *
+     * @param parent       the structure element or the structure tree root
+     * @param kids         the /K array of the parent
+     * @param kidsToCopy   the kids which belong to the copied pages
+     *
+     * @return the positions of the kids to visit
+     */
+    int[] getPositionsToVisit(PdfDictionary parent, PdfArray kids, Collection<PdfDictionary> kidsToCopy) {
+        PdfObject parentKey = getKey(parent);
+        KidPositions positions = kidPositions.get(parentKey);
+        if (positions == null || positions.kids != kids) {
+            positions = new KidPositions(kids);
+            kidPositions.put(parentKey, positions);
+        }
+        int[] result = new int[positions.alwaysVisitedCount + kidsToCopy.size()];
+        System.arraycopy(positions.alwaysVisited, 0, result, 0, positions.alwaysVisitedCount);
+        int count = positions.alwaysVisitedCount;
+        for (PdfDictionary kid : kidsToCopy) {
+            Integer position = positions.structElemPositions.get(getKey(kid));
+            if (position != null) {
+                result[count++] = (int) position;
+            }
+        }
+        Arrays.sort(result, 0, count);
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    static PdfObject getKey(PdfDictionary dictionary) {
+        PdfIndirectReference reference = dictionary.getIndirectReference();
+        return reference != null ? (PdfObject) reference : dictionary;
+    }
+
+    private static final class KidPositions {
+        private final PdfArray kids;
+        /*
+         * Positions of the indirect kids, which are only visited if they belong to the copied pages.
+         */
+        private final Map<PdfObject, Integer> structElemPositions = new HashMap<>();
+        private int[] alwaysVisited = new int[4];
+        private int alwaysVisitedCount;
+
+        KidPositions(PdfArray kids) {
+            this.kids = kids;
+            for (int i = 0; i < kids.size(); i++) {
+                PdfObject kid = kids.get(i);
+                PdfIndirectReference reference = kid.isDictionary() ? kid.getIndirectReference() : null;
+                if (reference == null || PdfName.TR.equals(((PdfDictionary) kid).getAsName(PdfName.S))
+                        || structElemPositions.containsKey(reference)) {
+                    // numbers, direct marked content references, table rows and repeated kids
+                    addAlwaysVisited(i);
+                } else {
+                    structElemPositions.put(reference, i);
+                }
+            }
+        }
+
+        private void addAlwaysVisited(int position) {
+            if (alwaysVisitedCount == alwaysVisited.length) {
+                alwaysVisited = Arrays.copyOf(alwaysVisited, alwaysVisitedCount * 2);
+            }
+            alwaysVisited[alwaysVisitedCount++] = position;
+        }
+    }
+}
@@ -291,15 +291,26 @@ class StructureTreeCopier {
         Map<PdfDictionary, PdfDictionary> topsToFirstDestPage = new HashMap<>();
         Set<PdfObject> objectsToCopy = new HashSet<>();
         Map<PdfDictionary, PdfDictionary> page2pageDictionaries = new HashMap<>();
+        PdfStructTreeRoot fromStructTreeRoot = fromDocument.getStructTreeRoot();
+        // The kids of the source elements are indexed only if the source structure can't change between copy
+        // operations, so that the index can be reused by all of them.
+        StructElemKidsIndex kidsIndex = copyFromDestDocument || fromDocument.getWriter() != null
+                ? null : fromStructTreeRoot.getKidsIndex();
+        Map<PdfObject, Set<PdfDictionary>> kidsToCopy = new HashMap<>();
         for (Map.Entry<PdfPage, PdfPage> page : page2page.entrySet()) {
             page2pageDictionaries.put(page.getKey().getPdfObject(), page.getValue().getPdfObject());
-            Collection<PdfMcr> mcrs = fromDocument.getStructTreeRoot().getPageMarkedContentReferences(page.getKey());
+            Collection<PdfMcr> mcrs = fromStructTreeRoot.getPageMarkedContentReferences(page.getKey());
             if (mcrs != null) {
                 for (PdfMcr mcr : mcrs) {
+                    List<PdfDictionary> parents = retrieveParents(mcr, true);
+                    objectsToCopy.addAll(parents);
                     if (mcr instanceof PdfMcrDictionary || mcr instanceof PdfObjRef) {
                         objectsToCopy.add(mcr.getPdfObject());
+                        if (kidsIndex != null && !parents.isEmpty()) {
+                            addKidToCopy(kidsToCopy, parents.get(0), (PdfDictionary) mcr.getPdfObject());
+                        }
                     }
-                    PdfDictionary top = addAllParentsToSet(mcr, objectsToCopy);
+                    PdfDictionary top = parents.isEmpty() ? null : parents.get(parents.size() - 1);
                     if (top != null) {
                         if (top.isFlushed()) {
                             throw new PdfException(KernelExceptionMessageConstant.CANNOT_COPY_FLUSHED_TAG);
@@ -307,21 +318,41 @@ class StructureTreeCopier {
                         if (!topsToFirstDestPage.containsKey(top)) {
                             topsToFirstDestPage.put(top, page.getValue().getPdfObject());
                         }
+                        if (kidsIndex != null) {
+                            for (int i = 1; i < parents.size(); i++) {
+                                addKidToCopy(kidsToCopy, parents.get(i), parents.get(i - 1));
+                            }
+                        }
                     }
                 }
             }
         }
 
         List<PdfDictionary> topsInOriginalOrder = new ArrayList<>();
-        for (IStructureNode kid : fromDocument.getStructTreeRoot().getKids()) {
-            if (kid == null)  continue;
+        PdfObject rootKids = fromStructTreeRoot.getPdfObject().get(PdfName.K);
+        if (kidsIndex != null && rootKids instanceof PdfArray
+                && ((PdfArray) rootKids).size() >= StructElemKidsIndex.MIN_INDEXED_KIDS_COUNT) {
+            PdfArray rootKidsArray = (PdfArray) rootKids;
+            int[] positions = kidsIndex.getPositionsToVisit(fromStructTreeRoot.getPdfObject(), rootKidsArray,
+                    topsToFirstDestPage.keySet());
+            for (int position : positions) {
+                PdfObject kid = rootKidsArray.get(position);
+                if (kid instanceof PdfDictionary && topsToFirstDestPage.containsKey((PdfDictionary) kid)) {
+                    topsInOriginalOrder.add((PdfDictionary) kid);
+                }
+            }
+        } else {
+            for (IStructureNode kid : fromStructTreeRoot.getKids()) {
+                if (kid == null)  continue;
 
-            PdfDictionary kidObject = ((PdfStructElem) kid).getPdfObject();
-            if (topsToFirstDestPage.containsKey(kidObject)) {
-                topsInOriginalOrder.add(kidObject);
+                PdfDictionary kidObject = ((PdfStructElem) kid).getPdfObject();
+                if (topsToFirstDestPage.containsKey(kidObject)) {
+                    topsInOriginalOrder.add(kidObject);
+                }
             }
         }
-        StructElemCopyingParams structElemCopyingParams = new StructElemCopyingParams(objectsToCopy, destDocument, page2pageDictionaries, copyFromDestDocument);
+        StructElemCopyingParams structElemCopyingParams = new StructElemCopyingParams(objectsToCopy, destDocument,
+                page2pageDictionaries, copyFromDestDocument, kidsIndex, kidsToCopy);
         PdfStructTreeRoot destStructTreeRoot = destDocument.getStructTreeRoot();
         destStructTreeRoot.makeIndirect(destDocument);
         List<PdfDictionary> copiedTops = new ArrayList<>();
@@ -389,8 +420,11 @@ class StructureTreeCopier {
             if (k.isArray()) {
                 PdfArray kArr = (PdfArray) k;
                 PdfArray newArr = new PdfArray();
-                for (int i = 0; i < kArr.size(); i++) {
-                    PdfObject copiedKid = copyObjectKid(kArr.get(i), copied, destPage, parentChangePg, copyingParams
+                int[] positions = copyingParams.getPositionsToVisit(source, kArr);
+                int count = positions == null ? kArr.size() : positions.length;
+                for (int i = 0; i < count; i++) {
+                    PdfObject kid = kArr.get(positions == null ? i : positions[i]);
+                    PdfObject copiedKid = copyObjectKid(kid, copied, destPage, parentChangePg, copyingParams
                             , lastCopiedTrPage);
                     if (copiedKid != null) {
                         newArr.add(copiedKid);
@@ -618,6 +652,17 @@ class StructureTreeCopier {
         return allParents.isEmpty() ? null : allParents.get(allParents.size() - 1);
     }
 
+    private static void addKidToCopy(Map<PdfObject, Set<PdfDictionary>> kidsToCopy, PdfDictionary parent,
+            PdfDictionary kid) {
+        PdfObject parentKey = StructElemKidsIndex.getKey(parent);
+        Set<PdfDictionary> kids = kidsToCopy.get(parentKey);
+        if (kids == null) {
+            kids = new HashSet<>();
+            kidsToCopy.put(parentKey, kids);
+        }
+        kids.add(kid);
+    }
+
     /**
      * Gets the topmost non-root structure element parent. May be flushed.
      *
@@ -657,16 +702,43 @@ class StructureTreeCopier {
         private final Map<PdfDictionary, PdfDictionary> page2page;
         private final boolean copyFromDestDocument;
 
+        private final StructElemKidsIndex kidsIndex;
+        private final Map<PdfObject, Set<PdfDictionary>> kidsToCopy;
+
         private final Set<PdfObject> copiedNamespaces;
 
-        public StructElemCopyingParams(Set<PdfObject> objectsToCopy, PdfDocument toDocument, Map<PdfDictionary, PdfDictionary> page2page, boolean copyFromDestDocument) {
+        public StructElemCopyingParams(Set<PdfObject> objectsToCopy, PdfDocument toDocument,
+                Map<PdfDictionary, PdfDictionary> page2page, boolean copyFromDestDocument,
+                StructElemKidsIndex kidsIndex, Map<PdfObject, Set<PdfDictionary>> kidsToCopy) {
             this.objectsToCopy = objectsToCopy;
             this.toDocument = toDocument;
             this.page2page = page2page;
             this.copyFromDestDocument = copyFromDestDocument;
+            this.kidsIndex = kidsIndex;
+            this.kidsToCopy = kidsToCopy;
             this.copiedNamespaces = new LinkedHashSet<>();
         }
 
+        /**
+         * Gets the positions of the kids of the source element which shall be visited, or {@code null}
+         * if all of them shall be visited.
+         *
+         * @param source the source structure element
+         * @param kids   the /K array of the source structure element
+         *
+         * @return the ascending positions of the kids to visit, or {@code null}
+         */
+        public int[] getPositionsToVisit(PdfDictionary source, PdfArray kids) {
+            // table cells of the copied rows are copied regardless of their pages
+            if (kidsIndex == null || kids.size() < StructElemKidsIndex.MIN_INDEXED_KIDS_COUNT
+                    || PdfName.TR.equals(source.getAsName(PdfName.S))) {
+                return null;
+            }
+            Set<PdfDictionary> kidsOfSource = kidsToCopy.get(StructElemKidsIndex.getKey(source));
+            return kidsIndex.getPositionsToVisit(source, kids,
+                    kidsOfSource == null ? Collections.<PdfDictionary>emptySet() : kidsOfSource);
+        }
+
         public Set<PdfObject> getObjectsToCopy() {
             return objectsToCopy;
         }
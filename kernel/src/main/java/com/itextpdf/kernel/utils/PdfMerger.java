@@ -24,6 +24,7 @@ package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.IPdfPageExtraCopier;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -133,6 +134,9 @@ public class PdfMerger {
      * If <i>closeSourceDocuments</i> flag is set to <i>true</i> (see {@link #setCloseSourceDocuments(boolean)}),
      * passed {@code PdfDocument} will be closed after pages are merged.
      * <p>
+     * If streaming mode is enabled (see {@link PdfMergerProperties#setStreamingMode(boolean)}), the merged pages
+     * are flushed and passed {@code PdfDocument} is closed and released after pages are merged.
+     * <p>
      * See also {@link com.itextpdf.kernel.pdf.PdfDocument#copyPagesTo}.
      *
      * @param from - document, from which pages will be copied
@@ -153,8 +157,14 @@ public class PdfMerger {
             PdfScriptMerger.mergeScripts(from, this.pdfDocument);
         }
 
-        from.copyPagesTo(pages, pdfDocument, copier);
-        if (properties.isCloseSrcDocuments()) {
+        List<PdfPage> mergedPages = from.copyPagesTo(pages, pdfDocument, copier);
+        if (properties.isStreamingMode()) {
+            for (PdfPage page : mergedPages) {
+                page.flush(true);
+            }
+            pdfDocument.releaseCopiedObjects(from);
+        }
+        if (properties.isCloseSrcDocuments() || properties.isStreamingMode()) {
             from.close();
         }
         return this;
@@ -31,6 +31,7 @@ public class PdfMergerProperties {
     private boolean mergeTags;
     private boolean mergeOutlines;
     private boolean mergeScripts;
+    private boolean streamingMode;
 
     /**
      * Default constructor, use provided setters for configuration options.
@@ -40,6 +41,7 @@ public class PdfMergerProperties {
         mergeTags = true;
         mergeOutlines = true;
         mergeScripts = false;
+        streamingMode = false;
     }
 
     /**
@@ -78,6 +80,15 @@ public class PdfMergerProperties {
         return mergeScripts;
     }
 
+    /**
+     * check if merged pages should be flushed and source documents released right after merging
+     *
+     * @return true if they should, false otherwise
+     */
+    public boolean isStreamingMode() {
+        return streamingMode;
+    }
+
     /**
      * close source documents after merging
      *
@@ -126,4 +137,21 @@ public class PdfMergerProperties {
         this.mergeScripts = mergeNames;
         return this;
     }
+
+    /**
+     * merge documents in streaming mode: the pages merged from a source document are flushed
+     * together with their resources, the source document is closed and the mapping between its objects
+     * and their copies is released right after merging, so that memory consumption doesn't grow with
+     * the number of merged documents. Tags and outlines are still merged if configured.
+     * Note, that merged pages can't be modified afterwards, and if pages of the same source document
+     * are merged more than once, their shared objects are duplicated.
+     *
+     * @param streamingMode true to merge in streaming mode, false otherwise
+     *
+     * @return <code>PdfMergerProperties</code> instance
+     */
+    public PdfMergerProperties setStreamingMode(boolean streamingMode) {
+        this.streamingMode = streamingMode;
+        return this;
+    }
 }
@@ -27,17 +27,27 @@ import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.commons.actions.contexts.IMetaInfo;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.DocumentProperties;
+import com.itextpdf.kernel.pdf.PageFlushingHelper;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfOutline;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Helper class to split the document based on some condition.
@@ -48,6 +58,8 @@ public class PdfSplitter {
     private boolean preserveTagged;
     private boolean preserveOutlines;
     private IMetaInfo metaInfo;
+    private int parallelism = 1;
+    private final Object writerLock = new Object();
 
     /**
      * Creates a new instance of PdfSplitter class.
@@ -94,6 +106,36 @@ public class PdfSplitter {
         this.preserveOutlines = preserveOutlines;
     }
 
+    /**
+     * Sets the number of threads used to create the resultant documents of {@link #splitByPageCount},
+     * {@link #splitByPageNumbers}, {@link #splitBySize} and {@link #extractPageRanges}.
+     * <p>
+     * With a value greater than 1 the resultant documents are created concurrently. Each thread copies the pages
+     * from its own read-only {@link PdfDocument} opened on the same source bytes (see {@link PdfReader#createView()}).
+     * The objects of the copied pages are released from these documents after each page range, so that they
+     * don't keep the whole source document in memory; the objects shared by the pages are read again when needed.
+     * If the splitting fails, the resultant documents which are not yet passed to the listener are closed.
+     * At most this number of resultant documents is created ahead of the one passed to the listener.
+     * The resultant documents are still passed to
+     * the {@link IDocumentReadyListener} on the calling thread and in the order of their page ranges, while
+     * {@link #getNextPdfWriter(PageRange)} is called from the worker threads, one call at a time,
+     * but not necessarily in the order of the page ranges.
+     *
+     * @param parallelism the number of threads, 1 (default) means sequential splitting
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Gets the number of threads used to create the resultant documents.
+     *
+     * @return the number of threads, 1 means sequential splitting
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
     /**
      * Splits the document basing on the given size specified in bytes.
      *
@@ -126,6 +168,7 @@ public class PdfSplitter {
      *                      You can close this document in this listener, for instance.
      */
     public void splitByPageNumbers(List<Integer> pageNumbers, IDocumentReadyListener documentReady) {
+        List<PageRange> pageRanges = new ArrayList<>();
         int currentPageNumber = 1;
 
         for (int ind = 0; ind <= pageNumbers.size(); ind++) {
@@ -133,13 +176,11 @@ public class PdfSplitter {
             if (ind == 0 && nextPageNumber == 1)
                 continue;
 
-            PageRange currentPageRange = new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(currentPageNumber, nextPageNumber - 1, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
+            pageRanges.add(new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1));
 
             currentPageNumber = nextPageNumber;
         }
+        splitByPageRanges(pageRanges, documentReady);
     }
 
     /**
@@ -165,14 +206,13 @@ public class PdfSplitter {
      *                      You can close this document in this listener, for instance.
      */
     public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady) {
+        List<PageRange> pageRanges = new ArrayList<>();
         for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
             int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
 
-            PageRange currentPageRange = new PageRange().addPageSequence(startPage, endPage);
-            PdfDocument currentDocument = createPdfDocument(currentPageRange);
-            pdfDocument.copyPagesTo(startPage, endPage, currentDocument);
-            documentReady.documentReady(currentDocument, currentPageRange);
+            pageRanges.add(new PageRange().addPageSequence(startPage, endPage));
         }
+        splitByPageRanges(pageRanges, documentReady);
     }
 
     /**
@@ -201,11 +241,7 @@ public class PdfSplitter {
     public List<PdfDocument> extractPageRanges(List<PageRange> pageRanges) {
         List<PdfDocument> splitDocuments = new ArrayList<>();
 
-        for (PageRange currentPageRange : pageRanges) {
-            PdfDocument currentPdfDocument = createPdfDocument(currentPageRange);
-            splitDocuments.add(currentPdfDocument);
-            pdfDocument.copyPagesTo(currentPageRange.getQualifyingPageNums(pdfDocument.getNumberOfPages()), currentPdfDocument);
-        }
+        splitByPageRanges(pageRanges, new SplitReadyListener(splitDocuments));
 
         return splitDocuments;
     }
@@ -245,14 +281,130 @@ public class PdfSplitter {
     }
 
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
+        return createPdfDocument(currentPageRange, pdfDocument.isTagged() && preserveTagged,
+                pdfDocument.hasOutlines() && preserveOutlines);
+    }
+
+    private PdfDocument createPdfDocument(PageRange currentPageRange, boolean tagged, boolean withOutlines) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
-        if (pdfDocument.isTagged() && preserveTagged)
+        if (tagged)
             newDocument.setTagged();
-        if (pdfDocument.hasOutlines() && preserveOutlines)
+        if (withOutlines)
             newDocument.initializeOutlines();
         return newDocument;
     }
 
+    private void splitByPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady) {
+        // the worker threads read the source bytes, which only reflect the document opened in reading mode
+        if (parallelism > 1 && pageRanges.size() > 1 && pdfDocument.getReader() != null
+                && pdfDocument.getWriter() == null) {
+            splitByPageRangesConcurrently(pageRanges, documentReady);
+            return;
+        }
+        for (PageRange currentPageRange : pageRanges) {
+            PdfDocument currentDocument = createPdfDocument(currentPageRange);
+            pdfDocument.copyPagesTo(currentPageRange.getQualifyingPageNums(pdfDocument.getNumberOfPages()), currentDocument);
+            documentReady.documentReady(currentDocument, currentPageRange);
+        }
+    }
+
+    private void splitByPageRangesConcurrently(List<PageRange> pageRanges, IDocumentReadyListener documentReady) {
+        // the source document isn't read by the worker threads, so everything they need is taken from it here
+        int numOfPages = pdfDocument.getNumberOfPages();
+        boolean tagged = pdfDocument.isTagged() && preserveTagged;
+        boolean withOutlines = pdfDocument.hasOutlines() && preserveOutlines;
+        SourceDocumentPool sourceDocuments = new SourceDocumentPool(pdfDocument.getReader(), metaInfo);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        // the parts are created in a window of the parallelism size, so that only a limited number
+        // of the finished parts waits to be passed to the listener
+        List<Future<PdfDocument>> results = new ArrayList<>(pageRanges.size());
+        AtomicBoolean aborted = new AtomicBoolean();
+        PdfDocument undeliveredDocument = null;
+        boolean completed = false;
+        try {
+            while (results.size() < Math.min(parallelism, pageRanges.size())) {
+                results.add(submitSplitTask(executor, sourceDocuments, aborted, pageRanges.get(results.size()),
+                        numOfPages, tagged, withOutlines));
+            }
+            for (int i = 0; i < pageRanges.size(); i++) {
+                PdfDocument currentDocument = waitForSplitResult(results.get(i));
+                results.set(i, null);
+                undeliveredDocument = currentDocument;
+                if (results.size() < pageRanges.size()) {
+                    results.add(submitSplitTask(executor, sourceDocuments, aborted, pageRanges.get(results.size()),
+                            numOfPages, tagged, withOutlines));
+                }
+                undeliveredDocument = null;
+                documentReady.documentReady(currentDocument, pageRanges.get(i));
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                closeQuietly(undeliveredDocument);
+                aborted.set(true);
+                abortSplitTasks(executor, results);
+            }
+            executor.shutdownNow();
+            sourceDocuments.close();
+        }
+    }
+
+    /**
+     * Waits for the split tasks, which don't create documents after the splitting is aborted, and closes all
+     * the documents which were created but are not going to be passed to the listener. The running tasks are not
+     * interrupted, because an interrupted read might close the source shared with the document being split.
+     */
+    private static void abortSplitTasks(ExecutorService executor, List<Future<PdfDocument>> results) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Future<PdfDocument> result : results) {
+            if (result != null && result.isDone() && !result.isCancelled()) {
+                try {
+                    closeQuietly(result.get());
+                } catch (ExecutionException e) {
+                    // the failed task has already closed its document
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(PdfDocument document) {
+        if (document == null) {
+            return;
+        }
+        try {
+            document.close();
+        } catch (RuntimeException e) {
+            // the failure which caused the splitting to stop is more important than this one
+        }
+    }
+
+    private Future<PdfDocument> submitSplitTask(ExecutorService executor, SourceDocumentPool sourceDocuments,
+            AtomicBoolean aborted, PageRange pageRange, int numOfPages, boolean tagged, boolean withOutlines) {
+        return executor.submit(new SplitTask(this, sourceDocuments, aborted, pageRange,
+                pageRange.getQualifyingPageNums(numOfPages), tagged, withOutlines));
+    }
+
+    private static PdfDocument waitForSplitResult(Future<PdfDocument> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * The event listener which is called when another document is ready.
      */
@@ -402,6 +554,115 @@ public class PdfSplitter {
         return 20L * (size + 1);
     }
 
+    private static final class SplitTask implements Callable<PdfDocument> {
+
+        private final PdfSplitter splitter;
+        private final SourceDocumentPool sourceDocuments;
+        private final AtomicBoolean aborted;
+        private final PageRange pageRange;
+        private final List<Integer> pageNumbers;
+        private final boolean tagged;
+        private final boolean withOutlines;
+
+        SplitTask(PdfSplitter splitter, SourceDocumentPool sourceDocuments, AtomicBoolean aborted,
+                PageRange pageRange, List<Integer> pageNumbers, boolean tagged, boolean withOutlines) {
+            this.splitter = splitter;
+            this.sourceDocuments = sourceDocuments;
+            this.aborted = aborted;
+            this.pageRange = pageRange;
+            this.pageNumbers = pageNumbers;
+            this.tagged = tagged;
+            this.withOutlines = withOutlines;
+        }
+
+        @Override
+        public PdfDocument call() {
+            if (aborted.get()) {
+                return null;
+            }
+            PdfDocument currentDocument;
+            synchronized (splitter.writerLock) {
+                currentDocument = splitter.createPdfDocument(pageRange, tagged, withOutlines);
+            }
+            boolean copied = false;
+            try {
+                PdfDocument sourceDocument = sourceDocuments.take();
+                try {
+                    sourceDocument.copyPagesTo(pageNumbers, currentDocument);
+                    // the pooled documents would otherwise keep in memory all the objects ever copied from them
+                    PageFlushingHelper flushingHelper = new PageFlushingHelper(sourceDocument);
+                    for (int pageNumber : pageNumbers) {
+                        flushingHelper.releaseDeep(pageNumber);
+                    }
+                } finally {
+                    sourceDocuments.giveBack(sourceDocument);
+                }
+                copied = true;
+            } finally {
+                if (!copied) {
+                    closeQuietly(currentDocument);
+                }
+            }
+            return currentDocument;
+        }
+    }
+
+    /**
+     * Read-only documents opened on the bytes of the document to be split, each of them is used by one thread
+     * at a time. There are never more documents than threads, because a document is only opened if all the
+     * opened ones are in use.
+     */
+    private static final class SourceDocumentPool {
+
+        private final PdfReader reader;
+        private final IMetaInfo metaInfo;
+        private final List<PdfDocument> idleDocuments = new ArrayList<>();
+        private final Object lock = new Object();
+        private boolean closed;
+
+        SourceDocumentPool(PdfReader reader, IMetaInfo metaInfo) {
+            this.reader = reader;
+            this.metaInfo = metaInfo;
+        }
+
+        PdfDocument take() {
+            PdfReader readerView;
+            synchronized (lock) {
+                if (!idleDocuments.isEmpty()) {
+                    return idleDocuments.remove(idleDocuments.size() - 1);
+                }
+                try {
+                    readerView = reader.createView();
+                } catch (IOException e) {
+                    throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e);
+                }
+            }
+            return new PdfDocument(readerView, new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+        }
+
+        void giveBack(PdfDocument document) {
+            synchronized (lock) {
+                if (!closed) {
+                    idleDocuments.add(document);
+                    return;
+                }
+            }
+            document.close();
+        }
+
+        void close() {
+            List<PdfDocument> documents;
+            synchronized (lock) {
+                closed = true;
+                documents = new ArrayList<>(idleDocuments);
+                idleDocuments.clear();
+            }
+            for (PdfDocument document : documents) {
+                document.close();
+            }
+        }
+    }
+
     private static final class SplitReadyListener implements IDocumentReadyListener {
 
         private List<PdfDocument> splitDocuments;
@@ -0,0 +1,155 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.crypto;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.BouncyCastleUnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(BouncyCastleUnitTest.class)
+public class AESCipherTest extends ExtendedITextTest {
+    private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Test
+    public void encryptWithBuffersDecryptWithArraysTest() {
+        byte[] data = createData(1000);
+        byte[] iv = IVGenerator.getIV();
+
+        AESCipher encryption = new AESCipher(true, KEY, iv);
+        byte[] encrypted = new byte[encryption.getOutputSize(data.length)];
+        int length = encryption.update(data, 0, 300, encrypted, 0);
+        length += encryption.update(data, 300, data.length - 300, encrypted, length);
+        length += encryption.doFinal(encrypted, length);
+        Assert.assertEquals(1008, length);
+
+        AESCipher decryption = new AESCipher(false, KEY, iv);
+        byte[] updated = decryption.update(encrypted, 0, length);
+        byte[] finished = decryption.doFinal();
+        byte[] decrypted = Arrays.copyOf(updated, updated.length + finished.length);
+        System.arraycopy(finished, 0, decrypted, updated.length, finished.length);
+        Assert.assertArrayEquals(data, decrypted);
+    }
+
+    @Test
+    public void nestedCiphersTest() throws IOException {
+        byte[] outerData = createData(100);
+        byte[] innerData = createData(50);
+
+        ByteArrayOutputStream outer = new ByteArrayOutputStream();
+        OutputStreamAesEncryption outerEncryption = new OutputStreamAesEncryption(outer, KEY);
+        outerEncryption.write(outerData, 0, 40);
+        // e.g. a string of an encrypted stream dictionary encrypted while the stream is encrypted
+        ByteArrayOutputStream inner = new ByteArrayOutputStream();
+        OutputStreamAesEncryption innerEncryption = new OutputStreamAesEncryption(inner, KEY);
+        innerEncryption.write(innerData);
+        innerEncryption.finish();
+        outerEncryption.write(outerData, 40, 60);
+        outerEncryption.finish();
+
+        Assert.assertArrayEquals(outerData, decrypt(outer.toByteArray()));
+        Assert.assertArrayEquals(innerData, decrypt(inner.toByteArray()));
+    }
+
+    @Test
+    public void finalizedCipherIsReusedFromPoolTest() {
+        byte[] data = createData(100);
+        byte[] iv = IVGenerator.getIV();
+        AESCipherPool pool = new AESCipherPool();
+
+        AESCipher encryption = new AESCipher(true, KEY, iv, pool);
+        byte[] updated = encryption.update(data, 0, data.length);
+        byte[] finished = encryption.doFinal();
+        Assert.assertEquals(1, pool.size());
+        // the cipher is put back only once
+        encryption.doFinal();
+        Assert.assertEquals(1, pool.size());
+
+        byte[] encrypted = Arrays.copyOf(updated, updated.length + finished.length);
+        System.arraycopy(finished, 0, encrypted, updated.length, finished.length);
+        AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length, pool);
+        byte[] decryptedUpdated = decryptor.update(iv, 0, iv.length);
+        Assert.assertNull(decryptedUpdated);
+        Assert.assertEquals(0, pool.size());
+        decryptedUpdated = decryptor.update(encrypted, 0, encrypted.length);
+        byte[] decryptedFinished = decryptor.finish();
+        Assert.assertEquals(1, pool.size());
+        byte[] decrypted = Arrays.copyOf(decryptedUpdated, decryptedUpdated.length + decryptedFinished.length);
+        System.arraycopy(decryptedFinished, 0, decrypted, decryptedUpdated.length, decryptedFinished.length);
+        Assert.assertArrayEquals(data, decrypted);
+    }
+
+    @Test
+    public void nestedCiphersWithPoolTest() throws IOException {
+        byte[] outerData = createData(100);
+        byte[] innerData = createData(50);
+        AESCipherPool pool = new AESCipherPool();
+
+        ByteArrayOutputStream outer = new ByteArrayOutputStream();
+        OutputStreamAesEncryption outerEncryption = new OutputStreamAesEncryption(outer, KEY, 0, KEY.length, pool);
+        outerEncryption.write(outerData, 0, 40);
+        ByteArrayOutputStream inner = new ByteArrayOutputStream();
+        OutputStreamAesEncryption innerEncryption = new OutputStreamAesEncryption(inner, KEY, 0, KEY.length, pool);
+        innerEncryption.write(innerData);
+        innerEncryption.finish();
+        // the finished inner cipher is in the pool while the outer one is still in use
+        Assert.assertEquals(1, pool.size());
+        outerEncryption.write(outerData, 40, 60);
+        outerEncryption.finish();
+        Assert.assertEquals(2, pool.size());
+
+        Assert.assertArrayEquals(outerData, decrypt(outer.toByteArray()));
+        Assert.assertArrayEquals(innerData, decrypt(inner.toByteArray()));
+    }
+
+    @Test
+    public void decryptBadPaddingTest() {
+        AESCipher decryption = new AESCipher(false, KEY, new byte[16]);
+        byte[] out = new byte[decryption.getOutputSize(16)];
+        Assert.assertEquals(0, decryption.update(new byte[16], 0, 16, out, 0));
+        Assert.assertEquals(0, decryption.doFinal(out, 0));
+    }
+
+    private static byte[] decrypt(byte[] encrypted) {
+        AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length);
+        byte[] updated = decryptor.update(encrypted, 0, encrypted.length);
+        byte[] finished = decryptor.finish();
+        byte[] decrypted = Arrays.copyOf(updated, updated.length + finished.length);
+        System.arraycopy(finished, 0, decrypted, updated.length, finished.length);
+        return decrypted;
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + length);
+        }
+        return data;
+    }
+}
@@ -32,19 +32,27 @@ import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.logs.KernelLogMessageConstant;
 import com.itextpdf.kernel.pdf.EncryptionConstants;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfVersion;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
 import com.itextpdf.kernel.pdf.WriterProperties;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.BouncyCastleIntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -150,6 +158,36 @@ public class PdfEncryptingTest extends ExtendedITextTest {
                 KernelExceptionMessageConstant.ALGORITHM_IS_NOT_SUPPORTED, "1.2.840.10045.2.1"), exceptionTest);
     }
 
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = KernelLogMessageConstant.MD5_IS_NOT_FIPS_COMPLIANT), ignore = true)
+    public void encryptStreamsInParallelAes256() throws IOException {
+        WriterProperties writerProperties = new WriterProperties()
+                .setStandardEncryption(USER_PASSWORD, OWNER_PASSWORD, -1, EncryptionConstants.ENCRYPTION_AES_256)
+                .setStreamEncodingParallelism(4);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos, writerProperties))) {
+            for (int i = 0; i < 50; i++) {
+                PdfFormXObject xObject = new PdfFormXObject(new Rectangle(100, 100));
+                new PdfCanvas(xObject, document).beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 16)
+                        .moveText(10, 50)
+                        .showText("Page " + i)
+                        .endText();
+                new PdfCanvas(document.addNewPage()).addXObjectAt(xObject, 36, 700);
+            }
+        }
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setPassword(USER_PASSWORD)))) {
+            Assert.assertEquals(50, document.getNumberOfPages());
+            for (int i = 0; i < 50; i++) {
+                PdfStream xObject = document.getPage(i + 1).getResources().getResource(PdfName.XObject)
+                        .getAsStream(new PdfName("Fm1"));
+                String content = new String(xObject.getBytes(), StandardCharsets.ISO_8859_1);
+                Assert.assertTrue(content.contains("(Page " + i + ")"));
+            }
+        }
+    }
+
     private void encryptWithPassword(String fileName, int encryptionType, boolean pdf2)
             throws IOException, InterruptedException {
         WriterProperties writerProperties = new WriterProperties()
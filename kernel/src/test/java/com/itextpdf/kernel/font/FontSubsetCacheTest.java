@@ -0,0 +1,184 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class FontSubsetCacheTest extends ExtendedITextTest {
+
+    private static final String TYPE0_FONT = PdfType0FontTest.SOURCE_FOLDER + "NotoSerif-Regular_v1.7.ttf";
+    private static final String TRUE_TYPE_FONT = PdfTrueTypeFontTest.SOURCE_FOLDER + "NotoSans-Regular.ttf";
+
+    @Test
+    public void type0FontSubsetIsReusedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(TYPE0_FONT);
+        FontSubsetCache cache = new FontSubsetCache();
+        WriterProperties cachingProperties = new WriterProperties().setFontSubsetCache(cache);
+
+        byte[] expected = createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Hello World", new WriterProperties());
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Hello World", cachingProperties);
+        Assert.assertEquals(1, cache.size());
+        byte[] actual = createDocument(fontProgram, PdfEncodings.IDENTITY_H, "World Hello", cachingProperties);
+        Assert.assertEquals(1, cache.size());
+
+        PdfDictionary expectedCidFont = getFont(expected).getAsArray(PdfName.DescendantFonts).getAsDictionary(0);
+        PdfDictionary actualCidFont = getFont(actual).getAsArray(PdfName.DescendantFonts).getAsDictionary(0);
+        Assert.assertEquals(expectedCidFont.get(PdfName.W).toString(), actualCidFont.get(PdfName.W).toString());
+        assertFontFilesEqual(expectedCidFont.getAsDictionary(PdfName.FontDescriptor),
+                actualCidFont.getAsDictionary(PdfName.FontDescriptor), PdfName.FontFile2);
+
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Another text", cachingProperties);
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void trueTypeFontSubsetIsReusedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(TRUE_TYPE_FONT);
+        FontSubsetCache cache = new FontSubsetCache();
+        WriterProperties cachingProperties = new WriterProperties().setFontSubsetCache(cache);
+
+        byte[] expected = createDocument(fontProgram, PdfEncodings.WINANSI, "Hello World", new WriterProperties());
+        createDocument(fontProgram, PdfEncodings.WINANSI, "Hello World", cachingProperties);
+        byte[] actual = createDocument(fontProgram, PdfEncodings.WINANSI, "Hello World", cachingProperties);
+        Assert.assertEquals(1, cache.size());
+
+        assertFontFilesEqual(getFont(expected).getAsDictionary(PdfName.FontDescriptor),
+                getFont(actual).getAsDictionary(PdfName.FontDescriptor), PdfName.FontFile2);
+    }
+
+    @Test
+    public void subsetIsNotCompressedWithoutCompressionTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(TYPE0_FONT);
+        FontSubsetCache cache = new FontSubsetCache();
+        WriterProperties cachingProperties = new WriterProperties().setFontSubsetCache(cache)
+                .setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Hello World", cachingProperties);
+        byte[] actual = createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Hello World", cachingProperties);
+
+        PdfStream fontFile = getFont(actual).getAsArray(PdfName.DescendantFonts).getAsDictionary(0)
+                .getAsDictionary(PdfName.FontDescriptor).getAsStream(PdfName.FontFile2);
+        Assert.assertNull(fontFile.get(PdfName.Filter));
+        Assert.assertEquals(fontFile.getAsNumber(PdfName.Length1).intValue(), fontFile.getBytes().length);
+    }
+
+    @Test
+    public void firstAddedSubsetIsDroppedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(TYPE0_FONT);
+        FontSubsetCache cache = new FontSubsetCache(2);
+        WriterProperties cachingProperties = new WriterProperties().setFontSubsetCache(cache);
+
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "a", cachingProperties);
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "b", cachingProperties);
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "c", cachingProperties);
+        Assert.assertEquals(2, cache.size());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void wholeType0FontProgramIsCachedOnceTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(TYPE0_FONT);
+        FontSubsetCache cache = new FontSubsetCache();
+        WriterProperties cachingProperties = new WriterProperties().setFontSubsetCache(cache);
+
+        createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Hello World", cachingProperties, false);
+        byte[] expected = createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Another text",
+                new WriterProperties(), false);
+        byte[] actual = createDocument(fontProgram, PdfEncodings.IDENTITY_H, "Another text", cachingProperties, false);
+        Assert.assertEquals(1, cache.size());
+
+        PdfDictionary expectedCidFont = getFont(expected).getAsArray(PdfName.DescendantFonts).getAsDictionary(0);
+        PdfDictionary actualCidFont = getFont(actual).getAsArray(PdfName.DescendantFonts).getAsDictionary(0);
+        Assert.assertEquals(expectedCidFont.get(PdfName.W).toString(), actualCidFont.get(PdfName.W).toString());
+        assertFontFilesEqual(expectedCidFont.getAsDictionary(PdfName.FontDescriptor),
+                actualCidFont.getAsDictionary(PdfName.FontDescriptor), PdfName.FontFile2);
+    }
+
+    @Test
+    public void invalidMaxSizeTest() {
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> new FontSubsetCache(0));
+        Assert.assertEquals(KernelExceptionMessageConstant.FONT_SUBSET_CACHE_MAX_SIZE_SHALL_BE_POSITIVE,
+                e.getMessage());
+    }
+
+    private static byte[] createDocument(FontProgram fontProgram, String encoding, String text,
+            WriterProperties properties) {
+        return createDocument(fontProgram, encoding, text, properties, true);
+    }
+
+    private static byte[] createDocument(FontProgram fontProgram, String encoding, String text,
+            WriterProperties properties, boolean subset) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        PdfFont font = PdfFontFactory.createFont(fontProgram, encoding);
+        font.setSubset(subset);
+        new PdfCanvas(pdfDocument.addNewPage())
+                .beginText()
+                .setFontAndSize(font, 12)
+                .moveText(36, 700)
+                .showText(text)
+                .endText();
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static PdfDictionary getFont(byte[] document) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)));
+        PdfDictionary fonts = pdfDocument.getPage(1).getResources().getResource(PdfName.Font);
+        return fonts.getAsDictionary(fonts.keySet().iterator().next());
+    }
+
+    private static void assertFontFilesEqual(PdfDictionary expectedDescriptor, PdfDictionary actualDescriptor,
+            PdfName fontFileKey) {
+        PdfStream expectedFontFile = expectedDescriptor.getAsStream(fontFileKey);
+        PdfStream actualFontFile = actualDescriptor.getAsStream(fontFileKey);
+        Assert.assertEquals(PdfName.FlateDecode, actualFontFile.getAsName(PdfName.Filter));
+        Assert.assertEquals(expectedFontFile.getAsNumber(PdfName.Length1), actualFontFile.getAsNumber(PdfName.Length1));
+        Assert.assertArrayEquals(expectedFontFile.getBytes(), actualFontFile.getBytes());
+        Assert.assertArrayEquals(expectedFontFile.getBytes(false), actualFontFile.getBytes(false));
+    }
+}
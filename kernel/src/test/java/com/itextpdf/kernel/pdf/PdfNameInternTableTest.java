@@ -0,0 +1,97 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfNameInternTableTest extends ExtendedITextTest {
+
+    @Test
+    public void staticNamesLookupTest() {
+        byte[] buffer = ByteUtils.getIsoBytes("xxTypeyy");
+        Assert.assertSame(PdfName.Type, PdfName.staticNamesTable.get(buffer, 2, 4));
+        Assert.assertNull(PdfName.staticNamesTable.get(buffer, 2, 3));
+        Assert.assertEquals(PdfName.staticNames.size(), PdfName.staticNamesTable.size());
+    }
+
+    @Test
+    public void internCustomNameTest() {
+        PdfNameInternTable table = new PdfNameInternTable(10);
+        byte[] buffer = ByteUtils.getIsoBytes("/CustomName/");
+        PdfName name = table.intern(buffer, 1, 10);
+        Assert.assertEquals(new PdfName("CustomName"), name);
+        Assert.assertTrue(name.directOnly);
+
+        // the table does not keep a reference to the passed buffer
+        Arrays.fill(buffer, (byte) 'x');
+        Assert.assertSame(name, table.intern(ByteUtils.getIsoBytes("CustomName"), 0, 10));
+        Assert.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void internGrowsUpToMaxSizeTest() {
+        PdfNameInternTable table = new PdfNameInternTable(100);
+        for (int i = 0; i < 150; i++) {
+            byte[] content = ByteUtils.getIsoBytes("Name" + i);
+            PdfName name = table.intern(content, 0, content.length);
+            if (i < 100) {
+                Assert.assertEquals(new PdfName("Name" + i), name);
+            } else {
+                Assert.assertNull(name);
+            }
+        }
+        Assert.assertEquals(100, table.size());
+        for (int i = 0; i < 100; i++) {
+            byte[] content = ByteUtils.getIsoBytes("Name" + i);
+            Assert.assertEquals(new PdfName("Name" + i), table.get(content, 0, content.length));
+        }
+    }
+
+    @Test
+    public void readerSharesDirectNamesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            pdfDocument.addNewPage().getPdfObject().put(new PdfName("CustomKey"), new PdfName("Custom Value"));
+            pdfDocument.addNewPage().getPdfObject().put(new PdfName("CustomKey"), new PdfName("Custom Value"));
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfName value1 = pdfDocument.getPage(1).getPdfObject().getAsName(new PdfName("CustomKey"));
+            PdfName value2 = pdfDocument.getPage(2).getPdfObject().getAsName(new PdfName("CustomKey"));
+            Assert.assertEquals(new PdfName("Custom Value"), value1);
+            Assert.assertSame(value1, value2);
+            Assert.assertSame(PdfName.Page, pdfDocument.getPage(1).getPdfObject().getAsName(PdfName.Type));
+        }
+    }
+}
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.font.PdfFontFactory;
@@ -35,6 +36,7 @@ import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -176,6 +178,173 @@ public class PdfNameTreeTest extends ExtendedITextTest {
        doc.close();
     }
 
+    @Test
+    public void getEntryReadsOnlyNodesOnPathTest() throws IOException {
+        byte[] sourceFile = createDocumentWithDestinations(5000);
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sourceFile)));
+        PdfNameTree nameTree = pdfDoc.getCatalog().getNameTree(PdfName.Dests);
+        PdfArray destination = (PdfArray) nameTree.getEntry(getDestinationName(3217));
+        Assert.assertEquals(3217, destination.getAsNumber(0).intValue());
+
+        int readObjects = 0;
+        for (int i = 1; i < pdfDoc.getXref().size(); i++) {
+            PdfIndirectReference reference = pdfDoc.getXref().get(i);
+            if (reference != null && reference.refersTo != null) {
+                readObjects++;
+            }
+        }
+        // the tree has more than 125 nodes, but only the nodes on the path
+        // and some of their siblings for the binary search are read
+        Assert.assertTrue("Read objects: " + readObjects, readObjects < 40);
+
+        // a missing key is looked up in all the entries, in case the tree is not sorted properly
+        Assert.assertNull(nameTree.getEntry("dest_03217a"));
+        Assert.assertNull(nameTree.getEntry("a"));
+        Assert.assertNull(nameTree.getEntry("z"));
+        Assert.assertEquals(5000, nameTree.getNames().size());
+        Assert.assertEquals(destination, nameTree.getEntry(getDestinationName(3217)));
+        pdfDoc.close();
+    }
+
+    @Test
+    public void addEntryInAppendModeWritesOnlyModifiedLeafTest() throws IOException {
+        byte[] sourceFile = createDocumentWithDestinations(5000);
+        ByteArrayOutputStream modifiedFile = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sourceFile)),
+                new PdfWriter(modifiedFile), new StampingProperties().useAppendMode());
+        pdfDoc.getCatalog().getNameTree(PdfName.Dests).addEntry("dest_02500a",
+                new PdfArray(new float[] {-1, 0, 0, 0}));
+        pdfDoc.getCatalog().getNameTree(PdfName.Dests).addEntry("zzz",
+                new PdfArray(new float[] {-2, 0, 0, 0}));
+        pdfDoc.close();
+
+        // rebuilding the whole tree would append all 5000 destinations again
+        Assert.assertTrue(modifiedFile.size() - sourceFile.length < 10000);
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(modifiedFile.toByteArray())));
+        PdfNameTree nameTree = pdfDoc.getCatalog().getNameTree(PdfName.Dests);
+        Assert.assertEquals(-1, ((PdfArray) nameTree.getEntry("dest_02500a")).getAsNumber(0).intValue());
+        Assert.assertEquals(-2, ((PdfArray) nameTree.getEntry("zzz")).getAsNumber(0).intValue());
+        Assert.assertEquals(2500, ((PdfArray) nameTree.getEntry(getDestinationName(2500))).getAsNumber(0).intValue());
+        Assert.assertEquals(5002, nameTree.getNames().size());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void removeEntryInAppendModeWritesOnlyModifiedLeafTest() throws IOException {
+        byte[] sourceFile = createDocumentWithDestinations(5000);
+        ByteArrayOutputStream modifiedFile = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sourceFile)),
+                new PdfWriter(modifiedFile), new StampingProperties().useAppendMode());
+        pdfDoc.getCatalog().getNameTree(PdfName.Dests).removeEntry(new PdfString(getDestinationName(1234)));
+        pdfDoc.close();
+
+        Assert.assertTrue(modifiedFile.size() - sourceFile.length < 10000);
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(modifiedFile.toByteArray())));
+        PdfNameTree nameTree = pdfDoc.getCatalog().getNameTree(PdfName.Dests);
+        Assert.assertNull(nameTree.getEntry(getDestinationName(1234)));
+        Assert.assertNotNull(nameTree.getEntry(getDestinationName(1235)));
+        Assert.assertEquals(4999, nameTree.getNames().size());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void addEntryInAppendModeKeepsByteOrderTest() throws IOException {
+        byte[] sourceFile = createDocumentWithDestinations(500);
+        ByteArrayOutputStream modifiedFile = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sourceFile)),
+                new PdfWriter(modifiedFile), new StampingProperties().useAppendMode());
+        // the key is less than the other keys as a string, but its UTF-16BE bytes are greater
+        PdfString unicodeKey = new PdfString("a\u03A9", PdfEncodings.UNICODE_BIG);
+        pdfDoc.getCatalog().getNameTree(PdfName.Dests).addEntry(unicodeKey, new PdfArray(new float[] {-1, 0, 0, 0}));
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(modifiedFile.toByteArray())));
+        PdfDictionary treeRoot = pdfDoc.getCatalog().getPdfObject().getAsDictionary(PdfName.Names)
+                .getAsDictionary(PdfName.Dests);
+        List<byte[]> keys = new ArrayList<>();
+        collectNameTreeKeys(treeRoot, keys);
+        Assert.assertEquals(501, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            Assert.assertTrue(compareUnsigned(keys.get(i - 1), keys.get(i)) < 0);
+        }
+        Assert.assertArrayEquals(unicodeKey.getValueBytes(), keys.get(keys.size() - 1));
+        pdfDoc.close();
+    }
+
+    @Test
+    public void getEntryFromUnsortedTreeTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        pdfDoc.addNewPage();
+        PdfDictionary firstKid = new PdfDictionary();
+        firstKid.put(PdfName.Limits, new PdfArray(Arrays.<PdfObject>asList(new PdfString("a"), new PdfString("b"))));
+        // the key "e" is out of the limits of its leaf
+        firstKid.put(PdfName.Names, new PdfArray(Arrays.<PdfObject>asList(new PdfString("a"), new PdfNumber(1),
+                new PdfString("b"), new PdfNumber(2), new PdfString("e"), new PdfNumber(5))));
+        PdfDictionary secondKid = new PdfDictionary();
+        secondKid.put(PdfName.Limits, new PdfArray(Arrays.<PdfObject>asList(new PdfString("c"), new PdfString("d"))));
+        secondKid.put(PdfName.Names, new PdfArray(Arrays.<PdfObject>asList(new PdfString("c"), new PdfNumber(3),
+                new PdfString("d"), new PdfNumber(4))));
+        PdfDictionary treeRoot = new PdfDictionary();
+        treeRoot.put(PdfName.Kids, new PdfArray(Arrays.<PdfObject>asList(firstKid.makeIndirect(pdfDoc),
+                secondKid.makeIndirect(pdfDoc))));
+        PdfDictionary names = new PdfDictionary();
+        names.put(PdfName.JavaScript, treeRoot);
+        pdfDoc.getCatalog().put(PdfName.Names, names);
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfNameTree nameTree = pdfDoc.getCatalog().getNameTree(PdfName.JavaScript);
+        Assert.assertEquals(3, ((PdfNumber) nameTree.getEntry("c")).intValue());
+        Assert.assertEquals(5, ((PdfNumber) nameTree.getEntry("e")).intValue());
+        Assert.assertNull(nameTree.getEntry("f"));
+        pdfDoc.close();
+    }
+
+    private static void collectNameTreeKeys(PdfDictionary node, List<byte[]> keys) {
+        PdfArray names = node.getAsArray(PdfName.Names);
+        if (names != null) {
+            for (int i = 0; i < names.size(); i += 2) {
+                keys.add(names.getAsString(i).getValueBytes());
+            }
+        }
+        PdfArray kids = node.getAsArray(PdfName.Kids);
+        if (kids != null) {
+            for (int i = 0; i < kids.size(); i++) {
+                collectNameTreeKeys(kids.getAsDictionary(i), keys);
+            }
+        }
+    }
+
+    private static int compareUnsigned(byte[] bytes1, byte[] bytes2) {
+        for (int i = 0; i < Math.min(bytes1.length, bytes2.length); i++) {
+            int diff = (bytes1[i] & 0xff) - (bytes2[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return bytes1.length - bytes2.length;
+    }
+
+    private static byte[] createDocumentWithDestinations(int count) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        pdfDoc.addNewPage();
+        for (int i = 0; i < count; i++) {
+            pdfDoc.getCatalog().getNameTree(PdfName.Dests).addEntry(getDestinationName(i),
+                    new PdfArray(new float[] {i, 0, 0, 0}));
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static String getDestinationName(int i) {
+        String number = "0000" + i;
+        return "dest_" + number.substring(number.length() - 5);
+    }
+
     private static void testSetModified(boolean isAppendMode) throws IOException {
         PdfString[] expectedKeys = {
                 new PdfString("new_key1"),
@@ -0,0 +1,61 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfNumTreeTest extends ExtendedITextTest {
+
+    @Test
+    public void getEntryMatchesNumbersTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < 2000; i++) {
+            pdfDoc.addNewPage();
+            // every third page gets a label, so that the tree has gaps
+            if (i % 3 == 0) {
+                pdfDoc.getPage(i + 1).setPageLabel(PageLabelNumberingStyle.DECIMAL_ARABIC_NUMERALS, "p" + i);
+            }
+        }
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfNumTree lazyTree = new PdfNumTree(pdfDoc.getCatalog(), PdfName.PageLabels);
+        Map<Integer, PdfObject> numbers = new PdfNumTree(pdfDoc.getCatalog(), PdfName.PageLabels).getNumbers();
+        Assert.assertEquals(667, numbers.size());
+        for (int i = -1; i <= 2000; i++) {
+            Assert.assertEquals(numbers.get(i), lazyTree.getEntry(i));
+        }
+        pdfDoc.close();
+    }
+}
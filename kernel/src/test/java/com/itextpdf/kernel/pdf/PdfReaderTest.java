@@ -29,10 +29,13 @@ import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.FileRangeFetcher;
 import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IRangeFetcher;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.RangeRequestRandomAccessSource;
 import com.itextpdf.kernel.exceptions.InvalidXRefPrevException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
@@ -451,6 +454,138 @@ public class PdfReaderTest extends ExtendedITextTest {
         document.close();
     }
 
+    @Test
+    public void readPageThroughRangeRequestsTest() throws IOException {
+        File file = new File(SOURCE_FOLDER + "1000PagesDocument.pdf");
+        final long[] fetchedBytes = new long[1];
+        IRangeFetcher fetcher = new FileRangeFetcher(file) {
+            @Override
+            public int fetch(long position, byte[] bytes, int off, int len) throws IOException {
+                int fetched = super.fetch(position, bytes, off, len);
+                fetchedBytes[0] += Math.max(fetched, 0);
+                return fetched;
+            }
+        };
+        IRandomAccessSource source = new RangeRequestRandomAccessSource(fetcher, 4096, 64, 4);
+        try (PdfDocument document = new PdfDocument(new PdfReader(source, new ReaderProperties()))) {
+            Assert.assertEquals(1000, document.getNumberOfPages());
+            String content = new String(document.getPage(500).getContentStream(0).getBytes());
+            Assert.assertTrue(content.contains("(500)"));
+        }
+        Assert.assertTrue(fetchedBytes[0] < file.length() / 2);
+    }
+
+    @Test
+    public void readStreamSpilledToTempFileTest() throws IOException {
+        ReaderProperties properties = new ReaderProperties().setInMemoryThreshold(1024);
+        try (InputStream is = FileUtil.getInputStreamForFile(SOURCE_FOLDER + "1000PagesDocument.pdf");
+                PdfDocument document = new PdfDocument(new PdfReader(is, properties))) {
+            Assert.assertEquals(1000, document.getNumberOfPages());
+            String content = new String(document.getPage(1000).getContentStream(0).getBytes());
+            Assert.assertTrue(content.contains("(1000)"));
+        }
+    }
+
+    @Test
+    public void readStreamWithNullPropertiesTest() throws IOException {
+        try (InputStream is = FileUtil.getInputStreamForFile(SOURCE_FOLDER + "1000PagesDocument.pdf");
+                PdfDocument document = new PdfDocument(new PdfReader(is, null))) {
+            Assert.assertEquals(1000, document.getNumberOfPages());
+            Assert.assertNotNull(document.getReader().properties);
+        }
+    }
+
+    @Test
+    public void objectStreamElementsAreReadLazilyTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        try (PdfDocument document = new PdfDocument(new PdfReader(filename))) {
+            PdfPage page = document.getPage(500);
+            Assert.assertTrue(new String(page.getContentStream(0).getBytes()).contains("(500)"));
+
+            int loadedObjects = 0;
+            for (int i = 1; i < document.getXref().size(); i++) {
+                PdfIndirectReference reference = document.getXref().get(i);
+                if (reference != null && reference.getObjStreamNumber() > 0 && reference.refersTo != null) {
+                    ++loadedObjects;
+                }
+            }
+            // only the page, its parents and the objects of the catalog are read, not whole object streams
+            Assert.assertTrue(loadedObjects < 50);
+
+            PdfIndirectReference pageReference = page.getPdfObject().getIndirectReference();
+            PdfDictionary pageDictionary = page.getPdfObject();
+            pageReference.refersTo = null;
+            document.getReader().releaseDecodedObjectStreams();
+            PdfDictionary reread = (PdfDictionary) pageReference.getRefersTo();
+            Assert.assertNotSame(pageDictionary, reread);
+            Assert.assertEquals(pageDictionary.getAsArray(PdfName.MediaBox).toString(),
+                    reread.getAsArray(PdfName.MediaBox).toString());
+        }
+    }
+
+    @Test
+    public void referencesAreCreatedOnRequestTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocument.pdf";
+        try (PdfDocument document = new PdfDocument(new PdfReader(filename))) {
+            Assert.assertEquals(1000, document.getNumberOfPages());
+
+            // only the objects needed to open the document are referenced, not all the 3000+ objects
+            int createdReferences = 0;
+            for (int i = 0; i < document.getXref().size(); i++) {
+                if (document.getXref().getCreatedReference(i) != null) {
+                    ++createdReferences;
+                }
+            }
+            Assert.assertTrue(createdReferences < 100);
+            Assert.assertEquals(document.getNumberOfPdfObjects() - 1, document.getXref().getCountOfIndirectObjects());
+        }
+    }
+
+    @Test
+    public void objectStreamMembersAreReadThroughReadObjectStreamTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        ObjectStreamCountingReader reader = new ObjectStreamCountingReader(filename);
+        try (PdfDocument document = new PdfDocument(reader)) {
+            int calls = reader.readObjectStreamCalls;
+            document.getPage(500).getPdfObject();
+            Assert.assertTrue(reader.readObjectStreamCalls > calls);
+        }
+    }
+
+    @Test
+    public void memorySavingModeKeepsLastObjectStreamTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        ObjectStreamCountingReader reader = new ObjectStreamCountingReader(filename);
+        reader.setMemorySavingMode(true);
+        try (PdfDocument document = new PdfDocument(reader)) {
+            PdfXrefTable xref = document.getXref();
+            List<PdfIndirectReference> members = new ArrayList<>();
+            PdfIndirectReference otherStreamMember = null;
+            for (int i = 1; i < xref.size(); i++) {
+                PdfIndirectReference reference = xref.get(i);
+                if (reference == null || reference.getObjStreamNumber() == 0 || reference.refersTo != null) {
+                    continue;
+                }
+                if (members.isEmpty() || reference.getObjStreamNumber() == members.get(0).getObjStreamNumber()) {
+                    members.add(reference);
+                } else if (otherStreamMember == null) {
+                    otherStreamMember = reference;
+                }
+            }
+            Assert.assertTrue(members.size() > 1);
+            Assert.assertNotNull(otherStreamMember);
+
+            // only the last decoded stream is kept, so this read evicts any other one
+            Assert.assertNotNull(otherStreamMember.getRefersTo());
+            int decodedObjectStreams = reader.decodedObjectStreams;
+            for (PdfIndirectReference member : members) {
+                Assert.assertNotNull(member.getRefersTo());
+            }
+            // the stream is decoded once and then reused for all its members
+            Assert.assertEquals(decodedObjectStreams + 1, reader.decodedObjectStreams);
+        }
+    }
+
     @Test
     public void pagesTest01() throws IOException {
         String filename = SOURCE_FOLDER + "1000PagesDocument.pdf";
@@ -948,14 +1083,14 @@ public class PdfReaderTest extends ExtendedITextTest {
         String filename = SOURCE_FOLDER + "CompressionWrongObjStm.pdf";
 
         PdfReader reader = new PdfReader(filename);
-        boolean exception = false;
-        try {
-            new PdfDocument(reader);
-        } catch (PdfException ex) {
-            exception = true;
-        }
-
-        Assert.assertTrue(exception);
+        // objects are read from object streams one by one, so only reading of the broken object fails
+        PdfDocument document = new PdfDocument(reader);
+        Assert.assertEquals(10, document.getNumberOfPages());
+        Assert.assertNotNull(document.getPdfObject(32));
+        // the broken object is still reported, at the moment it is accessed for the first time
+        Assert.assertNull(document.getXref().get(34).refersTo);
+        Exception e = Assert.assertThrows(PdfException.class, () -> document.getPdfObject(34));
+        Assert.assertEquals(KernelExceptionMessageConstant.UNEXPECTED_END_OF_FILE, e.getMessage());
         reader.close();
     }
 
@@ -1413,6 +1548,54 @@ public class PdfReaderTest extends ExtendedITextTest {
         document.close();
     }
 
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT))
+    public void appendModeWith10PagesFix1ConcurrentRebuildTest() throws IOException {
+        String filename = SOURCE_FOLDER + "10PagesDocumentAppendedFix1.pdf";
+
+        PdfReader reader = new PdfReader(filename).setXrefRebuildParallelism(4);
+        PdfDocument document = new PdfDocument(reader);
+        Assert.assertTrue("Need rebuildXref()", reader.hasRebuiltXref());
+        Assert.assertEquals(10, document.getNumberOfPages());
+        for (int i = 1; i < document.getNumberOfPages() + 1; i++) {
+            String content = new String(document.getPage(i).getContentStream(2).getBytes());
+            Assert.assertTrue(content.contains("Append mode"));
+        }
+        Assert.assertNotNull("Invalid trailer", document.getTrailer().get(PdfName.ID));
+
+        document.close();
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT, count = 5))
+    public void concurrentRebuildMatchesSequentialRebuildTest() throws IOException {
+        String filename = SOURCE_FOLDER + "10PagesDocumentAppendedFix1.pdf";
+
+        assertConcurrentRebuildMatchesSequential(Files.readAllBytes(Paths.get(filename)));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT, count = 5))
+    public void concurrentRebuildObjectOnTrailerLineTest() throws IOException {
+        String pdf = createDocumentWithBrokenXref("3 0 obj",
+                "trailer\n<</Size 5/Root 1 0 R>> 4 0 obj\n<</Producer (4 0 obj)>>\nendobj\n");
+
+        assertConcurrentRebuildMatchesSequential(pdf.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT, count = 5))
+    public void concurrentRebuildBrokenTrailerTest() throws IOException {
+        String pdf = createDocumentWithBrokenXref("trailer 3 0 obj",
+                "trailer\n<</Size 4/Root 1 0 R>>\n");
+
+        assertConcurrentRebuildMatchesSequential(pdf.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
     @Test
     @LogMessages(messages = @LogMessage(messageTemplate =
             IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT))
@@ -2895,4 +3078,61 @@ public class PdfReaderTest extends ExtendedITextTest {
             return getXmpMetadataCounter;
         }
     }
+
+    private static String createDocumentWithBrokenXref(String pageObjectHeader, String trailer) {
+        return "%PDF-1.7\n"
+                + "1 0 obj\n<</Type/Catalog/Pages 2 0 R>>\nendobj\n"
+                + "2 0 obj\n<</Type/Pages/Kids[3 0 R]/Count 1>>\nendobj\n"
+                + pageObjectHeader + "\n<</Type/Page/Parent 2 0 R/MediaBox[0 0 100 100]>>\nendobj\n"
+                + trailer
+                + "startxref\n9999\n%%EOF\n";
+    }
+
+    private static void assertConcurrentRebuildMatchesSequential(byte[] pdf) throws IOException {
+        PdfDocument expected = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        Assert.assertTrue(expected.getReader().hasRebuiltXref());
+        // very small ranges make the lines cross their boundaries
+        for (int parallelism : new int[] {2, 3, 7, 100}) {
+            PdfReader reader = new PdfReader(new ByteArrayInputStream(pdf)).setXrefRebuildParallelism(parallelism);
+            PdfDocument document = new PdfDocument(reader);
+            Assert.assertTrue(reader.hasRebuiltXref());
+            Assert.assertEquals(expected.getXref().size(), document.getXref().size());
+            for (int i = 1; i < expected.getXref().size(); i++) {
+                PdfIndirectReference expectedReference = expected.getXref().get(i);
+                PdfIndirectReference reference = document.getXref().get(i);
+                if (expectedReference == null) {
+                    Assert.assertNull(reference);
+                } else {
+                    Assert.assertEquals(expectedReference.getGenNumber(), reference.getGenNumber());
+                    Assert.assertEquals(expectedReference.getOffset(), reference.getOffset());
+                }
+            }
+            Assert.assertEquals(expected.getTrailer().toString(), document.getTrailer().toString());
+            document.close();
+        }
+        expected.close();
+    }
+
+    private static class ObjectStreamCountingReader extends PdfReader {
+        int readObjectStreamCalls;
+        int decodedObjectStreams;
+
+        ObjectStreamCountingReader(String filename) throws IOException {
+            super(filename);
+        }
+
+        @Override
+        protected void readObjectStream(PdfStream objectStream) throws IOException {
+            ++readObjectStreamCalls;
+            super.readObjectStream(objectStream);
+        }
+
+        @Override
+        public byte[] readStreamBytes(PdfStream stream, boolean decode) throws IOException {
+            if (PdfName.ObjStm.equals(stream.getAsName(PdfName.Type))) {
+                ++decodedObjectStreams;
+            }
+            return super.readStreamBytes(stream, decode);
+        }
+    }
 }
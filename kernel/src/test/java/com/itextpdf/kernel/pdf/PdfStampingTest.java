@@ -30,7 +30,9 @@ import com.itextpdf.kernel.events.IEventHandler;
 import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.logs.KernelLogMessageConstant;
+import com.itextpdf.kernel.pdf.annot.PdfTextAnnotation;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
@@ -45,6 +47,7 @@ import com.itextpdf.test.annotations.type.IntegrationTest;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -1317,7 +1320,80 @@ public class PdfStampingTest extends ExtendedITextTest {
 
     }
 
-    
+    @Test
+    public void stampingAppendIncrementalUpdateOnly() throws IOException {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(original));
+        for (int i = 0; i < 10; i++) {
+            pdfDoc1.addNewPage().getFirstContentStream().getOutputStream().writeString("%Page " + i + "\n");
+        }
+        pdfDoc1.close();
+        byte[] originalBytes = original.toByteArray();
+
+        ByteArrayOutputStream fullAppend = new ByteArrayOutputStream();
+        addAnnotationToFifthPage(originalBytes, fullAppend, new StampingProperties().useAppendMode());
+        ByteArrayOutputStream incrementalUpdate = new ByteArrayOutputStream();
+        addAnnotationToFifthPage(originalBytes, incrementalUpdate,
+                new StampingProperties().useAppendModeWithIncrementalUpdateOnly());
+        assertEquals(fullAppend.size() - originalBytes.length, incrementalUpdate.size());
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write(originalBytes);
+        incrementalUpdate.writeTo(result);
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(result.toByteArray()));
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        assertFalse("Rebuilt", reader.hasRebuiltXref());
+        assertFalse("Fixed", reader.hasFixedXref());
+        assertEquals(10, pdfDocument.getNumberOfPages());
+        assertEquals(1, pdfDocument.getPage(5).getAnnotations().size());
+        assertEquals("%Page 9\n", new String(pdfDocument.getPage(10).getContentBytes()));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void stampingAppendIncrementalUpdateOnlyWithBytesBeforeHeader() throws IOException {
+        byte[] bytesBeforeHeader = "some bytes before the header\n".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        original.write(bytesBeforeHeader);
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(original));
+        for (int i = 0; i < 10; i++) {
+            pdfDoc1.addNewPage().getFirstContentStream().getOutputStream().writeString("%Page " + i + "\n");
+        }
+        pdfDoc1.close();
+        byte[] originalBytes = original.toByteArray();
+
+        ByteArrayOutputStream incrementalUpdate = new ByteArrayOutputStream();
+        addAnnotationToFifthPage(originalBytes, incrementalUpdate,
+                new StampingProperties().useAppendModeWithIncrementalUpdateOnly());
+
+        // the offsets are counted from the header, like the offsets of the original document
+        String update = new String(incrementalUpdate.toByteArray(), StandardCharsets.ISO_8859_1);
+        int startXrefIndex = update.lastIndexOf("startxref");
+        long startXref = Long.parseLong(update.substring(startXrefIndex + 9, update.lastIndexOf("%%EOF")).trim());
+        assertEquals(originalBytes.length - bytesBeforeHeader.length + update.lastIndexOf("xref", startXrefIndex - 1),
+                startXref);
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write(originalBytes);
+        incrementalUpdate.writeTo(result);
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(result.toByteArray()));
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        assertFalse("Rebuilt", reader.hasRebuiltXref());
+        assertFalse("Fixed", reader.hasFixedXref());
+        assertEquals(10, pdfDocument.getNumberOfPages());
+        assertEquals(1, pdfDocument.getPage(5).getAnnotations().size());
+        assertEquals("%Page 9\n", new String(pdfDocument.getPage(10).getContentBytes()));
+        pdfDocument.close();
+    }
+
+    private static void addAnnotationToFifthPage(byte[] originalBytes, java.io.OutputStream os,
+            StampingProperties properties) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(originalBytes)),
+                new PdfWriter(os), properties);
+        pdfDoc.getPage(5).addAnnotation(new PdfTextAnnotation(new Rectangle(100, 100, 20, 20)));
+        pdfDoc.close();
+    }
+
     static void verifyPdfPagesCount(PdfObject root) {
         if (root.getType() == PdfObject.INDIRECT_REFERENCE)
             root = ((PdfIndirectReference) root).getRefersTo();
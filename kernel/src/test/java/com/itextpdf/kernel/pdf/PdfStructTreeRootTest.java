@@ -24,8 +24,10 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.CanvasTag;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.tagging.IStructureNode;
+import com.itextpdf.kernel.pdf.tagging.PdfMcrNumber;
 import com.itextpdf.kernel.pdf.tagging.PdfStructElem;
 import com.itextpdf.kernel.pdf.tagging.PdfStructTreeRoot;
 import com.itextpdf.test.ExtendedITextTest;
@@ -113,4 +115,47 @@ public class PdfStructTreeRootTest extends ExtendedITextTest {
         Assert.assertFalse(readPdfDoc.getStructTreeRoot().getPdfObject().containsKey(PdfName.IDTree));
 
     }
+
+    @Test
+    public void copyPageRangesOfElementWithManyKidsTest() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(os));
+        pdfDoc.setTagged();
+        PdfStructElem document = pdfDoc.getStructTreeRoot().addKid(new PdfStructElem(pdfDoc, PdfName.Document));
+        for (int i = 1; i <= 100; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            PdfStructElem paragraph = document.addKid(new PdfStructElem(pdfDoc, PdfName.P, page));
+            paragraph.setAlt(new PdfString("Paragraph " + i));
+            PdfCanvas canvas = new PdfCanvas(page);
+            canvas.openTag(new CanvasTag(paragraph.addKid(new PdfMcrNumber(page, paragraph))));
+            canvas.beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(36, 700)
+                    .showText("Paragraph " + i)
+                    .endText();
+            canvas.closeTag();
+            canvas.release();
+        }
+        pdfDoc.close();
+
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(os.toByteArray())));
+        for (int from = 91; from >= 1; from -= 10) {
+            PdfDocument destDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+            destDoc.setTagged();
+            srcDoc.copyPagesTo(from, from + 9, destDoc);
+
+            List<IStructureNode> tops = destDoc.getStructTreeRoot().getKids();
+            Assert.assertEquals(1, tops.size());
+            List<IStructureNode> paragraphs = tops.get(0).getKids();
+            Assert.assertEquals(10, paragraphs.size());
+            for (int i = 0; i < 10; i++) {
+                PdfStructElem paragraph = (PdfStructElem) paragraphs.get(i);
+                Assert.assertEquals("Paragraph " + (from + i), paragraph.getAlt().toUnicodeString());
+                Assert.assertEquals(destDoc.getPage(i + 1).getPdfObject(),
+                        paragraph.getPdfObject().getAsDictionary(PdfName.Pg));
+            }
+            destDoc.close();
+        }
+        srcDoc.close();
+    }
 }
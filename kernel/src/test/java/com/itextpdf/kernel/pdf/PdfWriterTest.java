@@ -27,6 +27,9 @@ import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.commons.utils.DateTimeUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
@@ -41,6 +44,7 @@ import org.junit.experimental.categories.Category;
 import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.TreeMap;
@@ -620,4 +624,48 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void encodeStreamsInParallelTest() throws IOException {
+        byte[] sequential = createDocumentWithManyStreams(new WriterProperties().setFullCompressionMode(true));
+        byte[] parallel = createDocumentWithManyStreams(new WriterProperties().setFullCompressionMode(true)
+                .setStreamEncodingParallelism(4));
+
+        PdfDocument sequentialDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(sequential)));
+        PdfDocument parallelDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(parallel)));
+        Assert.assertEquals(sequentialDocument.getNumberOfPdfObjects(), parallelDocument.getNumberOfPdfObjects());
+        for (int i = 1; i < sequentialDocument.getNumberOfPdfObjects(); i++) {
+            PdfObject expected = sequentialDocument.getPdfObject(i);
+            PdfObject actual = parallelDocument.getPdfObject(i);
+            if (expected instanceof PdfStream && !(expected instanceof PdfObjectStream)
+                    && !PdfName.XRef.equals(((PdfStream) expected).getAsName(PdfName.Type))) {
+                Assert.assertTrue(actual instanceof PdfStream);
+                Assert.assertEquals(((PdfStream) expected).get(PdfName.Filter),
+                        ((PdfStream) actual).get(PdfName.Filter));
+                Assert.assertArrayEquals(((PdfStream) expected).getBytes(), ((PdfStream) actual).getBytes());
+            }
+        }
+        PdfStream lastXObject = parallelDocument.getPage(100).getResources().getResource(PdfName.XObject)
+                .getAsStream(new PdfName("Fm1"));
+        Assert.assertEquals("Form 99", new String(lastXObject.getBytes(), StandardCharsets.ISO_8859_1));
+        sequentialDocument.close();
+        parallelDocument.close();
+    }
+
+    private static byte[] createDocumentWithManyStreams(WriterProperties properties) {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos, properties));
+        for (int i = 0; i < 100; i++) {
+            PdfFormXObject xObject = new PdfFormXObject(new Rectangle(100, 100));
+            xObject.getPdfObject().getOutputStream().writeString("Form " + i);
+            new PdfCanvas(document.addNewPage()).addXObjectAt(xObject, 0, 0);
+        }
+        PdfStream uncompressed = new PdfStream("Uncompressed content".getBytes(StandardCharsets.ISO_8859_1));
+        uncompressed.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+        document.getCatalog().put(new PdfName("Uncompressed"), uncompressed.makeIndirect(document));
+        document.getCatalog().put(new PdfName("FromInputStream"), new PdfStream(document,
+                new ByteArrayInputStream("Content from input stream".getBytes(StandardCharsets.ISO_8859_1))));
+        document.close();
+        return baos.toByteArray();
+    }
 }
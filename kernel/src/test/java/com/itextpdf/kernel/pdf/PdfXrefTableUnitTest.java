@@ -188,6 +188,74 @@ public class PdfXrefTableUnitTest extends ExtendedITextTest {
 
 
 
+
+    @Test
+    public void entriesAreCreatedOnRequestTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addEntry(null, 3, PdfXrefTable.IN_USE_ENTRY, 120, 1);
+        table.addEntry(null, 4, PdfXrefTable.COMPRESSED_ENTRY, 7, 10);
+        table.addEntry(null, 5, PdfXrefTable.FREE_ENTRY, 0, 2);
+
+        Assert.assertEquals(6, table.size());
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+        Assert.assertTrue(table.hasEntry(3));
+        Assert.assertNull(table.getCreatedReference(3));
+
+        PdfIndirectReference reference = table.get(3);
+        Assert.assertEquals(3, reference.getObjNumber());
+        Assert.assertEquals(1, reference.getGenNumber());
+        Assert.assertEquals(120, reference.getOffset());
+        Assert.assertFalse(reference.isFree());
+        Assert.assertFalse(table.hasEntry(3));
+        Assert.assertSame(reference, table.get(3));
+        Assert.assertSame(reference, table.getCreatedReference(3));
+
+        PdfIndirectReference compressed = table.get(4);
+        Assert.assertEquals(0, compressed.getGenNumber());
+        Assert.assertEquals(10, compressed.getObjStreamNumber());
+        Assert.assertEquals(7, compressed.getIndex());
+
+        PdfIndirectReference free = table.get(5);
+        Assert.assertTrue(free.isFree());
+        Assert.assertEquals(2, free.getGenNumber());
+
+        Assert.assertNull(table.get(2));
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+    }
+
+    @Test
+    public void addedReferenceReplacesEntryTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addEntry(null, 3, PdfXrefTable.IN_USE_ENTRY, 120, 0);
+        PdfIndirectReference reference = new PdfIndirectReference(null, 3, 0, 240);
+        table.add(reference);
+
+        Assert.assertFalse(table.hasEntry(3));
+        Assert.assertSame(reference, table.get(3));
+    }
+
+    @Test
+    public void entriesSurviveCapacityExtensionTest() {
+        PdfXrefTable table = new PdfXrefTable(2);
+        table.addEntry(null, 1, PdfXrefTable.IN_USE_ENTRY, 15, 0);
+        table.addEntry(null, 1000, PdfXrefTable.IN_USE_ENTRY, 30, 0);
+
+        Assert.assertEquals(15, table.get(1).getOffset());
+        Assert.assertEquals(30, table.get(1000).getOffset());
+    }
+
+    @Test
+    public void clearKeepsFreeEntriesTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addEntry(null, 1, PdfXrefTable.IN_USE_ENTRY, 15, 0);
+        table.addEntry(null, 2, PdfXrefTable.FREE_ENTRY, 0, 1);
+        table.clear();
+        table.addEntry(null, 3, PdfXrefTable.IN_USE_ENTRY, 45, 0);
+
+        Assert.assertFalse(table.hasEntry(1));
+        Assert.assertTrue(table.hasEntry(2));
+        Assert.assertTrue(table.hasEntry(3));
+    }
 }
  class PdfIndirectReferenceProxy extends PdfIndirectReference {
     private final long offset;
@@ -22,6 +22,8 @@
  */
 package com.itextpdf.kernel.pdf.xobject;
 
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataCache;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.kernel.geom.Rectangle;
@@ -202,6 +204,23 @@ public class PdfImageXObjectTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(destFilename, cmpFilename, DESTINATION_FOLDER));
     }
 
+    @Test
+    public void cachedImageInSeveralDocumentsTest() throws IOException {
+        String imageFilename = SOURCE_FOLDER + "rgba16Bpc.png";
+        try {
+            ImageData image = ImageDataFactory.create(imageFilename, false, true);
+            // the pixel data and the soft mask are compressed once, and every document writes them as they are
+            for (int i = 1; i <= 2; i++) {
+                ImageData cachedImage = ImageDataFactory.create(imageFilename, false, true);
+                Assert.assertSame(image.getData(), cachedImage.getData());
+                convertAndCompare(DESTINATION_FOLDER + "cachedImageInSeveralDocuments" + i + ".pdf",
+                        SOURCE_FOLDER + "cmp_rgba16Bpc.pdf", new PdfImageXObject(cachedImage));
+            }
+        } finally {
+            ImageDataCache.clear();
+        }
+    }
+
     private void convertAndCompare(String outFilename, String cmpFilename, String imageFilename)
             throws IOException {
 
@@ -123,6 +123,51 @@ public class PdfMergerTest extends ExtendedITextTest {
                         destinationFolder, "diff_"));
     }
 
+    @Test
+    public void mergeDocumentInStreamingModeTest() throws IOException, InterruptedException {
+        String resultFile = destinationFolder + "mergeDocumentInStreamingModeTest.pdf";
+
+        PdfDocument courierDoc = new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf"));
+        PdfDocument helveticaDoc = new PdfDocument(new PdfReader(sourceFolder + "helveticaTest.pdf"));
+        PdfDocument timesRomanDoc = new PdfDocument(new PdfReader(sourceFolder + "timesRomanTest.pdf"));
+        PdfDocument resultDoc = new PdfDocument(CompareTool.createTestPdfWriter(resultFile));
+
+        PdfMerger merger = new PdfMerger(resultDoc, new PdfMergerProperties().setStreamingMode(true));
+        merger.merge(courierDoc, 1, 1);
+        Assert.assertTrue(resultDoc.getPage(1).isFlushed());
+        Assert.assertTrue(courierDoc.isClosed());
+        merger.merge(helveticaDoc, 1, 1).merge(timesRomanDoc, 1, 1);
+        Assert.assertTrue(resultDoc.getPage(3).isFlushed());
+        merger.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf",
+                destinationFolder, "diff_"));
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY)
+    })
+    public void mergeTaggedDocumentInStreamingModeTest() throws IOException, InterruptedException,
+            ParserConfigurationException, SAXException {
+        String resultFile = destinationFolder + "mergeTaggedDocumentInStreamingModeTest.pdf";
+        String cmpFile = sourceFolder + "cmp_mergedResult03.pdf";
+
+        PdfDocument openParametersDoc = new PdfDocument(new PdfReader(sourceFolder + "pdf_open_parameters.pdf"));
+        PdfDocument userGuideDoc = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"));
+        PdfDocument resultDoc = new PdfDocument(CompareTool.createTestPdfWriter(resultFile));
+        resultDoc.setTagged();
+
+        new PdfMerger(resultDoc, new PdfMergerProperties().setStreamingMode(true))
+                .merge(openParametersDoc, 2, 2)
+                .merge(userGuideDoc, 7, 8)
+                .close();
+
+        CompareTool compareTool = new CompareTool();
+        Assert.assertNull(compareTool.compareTagStructures(resultFile, cmpFile));
+        Assert.assertNull(compareTool.compareByContent(resultFile, cmpFile, destinationFolder, "diff_"));
+    }
+
     @Test
     public void mergeDocumentWithLinkAnnotationTest() throws IOException, InterruptedException {
         String filename = sourceFolder + "documentWithLinkAnnotation.pdf";
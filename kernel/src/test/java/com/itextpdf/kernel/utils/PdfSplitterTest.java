@@ -37,6 +37,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -129,6 +130,120 @@ public class PdfSplitterTest extends ExtendedITextTest{
         }
     }
 
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY,count = 3)
+    })
+    public void splitDocumentConcurrentlyTest() throws IOException, InterruptedException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                // the writers are not requested in the order of the ranges, so the part is defined by the range
+                int partNumber = (int) documentPageRange.getQualifyingPageNums(Integer.MAX_VALUE).get(0) / 60 + 1;
+                try {
+                    return CompareTool.createTestPdfWriter(destinationFolder + "splitDocumentConcurrently_"
+                            + String.valueOf(partNumber) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+        splitter.setParallelism(3);
+        final List<PageRange> readyRanges = new ArrayList<>();
+        splitter.splitByPageCount(60, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                readyRanges.add(pageRange);
+                if (new PageRange("61-120").equals(pageRange)) {
+                    pdfDocument.getDocumentInfo().setAuthor("Modified Author");
+                }
+
+                pdfDocument.close();
+            }
+        });
+        inputPdfDoc.close();
+
+        Assert.assertEquals(Arrays.asList(new PageRange("1-60"), new PageRange("61-120"), new PageRange("121-130")),
+                readyRanges);
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitDocumentConcurrently_" + String.valueOf(i) + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitDocument2_" + String.valueOf(i) + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 13)
+    })
+    public void splitDocumentConcurrentlyInWindowTest() throws IOException {
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"));
+        final int[] createdWriters = new int[1];
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                synchronized (createdWriters) {
+                    createdWriters[0]++;
+                }
+                return super.getNextPdfWriter(documentPageRange);
+            }
+        };
+        splitter.setParallelism(2);
+        final List<PageRange> readyRanges = new ArrayList<>();
+        splitter.splitByPageCount(10, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                synchronized (createdWriters) {
+                    // the ready part, the part submitted instead of it and the parts being created
+                    Assert.assertTrue(createdWriters[0] <= readyRanges.size() + 3);
+                }
+                readyRanges.add(pageRange);
+                pdfDocument.close();
+            }
+        });
+        inputPdfDoc.close();
+
+        Assert.assertEquals(13, readyRanges.size());
+        Assert.assertEquals(new PageRange("121-130"), readyRanges.get(12));
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, ignore = true)
+    })
+    public void splitDocumentConcurrentlyClosesPartsOnFailureTest() throws IOException {
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"));
+        final List<ClosingTrackingOutputStream> outputStreams = new ArrayList<>();
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                ClosingTrackingOutputStream outputStream = new ClosingTrackingOutputStream();
+                synchronized (outputStreams) {
+                    outputStreams.add(outputStream);
+                }
+                return new PdfWriter(outputStream);
+            }
+        };
+        splitter.setParallelism(3);
+        Assert.assertThrows(IllegalStateException.class, () -> splitter.splitByPageCount(10,
+                new PdfSplitter.IDocumentReadyListener() {
+                    @Override
+                    public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                        pdfDocument.close();
+                        throw new IllegalStateException();
+                    }
+                }));
+        inputPdfDoc.close();
+
+        // the parts which were being created when the listener failed are closed as well
+        Assert.assertTrue(outputStreams.size() > 1);
+        for (ClosingTrackingOutputStream outputStream : outputStreams) {
+            Assert.assertTrue(outputStream.closed);
+        }
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 2)
@@ -267,4 +382,14 @@ public class PdfSplitterTest extends ExtendedITextTest{
             Assert.assertEquals(pagesCount / pagesCountInSplitDoc, splitDocuments.size());
         }
     }
+
+    private static class ClosingTrackingOutputStream extends ByteArrayOutputStream {
+        volatile boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
 }
@@ -58,6 +58,9 @@ import com.itextpdf.pdfa.exceptions.PdfaExceptionMessageConstant;
 import com.itextpdf.pdfa.logs.PdfAConformanceLogMessageConstant;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -115,6 +118,9 @@ public class PdfA1Checker extends PdfAChecker {
 
     private static final Logger logger = LoggerFactory.getLogger(PdfAChecker.class);
 
+    // Digests of the content streams data which was already checked and found conforming
+    private final Set<String> checkedContentStreamDigests = new HashSet<>();
+
     /**
      * Creates a PdfA1Checker with the required conformance level
      *
@@ -381,6 +387,11 @@ public class PdfA1Checker extends PdfAChecker {
     protected void checkContentStream(PdfStream contentStream) {
         if (isFullCheckMode() || contentStream.isModified()) {
             byte[] contentBytes = contentStream.getBytes();
+            // Identical content (e.g. repeated appearances or templates) is checked only once
+            String contentDigest = calculateContentDigest(contentBytes);
+            if (contentDigest != null && checkedContentStreamDigests.contains(contentDigest)) {
+                return;
+            }
             PdfTokenizer tokenizer = new PdfTokenizer(
                     new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
 
@@ -395,6 +406,9 @@ public class PdfA1Checker extends PdfAChecker {
             } catch (IOException e) {
                 throw new PdfException(PdfaExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
             }
+            if (contentDigest != null) {
+                checkedContentStreamDigests.add(contentDigest);
+            }
         }
     }
 
@@ -420,7 +434,7 @@ public class PdfA1Checker extends PdfAChecker {
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
         PdfColorSpace colorSpace = null;
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
+            colorSpace = getCheckedObjectColorspace(image);
             checkColorSpace(colorSpace, image, currentColorSpaces, true, null);
             return;
         }
@@ -824,6 +838,16 @@ public class PdfA1Checker extends PdfAChecker {
         return 4095;
     }
 
+    private static String calculateContentDigest(byte[] contentBytes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return new String(messageDigest.digest(contentBytes), StandardCharsets.ISO_8859_1);
+        } catch (NoSuchAlgorithmException e) {
+            // Content is checked every time if digest can't be calculated
+            return null;
+        }
+    }
+
     private static final class ACharacterChecker implements FontCheckUtil.CharacterChecker {
         @Override
         public boolean check(int ch, PdfFont font) {
@@ -171,6 +171,9 @@ public class PdfA2Checker extends PdfA1Checker {
 
     private Map<PdfName, PdfArray> separationColorSpaces = new HashMap<>();
 
+    // Number of glyphs of the type 3 font at the moment when all its glyphs were checked
+    private final Map<PdfType3Font, Integer> checkedType3FontGlyphsCount = new HashMap<>();
+
     /**
      * Creates a PdfA2Checker with the required conformance level
      *
@@ -321,8 +324,8 @@ public class PdfA2Checker extends PdfA1Checker {
         }
 
         if (fill != null && colorSpace instanceof PdfCieBasedCs.IccBased) {
-            byte[] iccBytes = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1).getBytes();
-            if (ICC_COLOR_SPACE_CMYK.equals(IccProfile.getIccColorSpaceName(iccBytes))) {
+            PdfStream iccStream = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1);
+            if (ICC_COLOR_SPACE_CMYK.equals(getIccProfileColorSpaceName(iccStream))) {
                 if ((boolean) fill) {
                     currentFillCsIsIccBasedCMYK = true;
                 } else {
@@ -858,7 +861,7 @@ public class PdfA2Checker extends PdfA1Checker {
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
         PdfColorSpace colorSpace = null;
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
+            colorSpace = getCheckedObjectColorspace(image);
             checkColorSpace(colorSpace, image, currentColorSpaces, true, null);
             return;
         }
@@ -1251,6 +1254,11 @@ public class PdfA2Checker extends PdfA1Checker {
     }
 
     private void checkType3FontGlyphs(PdfType3Font font, PdfStream contentStream) {
+        // Glyph forms are checked only once, so there is nothing to check if no glyphs were added since last time
+        Integer checkedGlyphsCount = checkedType3FontGlyphsCount.get(font);
+        if (checkedGlyphsCount != null && checkedGlyphsCount.intValue() == font.getNumberOfGlyphs()) {
+            return;
+        }
         for (int i = 0; i <= PdfFont.SIMPLE_FONT_MAX_CHAR_CODE_VALUE; ++i) {
             FontEncoding fontEncoding = font.getFontEncoding();
             if (fontEncoding.canDecode(i)) {
@@ -1260,6 +1268,7 @@ public class PdfA2Checker extends PdfA1Checker {
                 }
             }
         }
+        checkedType3FontGlyphsCount.put(font, font.getNumberOfGlyphs());
     }
 
     private static final class UpdateCanvasGraphicsState extends CanvasGraphicsState {
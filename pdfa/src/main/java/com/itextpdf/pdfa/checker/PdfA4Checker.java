@@ -166,9 +166,8 @@ public class PdfA4Checker extends PdfA3Checker {
             // 6.2.4.2: An ICCBased colour space shall not be used where the profile is a CMYK destination profile and is
             // identical to that in the current PDF/A OutputIntent or the current transparency blending colorspace.
             PdfStream iccStream = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1);
-            byte[] iccBytes = iccStream.getBytes();
             // If not CMYK - we don't care
-            if (ICC_COLOR_SPACE_CMYK.equals(IccProfile.getIccColorSpaceName(iccBytes))) {
+            if (ICC_COLOR_SPACE_CMYK.equals(getIccProfileColorSpaceName(iccStream))) {
                 if (!iccBasedCmykObjects.containsKey(pdfObject)) {
                     iccBasedCmykObjects.put(pdfObject, new ArrayList<>());
                 }
@@ -791,7 +790,7 @@ public class PdfA4Checker extends PdfA3Checker {
     private void checkContentForColorUsages(PdfObject pdfObject, PdfStream pageIntentProfile,
             PdfColorSpace pageTransparencyBlendingCS) {
         String pageIntentCSType = pageIntentProfile == null ? null :
-                IccProfile.getIccColorSpaceName(pageIntentProfile.getBytes());
+                getIccProfileColorSpaceName(pageIntentProfile);
 
         PdfColorSpace currentTransparencyBlendingCS = pdfObject instanceof PdfDictionary ?
                 getDeviceIndependentTransparencyBlendingCSIfRbgOrCmykBased((PdfDictionary)pdfObject) : null;
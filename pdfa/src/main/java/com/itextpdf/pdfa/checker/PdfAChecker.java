@@ -32,6 +32,7 @@ import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfCatalog;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
@@ -40,14 +41,17 @@ import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PageFlushingHelper;
 import com.itextpdf.kernel.pdf.PdfXrefTable;
 import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 import com.itextpdf.kernel.utils.IValidationChecker;
 import com.itextpdf.kernel.utils.ValidationContext;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -137,8 +141,15 @@ public abstract class PdfAChecker implements IValidationChecker {
     protected Set<PdfObject> checkedObjects = new HashSet<>();
     protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace = new HashMap<>();
 
+    private final Map<PdfObject, String> iccProfileColorSpaceNames = new HashMap<>();
+
     private boolean fullCheckMode = false;
 
+    /**
+     * The objects marked as checked while the current page was checked, or null if they are not tracked.
+     */
+    private List<PdfObject> pageCheckedObjects;
+
     /**
      * Creates a PdfAChecker with the required conformance level.
      *
@@ -153,6 +164,11 @@ public abstract class PdfAChecker implements IValidationChecker {
      * standard. The algorithms of some of these checks vary with the PDF/A
      * level and thus are implemented in subclasses; others are implemented
      * as private methods in this class.
+     * <p>
+     * If {@link #isFullCheckMode() full check mode} is switched on and the document is opened in reading mode,
+     * the pages are checked one by one and released from memory right after their check. Checked objects
+     * shared between pages are remembered by their indirect references, so they are neither kept in memory
+     * nor checked again.
      *
      * @param catalog The catalog being checked
      */
@@ -314,7 +330,11 @@ public abstract class PdfAChecker implements IValidationChecker {
     /**
      * In full check mode all objects will be tested for ISO conformance. If full check mode is
      * switched off objects which were not modified might be skipped to speed up the validation
-     * of the document
+     * of the document.
+     * <p>
+     * If full check mode is switched on and the checked document is opened in reading mode, the pages are
+     * released from memory right after they have been checked, see {@link #checkDocument(PdfCatalog)}.
+     *
      * @param fullCheckMode is a new value for full check mode switcher
      * @see PdfObject#isModified()
      */
@@ -330,7 +350,12 @@ public abstract class PdfAChecker implements IValidationChecker {
      * @return whether or not the object has already been checked
      */
     public boolean objectIsChecked(PdfObject object) {
-        return checkedObjects.contains(object);
+        if (checkedObjects.contains(object)) {
+            return true;
+        }
+        // Objects released after the check are remembered by their indirect references
+        PdfIndirectReference reference = object.getIndirectReference();
+        return reference != null && checkedObjects.contains(reference);
     }
 
     /**
@@ -342,7 +367,7 @@ public abstract class PdfAChecker implements IValidationChecker {
     public void checkTagStructureElement(PdfObject obj) {
         // We don't check tag structure as there are no strict constraints,
         // so we just mark tag structure elements to be able to flush them
-        checkedObjects.add(obj);
+        markObjectAsChecked(obj);
     }
 
     /**
@@ -351,7 +376,7 @@ public abstract class PdfAChecker implements IValidationChecker {
      * @param signatureDict a {@link PdfDictionary} containing the signature.
      */
     public void checkSignature(PdfDictionary signatureDict) {
-        checkedObjects.add(signatureDict);
+        markObjectAsChecked(signatureDict);
     }
 
     /**
@@ -899,13 +924,45 @@ public abstract class PdfAChecker implements IValidationChecker {
      * @return true if the specified dictionary was checked
      */
     protected boolean isAlreadyChecked(PdfDictionary dictionary) {
-        if (checkedObjects.contains(dictionary)) {
+        if (objectIsChecked(dictionary)) {
             return true;
         }
-        checkedObjects.add(dictionary);
+        markObjectAsChecked(dictionary);
         return false;
     }
 
+    /**
+     * Gets the color space which was remembered for the already checked object.
+     *
+     * @param object the already checked {@link PdfObject}, e.g. an image
+     * @return the {@link PdfColorSpace} of the object or null if there is no color space remembered for it
+     */
+    protected PdfColorSpace getCheckedObjectColorspace(PdfObject object) {
+        PdfColorSpace colorSpace = checkedObjectsColorspace.get(object);
+        if (colorSpace == null && object.getIndirectReference() != null) {
+            colorSpace = checkedObjectsColorspace.get(object.getIndirectReference());
+        }
+        return colorSpace;
+    }
+
+    /**
+     * Gets the color space name of the ICC profile. The name is read from the profile only once
+     * and then is taken from cache, since the same profile is usually used by many color operators.
+     *
+     * @param iccProfileStream the {@link PdfStream} containing ICC profile
+     * @return the color space name of the ICC profile
+     */
+    protected String getIccProfileColorSpaceName(PdfStream iccProfileStream) {
+        PdfObject key = iccProfileStream.getIndirectReference() == null
+                ? iccProfileStream : iccProfileStream.getIndirectReference();
+        String colorSpaceName = iccProfileColorSpaceNames.get(key);
+        if (colorSpaceName == null) {
+            colorSpaceName = IccProfile.getIccColorSpaceName(iccProfileStream.getBytes());
+            iccProfileColorSpaceNames.put(key, colorSpaceName);
+        }
+        return colorSpaceName;
+    }
+
     /**
      * Checks resources of the appearance streams.
      *
@@ -977,8 +1034,44 @@ public abstract class PdfAChecker implements IValidationChecker {
     }
 
     private void checkPages(PdfDocument document) {
-        for (int i = 1; i <= document.getNumberOfPages(); i++) {
-            checkPage(document.getPage(i));
+        // Existing document is validated page by page without keeping already checked pages in memory
+        PageFlushingHelper flushingHelper = isFullCheckMode() && document.getWriter() == null
+                ? new PageFlushingHelper(document) : null;
+        if (flushingHelper != null) {
+            rememberCheckedObjectsByReferences(new ArrayList<>(checkedObjects));
+            pageCheckedObjects = new ArrayList<>();
+        }
+        try {
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                checkPage(document.getPage(i));
+                if (flushingHelper != null) {
+                    rememberCheckedObjectsByReferences(pageCheckedObjects);
+                    pageCheckedObjects.clear();
+                    flushingHelper.releaseDeep(i);
+                }
+            }
+        } finally {
+            pageCheckedObjects = null;
+        }
+    }
+
+    private void markObjectAsChecked(PdfObject object) {
+        if (checkedObjects.add(object) && pageCheckedObjects != null) {
+            pageCheckedObjects.add(object);
+        }
+    }
+
+    private void rememberCheckedObjectsByReferences(List<PdfObject> objects) {
+        for (PdfObject checkedObject : objects) {
+            PdfIndirectReference reference = checkedObject.getIndirectReference();
+            if (reference == null || checkedObject.isModified() || !checkedObjects.remove(checkedObject)) {
+                continue;
+            }
+            checkedObjects.add(reference);
+            PdfColorSpace colorSpace = checkedObjectsColorspace.remove(checkedObject);
+            if (colorSpace != null) {
+                checkedObjectsColorspace.put(reference, colorSpace);
+            }
         }
     }
 
@@ -1002,7 +1095,7 @@ public abstract class PdfAChecker implements IValidationChecker {
         for (int j = 0; j < contentStreamCount; ++j) {
             PdfStream contentStream = page.getContentStream(j);
             checkContentStream(contentStream);
-            checkedObjects.add(contentStream);
+            markObjectAsChecked(contentStream);
         }
     }
 
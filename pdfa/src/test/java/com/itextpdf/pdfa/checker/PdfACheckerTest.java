@@ -49,6 +49,7 @@ import com.itextpdf.test.AssertUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -77,6 +78,24 @@ public class PdfACheckerTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void checkedPagesAreReleasedInReadingModeTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            document.addNewPage();
+            document.addNewPage();
+        }
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary firstPageDict = document.getPage(1).getPdfObject();
+            pdfAChecker.checkDocument(document.getCatalog());
+
+            PdfDictionary rereadFirstPageDict = document.getPage(1).getPdfObject();
+            Assert.assertNotSame(firstPageDict, rereadFirstPageDict);
+            Assert.assertTrue(pdfAChecker.objectIsChecked(rereadFirstPageDict));
+            Assert.assertTrue(pdfAChecker.objectIsChecked(document.getPage(2).getPdfObject()));
+        }
+    }
+
     @Test
     public void checkAppearanceStreamsWithCycle() throws IOException {
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
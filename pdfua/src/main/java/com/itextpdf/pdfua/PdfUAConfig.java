@@ -32,6 +32,7 @@ public class PdfUAConfig {
     private final PdfUAConformanceLevel conformanceLevel;
     private final String title;
     private final String language;
+    private int tagTreeValidationParallelism = 1;
 
     /**
      * Creates a new PdfUAConfig instance.
@@ -73,4 +74,26 @@ public class PdfUAConfig {
         return language;
     }
 
+    /**
+     * Gets the number of threads used to validate the structure tree.
+     *
+     * @return the number of threads, 1 means sequential validation.
+     */
+    public int getTagTreeValidationParallelism() {
+        return tagTreeValidationParallelism;
+    }
+
+    /**
+     * Sets the number of threads used to validate the structure tree when the document is closed.
+     * See {@link com.itextpdf.pdfua.checkers.PdfUA1Checker#setTagTreeValidationParallelism(int)} for details.
+     *
+     * @param tagTreeValidationParallelism the number of threads, 1 (default) means sequential validation.
+     *
+     * @return this {@link PdfUAConfig} instance.
+     */
+    public PdfUAConfig setTagTreeValidationParallelism(int tagTreeValidationParallelism) {
+        this.tagTreeValidationParallelism = tagTreeValidationParallelism;
+        return this;
+    }
+
 }
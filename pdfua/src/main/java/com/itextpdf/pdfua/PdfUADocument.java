@@ -151,7 +151,8 @@ public class PdfUADocument extends PdfDocument {
         info.setTitle(config.getTitle());
         //validation
         final ValidationContainer validationContainer = new ValidationContainer();
-        validationContainer.addChecker(new PdfUA1Checker(this));
+        validationContainer.addChecker(new PdfUA1Checker(this)
+                .setTagTreeValidationParallelism(config.getTagTreeValidationParallelism()));
         this.getDiContainer().register(ValidationContainer.class, validationContainer);
     }
 
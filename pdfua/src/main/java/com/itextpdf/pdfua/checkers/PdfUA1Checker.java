@@ -39,11 +39,15 @@ import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.PdfVersion;
+import com.itextpdf.kernel.pdf.tagging.IStructureNode;
 import com.itextpdf.kernel.pdf.tagging.PdfMcr;
 import com.itextpdf.kernel.pdf.tagging.PdfNamespace;
+import com.itextpdf.kernel.pdf.tagging.PdfObjRef;
+import com.itextpdf.kernel.pdf.tagging.PdfStructElem;
 import com.itextpdf.kernel.pdf.tagging.PdfStructTreeRoot;
 import com.itextpdf.kernel.pdf.tagging.StandardRoles;
 import com.itextpdf.kernel.pdf.tagutils.IRoleMappingResolver;
+import com.itextpdf.kernel.pdf.tagutils.ITagTreeIteratorHandler;
 import com.itextpdf.kernel.pdf.tagutils.TagStructureContext;
 import com.itextpdf.kernel.pdf.tagutils.TagTreeIterator;
 import com.itextpdf.kernel.utils.IValidationChecker;
@@ -67,11 +71,19 @@ import com.itextpdf.pdfua.checkers.utils.tables.TableCheckUtil;
 import com.itextpdf.pdfua.exceptions.PdfUAConformanceException;
 import com.itextpdf.pdfua.exceptions.PdfUAExceptionMessageConstants;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The class defines the requirements of the PDF/UA-1 standard.
@@ -80,6 +92,8 @@ import java.util.Stack;
  */
 public class PdfUA1Checker implements IValidationChecker {
 
+    private static final int ACTION_RESOLUTION_DEPTH = 4;
+
     private final PdfDocument pdfDocument;
 
     private final TagStructureContext tagStructureContext;
@@ -88,6 +102,8 @@ public class PdfUA1Checker implements IValidationChecker {
 
     private final PdfUAValidationContext context;
 
+    private int tagTreeValidationParallelism = 1;
+
     /**
      * Creates PdfUA1Checker instance with PDF document which will be validated against PDF/UA-1 standard.
      *
@@ -100,6 +116,34 @@ public class PdfUA1Checker implements IValidationChecker {
         this.headingsChecker = new HeadingsChecker(context);
     }
 
+    /**
+     * Sets the number of threads used to validate the structure tree.
+     * <p>
+     * With a value greater than 1 the structure elements are split into contiguous ranges in the document
+     * order which are validated concurrently. Checks which depend on the order of the whole structure tree
+     * (e.g. headings sequence) are performed on the calling thread. The roles of the structure elements
+     * and the objects the checks look into are resolved on the calling thread before the validation is split,
+     * because neither objects nor roles can be resolved in parallel. If the structure tree has several violations,
+     * the one reported may differ from the sequential validation.
+     *
+     * @param tagTreeValidationParallelism the number of threads, 1 (default) means sequential validation
+     *
+     * @return this {@link PdfUA1Checker} instance
+     */
+    public PdfUA1Checker setTagTreeValidationParallelism(int tagTreeValidationParallelism) {
+        this.tagTreeValidationParallelism = Math.max(1, tagTreeValidationParallelism);
+        return this;
+    }
+
+    /**
+     * Gets the number of threads used to validate the structure tree.
+     *
+     * @return the number of threads, 1 means sequential validation
+     */
+    public int getTagTreeValidationParallelism() {
+        return tagTreeValidationParallelism;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -329,17 +373,120 @@ public class PdfUA1Checker implements IValidationChecker {
             }
         }
 
+        if (tagTreeValidationParallelism > 1) {
+            checkStructureTreeConcurrently(structTreeRoot);
+            return;
+        }
         TagTreeIterator tagTreeIterator = new TagTreeIterator(structTreeRoot);
-        tagTreeIterator.addHandler(new GraphicsCheckUtil.GraphicsHandler(context));
-        tagTreeIterator.addHandler(new FormulaCheckUtil.FormulaTagHandler(context));
-        tagTreeIterator.addHandler(new NoteCheckUtil.NoteTagHandler(context));
+        for (ITagTreeIteratorHandler handler : createElementHandlers(context)) {
+            tagTreeIterator.addHandler(handler);
+        }
         tagTreeIterator.addHandler(new HeadingsChecker.HeadingHandler(context));
-        tagTreeIterator.addHandler(new TableCheckUtil.TableHandler(context));
-        tagTreeIterator.addHandler(new AnnotationCheckUtil.AnnotationHandler(context));
-        tagTreeIterator.addHandler(new FormCheckUtil.FormTagHandler(context));
         tagTreeIterator.traverse();
     }
 
+    private static List<ITagTreeIteratorHandler> createElementHandlers(PdfUAValidationContext validationContext) {
+        List<ITagTreeIteratorHandler> handlers = new ArrayList<>();
+        handlers.add(new GraphicsCheckUtil.GraphicsHandler(validationContext));
+        handlers.add(new FormulaCheckUtil.FormulaTagHandler(validationContext));
+        handlers.add(new NoteCheckUtil.NoteTagHandler(validationContext));
+        handlers.add(new TableCheckUtil.TableHandler(validationContext));
+        handlers.add(new AnnotationCheckUtil.AnnotationHandler(validationContext));
+        handlers.add(new FormCheckUtil.FormTagHandler(validationContext));
+        return handlers;
+    }
+
+    private void checkStructureTreeConcurrently(PdfStructTreeRoot structTreeRoot) {
+        // Objects are lazily read from the shared tokenizer and roles are resolved through the shared tag
+        // structure context, so the kids, the roles and the objects the handlers look into are resolved here.
+        // The threads only read the already resolved objects and use their own contexts over the resolved roles.
+        final List<IStructureNode> nodes = new ArrayList<>();
+        final Map<String, String> standardRoles = new HashMap<>();
+        new TagTreeIterator(structTreeRoot).addHandler(new ITagTreeIteratorHandler() {
+            @Override
+            public void nextElement(IStructureNode elem) {
+                nodes.add(elem);
+                resolveObjectsToValidate(elem);
+                PdfName role = elem.getRole();
+                if (role != null && !standardRoles.containsKey(role.getValue())) {
+                    standardRoles.put(role.getValue(), context.resolveToStandardRole(role.getValue()));
+                }
+            }
+        }).traverse();
+
+        int rangeSize = (nodes.size() + tagTreeValidationParallelism - 1) / tagTreeValidationParallelism;
+        ExecutorService executor = Executors.newFixedThreadPool(tagTreeValidationParallelism);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int start = 0; start < nodes.size(); start += rangeSize) {
+                results.add(executor.submit(new StructureNodesValidationTask(
+                        nodes.subList(start, Math.min(start + rangeSize, nodes.size())),
+                        createElementHandlers(new ResolvedRolesValidationContext(pdfDocument, standardRoles)))));
+            }
+
+            // Headings are validated in the document order, so they are checked here while the ranges are in work.
+            ITagTreeIteratorHandler headingHandler = new HeadingsChecker.HeadingHandler(
+                    new ResolvedRolesValidationContext(pdfDocument, standardRoles));
+            for (IStructureNode node : nodes) {
+                headingHandler.nextElement(node);
+            }
+
+            for (Future<Void> result : results) {
+                waitForValidationResult(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void resolveObjectsToValidate(IStructureNode node) {
+        if (node instanceof PdfStructElem) {
+            PdfDictionary structElem = ((PdfStructElem) node).getPdfObject();
+            resolveNestedObjects(structElem, 0);
+            // Attributes may be an array of attribute dictionaries
+            resolveNestedObjects(structElem.get(PdfName.A), 1);
+        } else if (node instanceof PdfObjRef) {
+            PdfDictionary annotation = ((PdfObjRef) node).getReferencedObject();
+            if (annotation != null) {
+                // Page, parent field and actions entries are checked, the actions are checked down to the media clip
+                resolveNestedObjects(annotation, 1);
+                resolveNestedObjects(annotation.get(PdfName.A), ACTION_RESOLUTION_DEPTH);
+                resolveNestedObjects(annotation.get(PdfName.AA), ACTION_RESOLUTION_DEPTH);
+            }
+        }
+    }
+
+    private static void resolveNestedObjects(PdfObject object, int depth) {
+        if (object == null || depth < 0) {
+            return;
+        }
+        if (object.isDictionary()) {
+            PdfDictionary dictionary = (PdfDictionary) object;
+            for (PdfName key : dictionary.keySet()) {
+                resolveNestedObjects(dictionary.get(key), depth - 1);
+            }
+        } else if (object.isArray()) {
+            PdfArray array = (PdfArray) object;
+            for (int i = 0; i < array.size(); i++) {
+                resolveNestedObjects(array.get(i), depth - 1);
+            }
+        }
+    }
+
+    private static void waitForValidationResult(Future<Void> result) {
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void checkOCProperties(PdfDictionary ocProperties) {
         if (ocProperties == null) {
             return;
@@ -421,6 +568,45 @@ public class PdfUA1Checker implements IValidationChecker {
         }
     }
 
+    private static final class StructureNodesValidationTask implements Callable<Void> {
+        private final List<IStructureNode> nodes;
+        private final List<ITagTreeIteratorHandler> handlers;
+
+        StructureNodesValidationTask(List<IStructureNode> nodes, List<ITagTreeIteratorHandler> handlers) {
+            this.nodes = nodes;
+            this.handlers = handlers;
+        }
+
+        @Override
+        public Void call() {
+            for (IStructureNode node : nodes) {
+                for (ITagTreeIteratorHandler handler : handlers) {
+                    handler.nextElement(node);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class ResolvedRolesValidationContext extends PdfUAValidationContext {
+        private final Map<String, String> standardRoles;
+
+        ResolvedRolesValidationContext(PdfDocument pdfDocument, Map<String, String> standardRoles) {
+            super(pdfDocument);
+            this.standardRoles = standardRoles;
+        }
+
+        @Override
+        public String resolveToStandardRole(String role) {
+            if (role == null) {
+                return null;
+            }
+            // All the roles of the structure tree are resolved before the validation
+            String standardRole = standardRoles.get(role);
+            return standardRole == null ? role : standardRole;
+        }
+    }
+
     private static final class UaCharacterChecker implements FontCheckUtil.CharacterChecker {
         @Override
         public boolean check(int ch, PdfFont font) {
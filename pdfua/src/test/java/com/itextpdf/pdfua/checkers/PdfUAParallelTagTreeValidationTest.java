@@ -0,0 +1,128 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.pdfua.checkers;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfFontFactory.EmbeddingStrategy;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfUAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.tagging.StandardRoles;
+import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.pdfua.PdfUAConfig;
+import com.itextpdf.pdfua.PdfUADocument;
+import com.itextpdf.pdfua.exceptions.PdfUAConformanceException;
+import com.itextpdf.pdfua.exceptions.PdfUAExceptionMessageConstants;
+import com.itextpdf.test.AssertUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfUAParallelTagTreeValidationTest extends ExtendedITextTest {
+
+    private static final String FONT = "./src/test/resources/com/itextpdf/pdfua/font/FreeSans.ttf";
+
+    @Test
+    public void validDocumentTest() throws IOException {
+        byte[] pdf = createDocument(StandardRoles.H2);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfUADocument(new PdfReader(new ByteArrayInputStream(pdf)), new PdfWriter(baos),
+                createConfig());
+        AssertUtil.doesNotThrow(() -> pdfDoc.close());
+    }
+
+    @Test
+    public void skippedHeadingLevelTest() throws IOException {
+        Exception e = Assert.assertThrows(PdfUAConformanceException.class, () -> createDocument(StandardRoles.H3));
+        Assert.assertEquals(PdfUAExceptionMessageConstants.HN_IS_SKIPPED.replace("{0}", "2"), e.getMessage());
+    }
+
+    @Test
+    public void figureWithoutAltInLastRangeTest() throws IOException {
+        PdfDocument pdfDoc = new PdfUADocument(new PdfWriter(new ByteArrayOutputStream()), createConfig());
+        addParagraphs(new Document(pdfDoc), StandardRoles.H2);
+        TagTreePointer pointer = pdfDoc.getTagStructureContext().getAutoTaggingPointer();
+        pointer.addTag(StandardRoles.FIGURE);
+
+        Exception e = Assert.assertThrows(PdfUAConformanceException.class, () -> pdfDoc.close());
+        Assert.assertEquals(PdfUAExceptionMessageConstants.IMAGE_SHALL_HAVE_ALT, e.getMessage());
+    }
+
+    @Test
+    public void remappedFigureWithoutAltInReadDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfUADocument(new PdfWriter(baos), createConfig());
+        pdfDoc.getStructTreeRoot().addRoleMapping("CustomFigure", StandardRoles.FIGURE);
+        addParagraphs(new Document(pdfDoc), StandardRoles.H2);
+        TagTreePointer pointer = pdfDoc.getTagStructureContext().getAutoTaggingPointer();
+        pointer.addTag("CustomFigure").getProperties().setAlternateDescription("Figure description");
+        pdfDoc.close();
+
+        PdfDocument stampedDoc = new PdfUADocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())),
+                new PdfWriter(new ByteArrayOutputStream()), createConfig());
+        new TagTreePointer(stampedDoc).moveToKid("CustomFigure").getProperties().setAlternateDescription("");
+
+        Exception e = Assert.assertThrows(PdfUAConformanceException.class, () -> stampedDoc.close());
+        Assert.assertEquals(PdfUAExceptionMessageConstants.IMAGE_SHALL_HAVE_ALT, e.getMessage());
+    }
+
+    private static byte[] createDocument(String secondHeadingRole) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfUADocument(new PdfWriter(baos), createConfig());
+        Document document = new Document(pdfDoc);
+        addParagraphs(document, secondHeadingRole);
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private static void addParagraphs(Document document, String secondHeadingRole) throws IOException {
+        PdfFont font = PdfFontFactory.createFont(FONT, EmbeddingStrategy.FORCE_EMBEDDED);
+        document.setFont(font);
+        Paragraph h1 = new Paragraph("Header level 1");
+        h1.getAccessibilityProperties().setRole(StandardRoles.H1);
+        document.add(h1);
+        for (int i = 0; i < 50; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        Paragraph h2 = new Paragraph("Second header");
+        h2.getAccessibilityProperties().setRole(secondHeadingRole);
+        document.add(h2);
+    }
+
+    private static PdfUAConfig createConfig() {
+        return new PdfUAConfig(PdfUAConformanceLevel.PDFUA_1, "English pangram", "en-US")
+                .setTagTreeValidationParallelism(4);
+    }
+}
@@ -275,6 +275,10 @@ public class PdfSigner {
      */
     public PdfSigner(PdfReader reader, OutputStream outputStream, String path, StampingProperties properties)
             throws IOException {
+        if (properties.isIncrementalUpdateOnly()) {
+            // the signed byte ranges cover the whole document, so the original document shall be written too
+            throw new IllegalArgumentException(SignExceptionMessageConstant.INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED);
+        }
         StampingProperties localProps = new StampingProperties(properties).preserveEncryption();
         if (path == null) {
             temporaryOS = new ByteArrayOutputStream();
@@ -58,6 +58,8 @@ public final class SignExceptionMessageConstant {
     public static final String FIELD_ALREADY_SIGNED = "Field has been already signed.";
     public static final String FIELD_NAMES_CANNOT_CONTAIN_A_DOT = "Field names cannot contain a dot.";
     public static final String FIELD_TYPE_IS_NOT_A_SIGNATURE_FIELD_TYPE = "Field type is not a signature field type.";
+    public static final String INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED = "Signing isn't supported in append mode "
+            + "with only the incremental update written, the signed document shall contain the original document.";
     public static final String INVALID_HTTP_RESPONSE = "Invalid http response {0}.";
     public static final String INVALID_STATE_WHILE_CHECKING_CERT_CHAIN = "Invalid state. Possible circular "
             + "certificate chain.";
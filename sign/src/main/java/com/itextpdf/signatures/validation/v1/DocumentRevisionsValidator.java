@@ -135,6 +135,7 @@ public class DocumentRevisionsValidator {
     private ReportItemStatus unexpectedXrefChangesStatus = ReportItemStatus.INFO;
     private Set<PdfObject> checkedAnnots;
     private Set<PdfDictionary> newlyAddedFields;
+    private Set<Integer> modifiedObjectNumbers = Collections.<Integer>emptySet();
 
     /**
      * Creates new instance of {@link DocumentRevisionsValidator}.
@@ -266,20 +267,22 @@ public class DocumentRevisionsValidator {
              PdfDocument documentWithRevision = new PdfDocument(currentReader,
                      new DocumentProperties().setEventCountingMetaInfo(metaInfo))) {
             Set<PdfIndirectReference> indirectReferences = currentRevision.getModifiedObjects();
+            modifiedObjectNumbers = collectObjectNumbers(indirectReferences);
             if (!compareCatalogs(documentWithoutRevision, documentWithRevision, validationReport, context)) {
                 return;
             }
             Set<PdfIndirectReference> currentAllowedReferences = createAllowedReferences(documentWithRevision);
             Set<PdfIndirectReference> previousAllowedReferences = createAllowedReferences(documentWithoutRevision);
+            Set<Integer> currentAllowedObjectNumbers = collectObjectNumbers(currentAllowedReferences);
+            Set<Integer> previousAllowedObjectNumbers = collectObjectNumbers(previousAllowedReferences);
             for (PdfIndirectReference indirectReference : indirectReferences) {
                 if (indirectReference.isFree()) {
                     // In this boolean flag we check that reference which is about to be removed is the one which
                     // changed in the new revision. For instance DSS reference was 5 0 obj and changed to be 6 0 obj.
                     // In this case and only in this case reference with obj number 5 can be safely removed.
-                    boolean referenceAllowedToBeRemoved = previousAllowedReferences.stream().anyMatch(reference ->
-                            reference != null && reference.getObjNumber() == indirectReference.getObjNumber()) &&
-                            !currentAllowedReferences.stream().anyMatch(reference ->
-                                    reference != null && reference.getObjNumber() == indirectReference.getObjNumber());
+                    boolean referenceAllowedToBeRemoved =
+                            previousAllowedObjectNumbers.contains(indirectReference.getObjNumber()) &&
+                            !currentAllowedObjectNumbers.contains(indirectReference.getObjNumber());
                     // If some reference wasn't in the previous document, it is safe to remove it,
                     // since it is not possible to introduce new reference and remove it at the same revision.
                     boolean referenceWasInPrevDocument =
@@ -299,6 +302,8 @@ public class DocumentRevisionsValidator {
         } catch (IOException exception) {
             validationReport.addReportItem(new ReportItem(DOC_MDP_CHECK, REVISIONS_READING_EXCEPTION,
                     exception, ReportItemStatus.INDETERMINATE));
+        } finally {
+            modifiedObjectNumbers = Collections.<Integer>emptySet();
         }
     }
 
@@ -1176,12 +1181,12 @@ public class DocumentRevisionsValidator {
     //
     //
 
-    private static boolean comparePdfObjects(PdfObject pdfObject1, PdfObject pdfObject2) {
+    private boolean comparePdfObjects(PdfObject pdfObject1, PdfObject pdfObject2) {
         return comparePdfObjects(pdfObject1, pdfObject2, new HashSet<>());
     }
 
-    private static boolean comparePdfObjects(PdfObject pdfObject1, PdfObject pdfObject2,
-                                             Set<PdfObject> visitedObjects) {
+    private boolean comparePdfObjects(PdfObject pdfObject1, PdfObject pdfObject2,
+                                      Set<PdfObject> visitedObjects) {
         if (visitedObjects.contains(pdfObject1)) {
             return true;
         }
@@ -1223,7 +1228,7 @@ public class DocumentRevisionsValidator {
         }
     }
 
-    private static boolean comparePdfArrays(PdfArray array1, PdfArray array2, Set<PdfObject> visitedObjects) {
+    private boolean comparePdfArrays(PdfArray array1, PdfArray array2, Set<PdfObject> visitedObjects) {
         if (array1.size() != array2.size()) {
             return false;
         }
@@ -1235,27 +1240,45 @@ public class DocumentRevisionsValidator {
         return true;
     }
 
-    private static boolean comparePdfDictionaries(PdfDictionary dictionary1, PdfDictionary dictionary2,
-                                                  Set<PdfObject> visitedObjects) {
-        Set<Map.Entry<PdfName, PdfObject>> entrySet1 = dictionary1.entrySet();
-        Set<Map.Entry<PdfName, PdfObject>> entrySet2 = dictionary2.entrySet();
-        if (entrySet1.size() != entrySet2.size()) {
+    private boolean comparePdfDictionaries(PdfDictionary dictionary1, PdfDictionary dictionary2,
+                                           Set<PdfObject> visitedObjects) {
+        if (dictionary1.size() != dictionary2.size()) {
             return false;
         }
-        for (Map.Entry<PdfName, PdfObject> entry1 : entrySet1) {
-            if (!entrySet2.stream().anyMatch(entry2 -> entry2.getKey().equals(entry1.getKey()) &&
-                    comparePdfObjects(entry2.getValue(), entry1.getValue(), visitedObjects))) {
+        for (Map.Entry<PdfName, PdfObject> entry1 : dictionary1.entrySet()) {
+            if (!dictionary2.containsKey(entry1.getKey()) ||
+                    !comparePdfObjects(dictionary2.get(entry1.getKey()), entry1.getValue(), visitedObjects)) {
                 return false;
             }
         }
         return true;
     }
 
-    private static boolean comparePdfStreams(PdfStream stream1, PdfStream stream2, Set<PdfObject> visitedObjects) {
-        return Arrays.equals(stream1.getBytes(), stream2.getBytes()) &&
+    private boolean comparePdfStreams(PdfStream stream1, PdfStream stream2, Set<PdfObject> visitedObjects) {
+        // Stream data, which wasn't touched by the revision, is read from the very same bytes in both documents,
+        // so there is no need to decode and compare it.
+        return (isUnchangedInRevision(stream1, stream2) || Arrays.equals(stream1.getBytes(), stream2.getBytes())) &&
                 comparePdfDictionaries(stream1, stream2, visitedObjects);
     }
 
+    private boolean isUnchangedInRevision(PdfObject pdfObject1, PdfObject pdfObject2) {
+        PdfIndirectReference reference1 = pdfObject1.getIndirectReference();
+        PdfIndirectReference reference2 = pdfObject2.getIndirectReference();
+        return isSameReference(reference1, reference2) && reference1 != null &&
+                !modifiedObjectNumbers.contains(reference1.getObjNumber()) &&
+                !pdfObject1.isModified() && !pdfObject2.isModified();
+    }
+
+    private static Set<Integer> collectObjectNumbers(Collection<PdfIndirectReference> references) {
+        Set<Integer> objectNumbers = new HashSet<>();
+        for (PdfIndirectReference reference : references) {
+            if (reference != null) {
+                objectNumbers.add(reference.getObjNumber());
+            }
+        }
+        return objectNumbers;
+    }
+
     private static boolean isSameReference(PdfIndirectReference indirectReference1,
                                            PdfIndirectReference indirectReference2) {
         if (indirectReference1 == indirectReference2) {
@@ -337,6 +337,35 @@ public class PdfSignerUnitTest extends ExtendedITextTest {
         Assert.assertEquals(SignExceptionMessageConstant.FIELD_NAMES_CANNOT_CONTAIN_A_DOT, exception.getMessage());
     }
 
+    @Test
+    public void signerWithIncrementalUpdateOnlyPropertiesTest() {
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> new PdfSigner(
+                new PdfReader(new ByteArrayInputStream(createSimpleDocument())), new ByteArrayOutputStream(),
+                new StampingProperties().useAppendModeWithIncrementalUpdateOnly()));
+        Assert.assertEquals(SignExceptionMessageConstant.INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED, e.getMessage());
+    }
+
+    @Test
+    public void signInAppendModeAfterIncrementalUpdateOnlyTest() throws IOException, GeneralSecurityException {
+        byte[] original = createSimpleDocument();
+        // append mode overrides the previously requested writing of the incremental update only
+        StampingProperties properties = new StampingProperties().useAppendModeWithIncrementalUpdateOnly()
+                .useAppendMode();
+        ByteArrayOutputStream signed = new ByteArrayOutputStream();
+        PdfSigner signer = new PdfSigner(new PdfReader(new ByteArrayInputStream(original)), signed, properties);
+        signer.setFieldName("Signature1");
+        IExternalSignature pks = new PrivateKeySignature(pk, DigestAlgorithms.SHA256, FACTORY.getProviderName());
+        signer.signDetached(new BouncyCastleDigest(), pks, chain, null, null, null, 0, PdfSigner.CryptoStandard.CADES);
+
+        byte[] signedBytes = signed.toByteArray();
+        Assert.assertTrue(signedBytes.length > original.length);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(signedBytes)))) {
+            SignatureUtil signatureUtil = new SignatureUtil(document);
+            Assert.assertTrue(signatureUtil.signatureCoversWholeDocument("Signature1"));
+            Assert.assertTrue(signatureUtil.readSignatureData("Signature1").verifySignatureIntegrityAndAuthenticity());
+        }
+    }
+
     @Test
     public void documentWithoutReaderCannotBeSetToSignerTest() throws IOException {
         PdfReader reader = new PdfReader(new ByteArrayInputStream(createSimplePdfaDocument()));
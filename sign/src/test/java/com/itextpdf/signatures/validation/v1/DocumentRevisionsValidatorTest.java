@@ -25,10 +25,18 @@ package com.itextpdf.signatures.validation.v1;
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
 import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
 import com.itextpdf.kernel.pdf.DocumentRevision;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfRevisionsReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.StampingProperties;
 import com.itextpdf.signatures.AccessPermissions;
 import com.itextpdf.signatures.validation.v1.context.CertificateSource;
 import com.itextpdf.signatures.validation.v1.context.CertificateSources;
@@ -42,11 +50,16 @@ import com.itextpdf.signatures.validation.v1.report.ValidationReport.ValidationR
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.BouncyCastleUnitTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Security;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -59,6 +72,9 @@ import org.junit.runners.Parameterized;
 public class DocumentRevisionsValidatorTest extends ExtendedITextTest {
     private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/signatures/validation/v1/DocumentRevisionsValidatorTest/";
 
+    private static final PdfName CUSTOM_STREAM = new PdfName("CustomStream");
+    private static final PdfName CUSTOM_DICTIONARY = new PdfName("CustomDictionary");
+
     private static final IBouncyCastleFactory FACTORY = BouncyCastleFactoryCreator.getFactory();
     private ValidatorChainBuilder builder;
     private final ValidationContext validationContext = new ValidationContext(
@@ -595,4 +611,89 @@ public class DocumentRevisionsValidatorTest extends ExtendedITextTest {
                     .hasNumberOfFailures(0).hasNumberOfLogs(0));
         }
     }
+
+    @Test
+    public void unchangedObjectInRevisionTest() throws IOException {
+        byte[] pdf = addRevision(createDocumentWithCustomEntries(), document -> document.getCatalog().setModified());
+
+        ValidationReport validationReport = validateLastRevision(pdf);
+
+        // The catalog was rewritten, but the custom stream it refers to wasn't touched by the revision.
+        AssertValidationReport.assertThat(validationReport, a -> a.hasStatus(ValidationResult.VALID)
+                .hasNumberOfFailures(0));
+    }
+
+    @Test
+    public void changedObjectInRevisionTest() throws IOException {
+        byte[] pdf = addRevision(createDocumentWithCustomEntries(), document -> {
+            PdfStream stream = document.getCatalog().getPdfObject().getAsStream(CUSTOM_STREAM);
+            stream.setData("Custom stream DATA".getBytes(StandardCharsets.ISO_8859_1));
+            stream.setModified();
+        });
+
+        ValidationReport validationReport = validateLastRevision(pdf);
+
+        AssertValidationReport.assertThat(validationReport, a -> a.hasStatus(ValidationResult.INVALID)
+                .hasNumberOfFailures(1)
+                .hasLogItem(l -> l.withCheckName(DocumentRevisionsValidator.DOC_MDP_CHECK)
+                        .withMessage(DocumentRevisionsValidator.NOT_ALLOWED_CATALOG_CHANGES)
+                        .withStatus(ReportItemStatus.INVALID)));
+    }
+
+    @Test
+    public void reorderedDictionaryKeysInRevisionTest() throws IOException {
+        byte[] pdf = addRevision(createDocumentWithCustomEntries(), document -> {
+            PdfDictionary dictionary = document.getCatalog().getPdfObject().getAsDictionary(CUSTOM_DICTIONARY);
+            PdfObject first = dictionary.remove(new PdfName("First"));
+            dictionary.put(new PdfName("First"), first);
+            dictionary.setModified();
+        });
+
+        ValidationReport validationReport = validateLastRevision(pdf);
+
+        // The dictionary was rewritten with the same entries in a different order.
+        AssertValidationReport.assertThat(validationReport, a -> a.hasStatus(ValidationResult.VALID)
+                .hasNumberOfFailures(0));
+    }
+
+    private ValidationReport validateLastRevision(byte[] pdf) throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            DocumentRevisionsValidator validator = builder.buildDocumentRevisionsValidator();
+            validator.setAccessPermissions(AccessPermissions.NO_CHANGES_PERMITTED);
+            PdfRevisionsReader revisionsReader = new PdfRevisionsReader(document.getReader());
+            List<DocumentRevision> documentRevisions = revisionsReader.getAllRevisions();
+            Assert.assertEquals(2, documentRevisions.size());
+
+            ValidationReport validationReport = new ValidationReport();
+            validator.validateRevision(documentRevisions.get(0), documentRevisions.get(1), document, validationReport,
+                    validationContext);
+            return validationReport;
+        }
+    }
+
+    private static byte[] createDocumentWithCustomEntries() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(outputStream))) {
+            document.addNewPage();
+            PdfStream stream = new PdfStream("Custom stream data".getBytes(StandardCharsets.ISO_8859_1));
+            stream.makeIndirect(document);
+            PdfDictionary dictionary = new PdfDictionary();
+            dictionary.put(new PdfName("First"), new PdfNumber(1));
+            dictionary.put(new PdfName("Second"), new PdfString("2"));
+            dictionary.put(new PdfName("Third"), new PdfArray(new int[] {3}));
+            dictionary.makeIndirect(document);
+            document.getCatalog().put(CUSTOM_STREAM, stream);
+            document.getCatalog().put(CUSTOM_DICTIONARY, dictionary);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] addRevision(byte[] pdf, Consumer<PdfDocument> modification) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)),
+                new PdfWriter(outputStream), new StampingProperties().useAppendMode())) {
+            modification.accept(document);
+        }
+        return outputStream.toByteArray();
+    }
 }